@@ -0,0 +1,46 @@
+#!/bin/sh
+
+###############################################################################
+# AppCDS training run for the JVM image (see the Dockerfile)
+# Starts the extracted application against a local Redis, plays matches over
+# raw WebSocket and SockJS with the load generator, then stops the JVM so that
+# -XX:ArchiveClassesAtExit writes every class loaded on the way to app.jsa.
+#
+# Runs in /app of the jvm stage with the build stage mounted at /build.
+###############################################################################
+
+set -e
+
+cd /app
+
+redis-server --daemonize yes --save "" --appendonly no
+
+# -Xlog:cds=off: the dump otherwise warns about every old class file it cannot archive
+java -XX:ArchiveClassesAtExit=app.jsa -Xlog:cds=off -jar app.jar --logging.level.com.example.tictactoe=WARN &
+APP_PID=$!
+
+deadline=$(( $(date +%s) + 180 ))
+until curl -sf http://localhost:8080/api/health > /dev/null; do
+    if [ "$(date +%s)" -gt "$deadline" ]; then
+        echo "Backend did not become healthy for the CDS training run" >&2
+        exit 1
+    fi
+    sleep 1
+done
+
+TRAINING_CP="/build/target/classes:/build/target/test-classes:/build/target/training-lib/*"
+java -cp "$TRAINING_CP" com.example.tictactoe.loadtest.LoadGenerator \
+    --url=ws://localhost:8080/ws-native --matches=10 --rounds=2 \
+    --think-min-ms=0 --think-max-ms=20 --ramp-up-seconds=1 --report=/tmp/cds-training-native.json
+java -cp "$TRAINING_CP" com.example.tictactoe.loadtest.LoadGenerator \
+    --url=http://localhost:8080/ws --matches=4 --rounds=1 \
+    --think-min-ms=0 --think-max-ms=20 --ramp-up-seconds=1 --report=/tmp/cds-training-sockjs.json
+curl -sf http://localhost:8080/api/v2/games/available > /dev/null
+
+# The archive is written while the JVM exits on SIGTERM
+kill -TERM "$APP_PID"
+wait "$APP_PID" || true
+redis-cli shutdown nosave || true
+
+test -s app.jsa
+echo "CDS archive: $(du -h app.jsa | cut -f1)"
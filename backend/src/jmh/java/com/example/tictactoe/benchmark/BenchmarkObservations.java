@@ -0,0 +1,80 @@
+package com.example.tictactoe.benchmark;
+
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationHandler.FirstMatchingCompositeObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.aop.ObservedAspect;
+import io.micrometer.tracing.handler.DefaultTracingObservationHandler;
+import io.micrometer.tracing.handler.PropagatingSenderTracingObservationHandler;
+import io.micrometer.tracing.otel.bridge.OtelBaggageManager;
+import io.micrometer.tracing.otel.bridge.OtelCurrentTraceContext;
+import io.micrometer.tracing.otel.bridge.OtelPropagator;
+import io.micrometer.tracing.otel.bridge.OtelTracer;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.propagation.ContextPropagators;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.List;
+
+/**
+ * Observation setups benchmarks compare, from none at all to what a traced production node pays:
+ * <ul>
+ *     <li>{@code none}: plain objects and the no-op registry</li>
+ *     <li>{@code metrics}: {@code @Observed} proxies recording timers, without the long task timers the application turns off</li>
+ *     <li>{@code tracing}: as metrics, plus an OpenTelemetry span per observation, every trace sampled and none exported</li>
+ *     <li>{@code sampled}: as tracing, with one trace in ten sampled, the default TRACING_SAMPLING_PROBABILITY</li>
+ * </ul>
+ * Spans of outgoing messages write a traceparent header into them, as in the application.
+ */
+public final class BenchmarkObservations {
+
+    public static final String NONE = "none";
+    public static final String METRICS = "metrics";
+    public static final String TRACING = "tracing";
+    public static final String SAMPLED = "sampled";
+
+    private BenchmarkObservations() {
+    }
+
+    public static ObservationRegistry registry(String mode) {
+        if (NONE.equals(mode)) {
+            return ObservationRegistry.NOOP;
+        }
+        ObservationRegistry registry = ObservationRegistry.create();
+        // Without long task timers, as management.observations.long-task-timer.enabled=false in the application
+        registry.observationConfig().observationHandler(new DefaultMeterObservationHandler(new SimpleMeterRegistry(),
+                DefaultMeterObservationHandler.IgnoredMeters.LONG_TASK_TIMER));
+        if (TRACING.equals(mode) || SAMPLED.equals(mode)) {
+            Sampler sampler = TRACING.equals(mode) ? Sampler.alwaysOn() : Sampler.parentBased(Sampler.traceIdRatioBased(0.1));
+            OtelCurrentTraceContext currentTraceContext = new OtelCurrentTraceContext();
+            Tracer otelTracer = SdkTracerProvider.builder().setSampler(sampler).build().get("benchmark");
+            OtelTracer tracer = new OtelTracer(otelTracer, currentTraceContext, event -> { },
+                    new OtelBaggageManager(currentTraceContext, List.of(), List.of()));
+            OtelPropagator propagator = new OtelPropagator(ContextPropagators.create(W3CTraceContextPropagator.getInstance()), otelTracer);
+            registry.observationConfig().observationHandler(new FirstMatchingCompositeObservationHandler(
+                    new PropagatingSenderTracingObservationHandler<>(tracer, propagator),
+                    new DefaultTracingObservationHandler(tracer)));
+        } else if (!METRICS.equals(mode)) {
+            throw new IllegalArgumentException("Unknown observation mode " + mode);
+        }
+        return registry;
+    }
+
+    /**
+     * Proxies the target so its {@code @Observed} methods are observed as in the application, unless nothing is recorded
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T observed(T target, ObservationRegistry registry) {
+        if (registry.isNoop()) {
+            return target;
+        }
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new ObservedAspect(registry));
+        return (T) factory.getProxy();
+    }
+}
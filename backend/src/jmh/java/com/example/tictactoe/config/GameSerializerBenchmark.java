@@ -0,0 +1,79 @@
+package com.example.tictactoe.config;
+
+import com.example.tictactoe.model.Game;
+import com.example.tictactoe.model.GameStatus;
+import com.example.tictactoe.model.Player;
+import com.example.tictactoe.model.TicToe;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis value serialization of a finished game: the default-typing mapper the application stores games
+ * with, against a serializer bound to {@link Game} that writes no type information. The typed payload
+ * is smaller and skips type resolution, but cannot read values of any other class.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameSerializerBenchmark {
+
+    @Param({"default-typing", "typed"})
+    String serializer;
+
+    private RedisSerializer<Object> redisSerializer;
+    private Game game;
+    private byte[] payload;
+
+    @SuppressWarnings("unchecked")
+    @Setup
+    public void setUp() {
+        redisSerializer = switch (serializer) {
+            case "default-typing" -> new GenericJackson2JsonRedisSerializer(RedisConfig.valueObjectMapper());
+            case "typed" -> (RedisSerializer<Object>) (RedisSerializer<?>) new Jackson2JsonRedisSerializer<>(
+                    new ObjectMapper().registerModule(new JavaTimeModule()), Game.class);
+            default -> throw new IllegalArgumentException(serializer);
+        };
+
+        game = new Game();
+        game.setGameId("0f3kQx9aB2c");
+        game.setPlayer1(new Player("alice"));
+        game.setPlayer2(new Player("bob"));
+        game.setBoard(new String[] {"X", "X", "X", "O", "O", null, null, null, null});
+        game.setStatus(GameStatus.FINISHED);
+        game.setWinner(TicToe.X);
+        game.setCurrentPlayerLogin("bob");
+        game.recordMoveSequence("alice", 3);
+        game.recordMoveSequence("bob", 2);
+        game.setVersion(5);
+        payload = redisSerializer.serialize(game);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return redisSerializer.serialize(game);
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return redisSerializer.deserialize(payload);
+    }
+}
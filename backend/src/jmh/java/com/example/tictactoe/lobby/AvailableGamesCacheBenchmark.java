@@ -0,0 +1,94 @@
+package com.example.tictactoe.lobby;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Available-games pages served from the cached snapshot, at the newest lobbies and halfway down the
+ * list, and a page served right after a lobby change forces a rebuild that re-encodes one entry
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AvailableGamesCacheBenchmark {
+
+    private static final long START = 1_760_000_000_000L;
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"1000", "50000"})
+    int lobbies;
+
+    private final List<LobbyGame> games = new ArrayList<>();
+    private long now = START;
+    private long sequence;
+    private AvailableGamesCache cache;
+    private String middleCursor;
+
+    @Setup
+    public void setUp() {
+        // Stub subclass, so the snapshot load costs a list copy rather than Redis calls
+        LobbyService lobbyService = new LobbyService(null, null) {
+            @Override
+            public LobbySnapshot getSnapshot(int limit) {
+                return new LobbySnapshot(sequence, List.copyOf(games));
+            }
+
+            @Override
+            public long getSequence() {
+                return sequence;
+            }
+        };
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        cache = new AvailableGamesCache(lobbyService, objectMapper, () -> now);
+        for (int i = 0; i < lobbies; i++) {
+            games.add(new LobbyGame("game-" + i, "creator-" + i, Instant.ofEpochMilli(START - i)));
+        }
+
+        String cursor = null;
+        for (int page = 0; page < lobbies / PAGE_SIZE / 2; page++) {
+            cursor = cache.getPage(cursor, PAGE_SIZE).nextCursor();
+        }
+        middleCursor = cursor;
+    }
+
+    @Benchmark
+    public AvailableGamesPage firstPage() {
+        return cache.getPage(null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public AvailableGamesPage middlePage() {
+        return cache.getPage(middleCursor, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public AvailableGamesPage firstPageAfterChange() {
+        // Replace the newest lobby and let the min-rebuild interval pass; the list size stays constant
+        games.set(0, new LobbyGame("game-" + sequence + "-newest", "creator-0", Instant.ofEpochMilli(now)));
+        sequence++;
+        now += 100;
+        return cache.getPage(null, PAGE_SIZE);
+    }
+}
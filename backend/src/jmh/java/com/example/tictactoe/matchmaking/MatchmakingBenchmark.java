@@ -0,0 +1,87 @@
+package com.example.tictactoe.matchmaking;
+
+import com.example.tictactoe.model.Game;
+import com.example.tictactoe.model.GameStatus;
+import com.example.tictactoe.model.Player;
+import com.example.tictactoe.rating.RatingService;
+import com.example.tictactoe.storage.InMemoryGameStorage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * A random join against the local queue and in-memory storage: the joiner claims the oldest open lobby
+ * of its rating bucket and the lobby is offered again, keeping the queue at a steady size. With
+ * {@code widened} the joiner's own bucket is empty and the lobby is found five buckets away.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MatchmakingBenchmark {
+
+    private static final Predicate<Game> OPEN = game -> game.getStatus() == GameStatus.NEW;
+
+    @Param({"1", "1000"})
+    int openLobbies;
+
+    @Param({"false", "true"})
+    boolean widened;
+
+    private MatchmakingService matchmakingService;
+    private Player joiner;
+    private long now;
+
+    @Setup
+    public void setUp() {
+        RatingService ratingService = new RatingService(null, null) {
+            @Override
+            public int getRating(String login) {
+                return login.startsWith("creator") ? 1200 : 1200 + (widened ? 500 : 0);
+            }
+        };
+        InMemoryGameStorage gameStorage = new InMemoryGameStorage();
+        matchmakingService = new MatchmakingService(new LocalMatchmakingQueue(), gameStorage, ratingService, () -> now);
+        for (int i = 0; i < openLobbies; i++) {
+            Game game = new Game();
+            game.setGameId("lobby-" + i);
+            game.setPlayer1(new Player("creator-" + i));
+            game.setStatus(GameStatus.NEW);
+            gameStorage.setGame(game);
+            matchmakingService.enqueue(game);
+        }
+        joiner = new Player("joiner");
+        waitForWidening();
+    }
+
+    @Benchmark
+    public Game joinRandomGame() {
+        Game game = matchmakingService.claim(joiner, OPEN);
+        if (game == null) {
+            throw new IllegalStateException("No lobby claimed");
+        }
+        matchmakingService.enqueue(game);
+        waitForWidening();
+        return game;
+    }
+
+    /**
+     * Ages every queued ticket past the widest bucket distance
+     */
+    private void waitForWidening() {
+        now += TimeUnit.HOURS.toMillis(1);
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.tictactoe.ratelimit;
+
+import com.example.tictactoe.exception.RateLimitExceededException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Cost of admitting a STOMP command, from four threads. Budgets are large enough that nothing is
+ * rejected, so the score is the bucket lookup and compare-and-set, uncontended per session and
+ * contended when every thread acts for the same login.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class MessageRateLimiterBenchmark {
+
+    private final AtomicInteger sessions = new AtomicInteger();
+    private MessageRateLimiter rateLimiter;
+
+    @Setup
+    public void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        // One token per nanosecond with a burst of about two seconds, so a descheduled thread is never rejected either
+        properties.setDefaultBudget(new RateLimitProperties.Budget(Integer.MAX_VALUE, 1_000_000_000));
+        rateLimiter = new MessageRateLimiter(properties);
+    }
+
+    @State(Scope.Thread)
+    public static class Session {
+
+        String sessionId;
+        String login;
+
+        @Setup
+        public void setUp(MessageRateLimiterBenchmark benchmark) {
+            int session = benchmark.sessions.incrementAndGet();
+            sessionId = "session-" + session;
+            login = "player-" + session;
+        }
+    }
+
+    @Benchmark
+    public void ownLogin(Session session) throws RateLimitExceededException {
+        rateLimiter.acquire(RateLimitedCommand.GAMEPLAY, session.sessionId, session.login);
+    }
+
+    @Benchmark
+    public void sharedLogin(Session session) throws RateLimitExceededException {
+        rateLimiter.acquire(RateLimitedCommand.GAMEPLAY, session.sessionId, "shared");
+    }
+}
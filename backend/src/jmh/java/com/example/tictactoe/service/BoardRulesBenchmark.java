@@ -0,0 +1,55 @@
+package com.example.tictactoe.service;
+
+import com.example.tictactoe.model.TicToe;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outcome checks run after every move, on boards from each phase of a game
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BoardRulesBenchmark {
+
+    @Param({"empty", "midgame", "won", "draw"})
+    String position;
+
+    private String[] board;
+
+    @Setup
+    public void setUp() {
+        board = switch (position) {
+            case "empty" -> new String[9];
+            case "midgame" -> new String[] {"X", null, "O", null, "X", null, null, "O", null};
+            // Won on the last diagonal, so every other line is checked first
+            case "won" -> new String[] {"O", "O", "X", null, "X", null, "X", null, null};
+            case "draw" -> new String[] {"X", "O", "X", "X", "O", "O", "O", "X", "X"};
+            default -> throw new IllegalArgumentException(position);
+        };
+    }
+
+    @Benchmark
+    public boolean checkWinner() {
+        return BoardRules.checkWinner(board, TicToe.X);
+    }
+
+    @Benchmark
+    public boolean isBoardFull() {
+        return BoardRules.isBoardFull(board);
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.tictactoe.service;
+
+import com.example.tictactoe.benchmark.BenchmarkObservations;
+import com.example.tictactoe.exception.InvalidGameException;
+import com.example.tictactoe.exception.InvalidParamException;
+import com.example.tictactoe.id.SnowflakeGameIdGenerator;
+import com.example.tictactoe.matchmaking.LocalMatchmakingQueue;
+import com.example.tictactoe.matchmaking.MatchmakingService;
+import com.example.tictactoe.model.Game;
+import com.example.tictactoe.model.GameStatus;
+import com.example.tictactoe.model.Move;
+import com.example.tictactoe.model.Player;
+import com.example.tictactoe.storage.GameStorage;
+import com.example.tictactoe.storage.InMemoryGameStorage;
+import io.micrometer.observation.ObservationRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A whole game through {@link GameService#gameplay}: the lobby is reset in storage, then X wins in five
+ * sequenced moves. Storage is the in-memory engine, so the score is the engine itself plus copying games
+ * in and out; the observation parameter adds the {@code @Observed} proxies and spans production runs with.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class GameplayBenchmark {
+
+    private static final String GAME_ID = "benchmark";
+    private static final int[] X_WINS = {0, 3, 1, 4, 2};
+
+    @Param({BenchmarkObservations.NONE, BenchmarkObservations.METRICS, BenchmarkObservations.TRACING, BenchmarkObservations.SAMPLED})
+    String observation;
+
+    private GameStorage gameStorage;
+    private GameService gameService;
+    private Game startingGame;
+    private Move[] moves;
+
+    @Setup
+    public void setUp() {
+        ObservationRegistry registry = BenchmarkObservations.registry(observation);
+        gameStorage = BenchmarkObservations.observed(new InMemoryGameStorage(), registry);
+        // Matchmaking is only reached by lobby creation and random joins, neither of which is measured
+        MatchmakingService matchmakingService = new MatchmakingService(new LocalMatchmakingQueue(), gameStorage, null);
+        gameService = BenchmarkObservations.observed(new GameService(gameStorage, new GameEventLog(32), matchmakingService,
+                event -> { }, new SnowflakeGameIdGenerator(1), registry), registry);
+
+        startingGame = new Game();
+        startingGame.setGameId(GAME_ID);
+        startingGame.setPlayer1(new Player("alice"));
+        startingGame.setPlayer2(new Player("bob"));
+        startingGame.setStatus(GameStatus.IN_PROGRESS);
+        startingGame.setCurrentPlayerLogin("alice");
+
+        moves = new Move[X_WINS.length];
+        for (int i = 0; i < X_WINS.length; i++) {
+            Move move = new Move();
+            move.setGameId(GAME_ID);
+            move.setPlayerLogin(i % 2 == 0 ? "alice" : "bob");
+            move.setSquareIndex(X_WINS[i]);
+            move.setSequence((long) i / 2 + 1);
+            moves[i] = move;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(5)
+    public Game playGame() throws InvalidParamException, InvalidGameException {
+        gameStorage.setGame(startingGame);
+        Game game = null;
+        for (Move move : moves) {
+            game = gameService.gameplay(move, GAME_ID);
+        }
+        if (game.getStatus() != GameStatus.FINISHED) {
+            throw new IllegalStateException("Benchmark game did not finish");
+        }
+        return game;
+    }
+}
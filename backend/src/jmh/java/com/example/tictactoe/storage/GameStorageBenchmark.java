@@ -0,0 +1,106 @@
+package com.example.tictactoe.storage;
+
+import com.example.tictactoe.config.RedisConfig;
+import com.example.tictactoe.model.Game;
+import com.example.tictactoe.model.GameStatus;
+import com.example.tictactoe.model.Player;
+import com.github.fppt.jedismock.RedisServer;
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.protocol.ProtocolVersion;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Whole-keyspace reads at growing game counts. The redis engine runs against an in-process
+ * jedis-mock server over loopback, so it measures the client, the serializer and one round trip
+ * per key rather than a production Redis. SCAN-based calls are left out: jedis-mock scans are far slower
+ * than Redis and would say nothing about the application.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GameStorageBenchmark {
+
+    private static final GameStatus[] STATUSES = GameStatus.values();
+
+    @Param({"1000", "10000", "100000"})
+    int games;
+
+    @Param({"in-memory", "redis"})
+    String engine;
+
+    private RedisServer redisServer;
+    private LettuceConnectionFactory connectionFactory;
+    private GameStorage gameStorage;
+
+    @Setup
+    public void setUp() throws IOException {
+        if ("redis".equals(engine)) {
+            redisServer = RedisServer.newRedisServer().start();
+            // jedis-mock speaks RESP2 only
+            LettuceClientConfiguration clientConfiguration = LettuceClientConfiguration.builder()
+                    .clientOptions(ClientOptions.builder().protocolVersion(ProtocolVersion.RESP2).build())
+                    .build();
+            connectionFactory = new LettuceConnectionFactory(
+                    new RedisStandaloneConfiguration(redisServer.getHost(), redisServer.getBindPort()), clientConfiguration);
+            connectionFactory.afterPropertiesSet();
+            connectionFactory.start();
+            RedisGameStorage redisGameStorage = new RedisGameStorage(
+                    new RedisConfig().redisTemplate(connectionFactory, new SimpleMeterRegistry()));
+            ReflectionTestUtils.setField(redisGameStorage, "keyPrefix", "tictactoe:game:");
+            ReflectionTestUtils.setField(redisGameStorage, "ttlHours", 24L);
+            gameStorage = redisGameStorage;
+        } else {
+            gameStorage = new InMemoryGameStorage();
+        }
+
+        for (int i = 0; i < games; i++) {
+            Game game = new Game();
+            game.setGameId("game-" + i);
+            game.setPlayer1(new Player("player-" + i));
+            game.setStatus(STATUSES[i % STATUSES.length]);
+            gameStorage.setGame(game);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        if (connectionFactory != null) {
+            connectionFactory.destroy();
+        }
+        if (redisServer != null) {
+            redisServer.stop();
+        }
+    }
+
+    @Benchmark
+    public Map<String, Game> getGames() {
+        Map<String, Game> result = gameStorage.getGames();
+        if (result.size() != games) {
+            throw new IllegalStateException("Expected " + games + " games, read " + result.size());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.tictactoe.websocket;
+
+import com.example.tictactoe.benchmark.BenchmarkObservations;
+import com.example.tictactoe.model.Game;
+import com.example.tictactoe.model.GameStatus;
+import com.example.tictactoe.model.Player;
+import com.example.tictactoe.tracing.BrokerChannelObservationInterceptor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.observation.ObservationRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One game update fanned out by a real simple broker with the exact-match registry: encoded once, then
+ * delivered synchronously to the two players and every spectator. Delivery ends at the outbound channel,
+ * so session encoding and socket writes are not included. Unless the observation parameter is none, the
+ * send passes the broker channel's observation interceptor as in the application.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameBroadcasterBenchmark {
+
+    @Param({"0", "100", "10000"})
+    int spectators;
+
+    @Param({BenchmarkObservations.NONE, BenchmarkObservations.METRICS, BenchmarkObservations.TRACING, BenchmarkObservations.SAMPLED})
+    String observation;
+
+    private SimpleBrokerMessageHandler broker;
+    private GameBroadcaster broadcaster;
+    private Game game;
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        ExecutorSubscribableChannel clientInbound = new ExecutorSubscribableChannel();
+        ExecutorSubscribableChannel clientOutbound = new ExecutorSubscribableChannel();
+        ExecutorSubscribableChannel brokerChannel = new ExecutorSubscribableChannel();
+        clientOutbound.subscribe(blackhole::consume);
+        ObservationRegistry registry = BenchmarkObservations.registry(observation);
+        if (!registry.isNoop()) {
+            brokerChannel.addInterceptor(new BrokerChannelObservationInterceptor(registry));
+        }
+
+        broker = new SimpleBrokerMessageHandler(clientInbound, clientOutbound, brokerChannel, List.of("/topic", "/queue"));
+        broker.setSubscriptionRegistry(new ExactMatchSubscriptionRegistry());
+        broker.start();
+
+        MappingJackson2MessageConverter converter = new MappingJackson2MessageConverter();
+        converter.setObjectMapper(new ObjectMapper().registerModule(new JavaTimeModule()));
+        SimpMessagingTemplate template = new SimpMessagingTemplate(brokerChannel);
+        template.setMessageConverter(converter);
+        broadcaster = BenchmarkObservations.observed(new GameBroadcaster(template), registry);
+
+        game = new Game();
+        game.setGameId("popular");
+        game.setPlayer1(new Player("alice"));
+        game.setPlayer2(new Player("bob"));
+        game.setStatus(GameStatus.IN_PROGRESS);
+        game.setCurrentPlayerLogin("alice");
+
+        subscribe("alice-session", GameBroadcaster.GAME_DESTINATION_PREFIX + game.getGameId());
+        subscribe("bob-session", GameBroadcaster.GAME_DESTINATION_PREFIX + game.getGameId());
+        for (int i = 0; i < spectators; i++) {
+            subscribe("spectator-" + i, GameBroadcaster.SPECTATE_DESTINATION_PREFIX + game.getGameId());
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        broker.stop();
+    }
+
+    @Benchmark
+    public void broadcast() {
+        broadcaster.broadcast(game);
+    }
+
+    private void subscribe(String sessionId, String destination) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.SUBSCRIBE);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId("sub-0");
+        accessor.setDestination(destination);
+        broker.handleMessage(MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders()));
+    }
+}
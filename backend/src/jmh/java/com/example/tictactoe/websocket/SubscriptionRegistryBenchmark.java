@@ -0,0 +1,83 @@
+package com.example.tictactoe.websocket;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.broker.DefaultSubscriptionRegistry;
+import org.springframework.messaging.simp.broker.SubscriptionRegistry;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MultiValueMap;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Broker lookup of a game topic's two player sessions, with every session also subscribed to its own
+ * lobby topic, for the exact-match registry against Spring's pattern-matching default. Lookups cycle
+ * through every game topic, as broadcasts do, rather than hitting one destination the default
+ * registry would serve from its cache.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SubscriptionRegistryBenchmark {
+
+    @Param({"1000", "50000"})
+    int sessions;
+
+    @Param({"exact-match", "default"})
+    String registry;
+
+    private SubscriptionRegistry subscriptionRegistry;
+    private Message<?>[] gameMessages;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        subscriptionRegistry = "exact-match".equals(registry)
+                ? new ExactMatchSubscriptionRegistry() : new DefaultSubscriptionRegistry();
+        for (int i = 0; i < sessions; i++) {
+            String sessionId = "session-" + i;
+            subscriptionRegistry.registerSubscription(subscribe(sessionId, "sub-0", "/topic/game.created/player" + i));
+            subscriptionRegistry.registerSubscription(subscribe(sessionId, "sub-1", "/topic/game." + (i / 2)));
+        }
+        gameMessages = new Message<?>[sessions / 2];
+        for (int i = 0; i < gameMessages.length; i++) {
+            gameMessages[i] = message("/topic/game." + i);
+        }
+    }
+
+    @Benchmark
+    public MultiValueMap<String, String> findSubscriptions() {
+        Message<?> message = gameMessages[next];
+        next = next + 1 == gameMessages.length ? 0 : next + 1;
+        return subscriptionRegistry.findSubscriptions(message);
+    }
+
+    private static Message<byte[]> subscribe(String sessionId, String subscriptionId, String destination) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.SUBSCRIBE);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId(subscriptionId);
+        accessor.setDestination(destination);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private static Message<byte[]> message(String destination) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setDestination(destination);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
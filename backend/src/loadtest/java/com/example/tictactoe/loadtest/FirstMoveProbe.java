@@ -0,0 +1,175 @@
+package com.example.tictactoe.loadtest;
+
+import com.example.tictactoe.model.ConnectRequest;
+import com.example.tictactoe.model.Game;
+import com.example.tictactoe.model.JoinResponse;
+import com.example.tictactoe.model.Move;
+import com.example.tictactoe.model.Player;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Time to first move of a starting backend. Retries a STOMP connection until the backend accepts one,
+ * then a creator and a joiner go through start, connect and join, and the creator plays one move.
+ * The clock starts at {@code --started-at-ms} (epoch millis taken just before the backend was launched),
+ * so process or container start-up is included. Writes the result as JSON and exits with status 1 when
+ * no move was confirmed before the deadline.
+ */
+public final class FirstMoveProbe {
+
+    static final String USAGE = """
+            Options (all optional):
+              --url=ws://localhost:8080/ws-native   STOMP endpoint, as for the load generator
+              --started-at-ms=<now>                 epoch millis the backend was launched at
+              --deadline-seconds=180                give up this long after the launch
+              --label=                              free text copied into the result, e.g. the image
+              --report=target/first-move-result.json
+            """;
+
+    private static final Duration STEP_TIMEOUT = Duration.ofSeconds(30);
+    private static final Duration CONNECT_ATTEMPT_TIMEOUT = Duration.ofSeconds(5);
+    private static final long RETRY_MILLIS = 100;
+
+    private FirstMoveProbe() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                System.err.println("Expected --name=value, got " + arg);
+                System.err.print(USAGE);
+                System.exit(2);
+            }
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        URI url = URI.create(options.getOrDefault("url", "ws://localhost:8080/ws-native"));
+        long startedAtMillis = Long.parseLong(options.getOrDefault("started-at-ms", Long.toString(System.currentTimeMillis())));
+        long deadlineMillis = startedAtMillis + TimeUnit.SECONDS.toMillis(Long.parseLong(options.getOrDefault("deadline-seconds", "180")));
+        Path reportPath = Path.of(options.getOrDefault("report", "target/first-move-result.json"));
+
+        ThreadPoolTaskScheduler heartbeatScheduler = new ThreadPoolTaskScheduler();
+        heartbeatScheduler.setThreadNamePrefix("probe-heartbeat-");
+        heartbeatScheduler.initialize();
+        WebSocketStompClient stompClient = LoadGenerator.stompClient(url, heartbeatScheduler);
+        LatencyReport report = new LatencyReport();
+        String run = Long.toString(System.currentTimeMillis() % 1_000_000, 36);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("label", options.getOrDefault("label", ""));
+        result.put("url", url.toString());
+        result.put("startedAtMs", startedAtMillis);
+        PlayerConnection creator = null;
+        PlayerConnection joiner = null;
+        int exitCode = 1;
+        try {
+            int attempts = 0;
+            while (creator == null) {
+                attempts++;
+                try {
+                    // Refused attempts while the backend starts are not failures, so they are kept out of the report
+                    creator = LoadGenerator.connect(stompClient, url, "probe" + run + "-a", CONNECT_ATTEMPT_TIMEOUT, new LatencyReport());
+                } catch (ExecutionException | TimeoutException e) {
+                    if (System.currentTimeMillis() > deadlineMillis) {
+                        throw new LoadTestException("timeout", "No STOMP connection after " + attempts + " attempts");
+                    }
+                    TimeUnit.MILLISECONDS.sleep(RETRY_MILLIS);
+                }
+            }
+            result.put("firstConnectMs", System.currentTimeMillis() - startedAtMillis);
+            result.put("connectAttempts", attempts);
+
+            joiner = LoadGenerator.connect(stompClient, url, "probe" + run + "-b", STEP_TIMEOUT, report);
+            playFirstMove(creator, joiner, report);
+            result.put("firstMoveMs", System.currentTimeMillis() - startedAtMillis);
+            exitCode = 0;
+        } catch (LoadTestException e) {
+            result.put("failure", e.getMessage());
+        } finally {
+            if (creator != null) {
+                creator.disconnect();
+            }
+            if (joiner != null) {
+                joiner.disconnect();
+            }
+            stompClient.stop();
+            heartbeatScheduler.shutdown();
+        }
+
+        if (exitCode == 0) {
+            System.out.printf("Time to first move: %d ms (first STOMP connection after %d ms, %d attempts)%n",
+                    result.get("firstMoveMs"), result.get("firstConnectMs"), result.get("connectAttempts"));
+            report.print(System.out, Duration.ofMillis((Long) result.get("firstMoveMs")));
+        } else {
+            System.out.println("No first move: " + result.get("failure"));
+        }
+        if (reportPath.getParent() != null) {
+            Files.createDirectories(reportPath.getParent());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(reportPath.toFile(), result);
+        System.out.println("Result written to " + reportPath.toAbsolutePath());
+        System.exit(exitCode);
+    }
+
+    /**
+     * The first steps of {@link SimulatedMatch}, without think time, up to the creator's first move
+     */
+    private static void playFirstMove(PlayerConnection creator, PlayerConnection joiner, LatencyReport report)
+            throws LoadTestException, InterruptedException {
+        String creatorLogin = creator.getLogin();
+        String joinerLogin = joiner.getLogin();
+        creator.subscribeGames("/topic/game.created/" + creatorLogin);
+        creator.subscribeGames("/topic/game.join.request/" + creatorLogin);
+        creator.subscribeGames("/topic/game.connected/" + creatorLogin);
+        joiner.subscribeGames("/topic/game.join.pending/" + joinerLogin);
+
+        long sent = creator.send("/app/game.start", new Player(creatorLogin));
+        PlayerConnection.Received received = creator.await("/topic/game.created/" + creatorLogin, any -> true, STEP_TIMEOUT);
+        report.record("start", sent, received.receivedNanos());
+        String gameId = received.game().getGameId();
+
+        ConnectRequest connect = new ConnectRequest();
+        connect.setPlayer(new Player(joinerLogin));
+        connect.setGameId(gameId);
+        sent = joiner.send("/app/game.connect", connect);
+        received = joiner.await("/topic/game.join.pending/" + joinerLogin, it -> gameId.equals(it.getGameId()), STEP_TIMEOUT);
+        report.record("connect", sent, received.receivedNanos());
+        creator.await("/topic/game.join.request/" + creatorLogin, it -> gameId.equals(it.getGameId()), STEP_TIMEOUT);
+
+        JoinResponse joinResponse = new JoinResponse();
+        joinResponse.setGameId(gameId);
+        joinResponse.setResponderLogin(creatorLogin);
+        joinResponse.setRequesterLogin(joinerLogin);
+        joinResponse.setAccepted(true);
+        sent = creator.send("/app/game.join.response", joinResponse);
+        received = creator.await("/topic/game.connected/" + creatorLogin, it -> gameId.equals(it.getGameId()), STEP_TIMEOUT);
+        report.record("join.response", sent, received.receivedNanos());
+        Game game = received.game();
+
+        String destination = "/topic/game." + gameId;
+        creator.subscribeGames(destination);
+        Move move = new Move();
+        move.setGameId(gameId);
+        move.setPlayerLogin(creatorLogin);
+        move.setSquareIndex(4);
+        move.setSequence(1L);
+        long version = game.getVersion();
+        sent = creator.send("/app/game.gameplay", move);
+        received = creator.await(destination, it -> it.getVersion() > version, STEP_TIMEOUT);
+        report.record("gameplay", sent, received.receivedNanos());
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.tictactoe.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Round-trip latency per message type, from sending a frame to receiving the message it causes,
+ * plus failure counts by reason. Histograms are in microseconds with three significant digits.
+ */
+class LatencyReport {
+
+    private static final long HIGHEST_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final Map<String, Histogram> latencies = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> failures = new ConcurrentHashMap<>();
+
+    void record(String messageType, long sentNanos, long receivedNanos) {
+        long micros = Math.min(TimeUnit.NANOSECONDS.toMicros(receivedNanos - sentNanos), HIGHEST_MICROS);
+        latencies.computeIfAbsent(messageType, type -> new ConcurrentHistogram(HIGHEST_MICROS, 3))
+                .recordValue(Math.max(micros, 0));
+    }
+
+    void fail(String reason) {
+        failures.computeIfAbsent(reason, r -> new LongAdder()).increment();
+    }
+
+    long getFailureCount() {
+        return failures.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    void print(PrintStream out, Duration elapsed) {
+        out.printf("%n%-18s %9s %9s %9s %9s %9s %9s %9s%n", "message", "count", "mean ms", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        new TreeMap<>(latencies).forEach((type, histogram) -> out.printf("%-18s %9d %9.2f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                type, histogram.getTotalCount(), histogram.getMean() / 1000.0,
+                millis(histogram, 50), millis(histogram, 90), millis(histogram, 99), millis(histogram, 99.9),
+                histogram.getMaxValue() / 1000.0));
+        out.printf("%nElapsed %d s, failures: %s%n", elapsed.toSeconds(), failures.isEmpty() ? "none" : new TreeMap<>(failures));
+    }
+
+    void write(Path path, LoadTestOptions options, Duration elapsed) throws IOException {
+        Map<String, Object> messages = new TreeMap<>();
+        latencies.forEach((type, histogram) -> {
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("count", histogram.getTotalCount());
+            summary.put("meanMs", histogram.getMean() / 1000.0);
+            summary.put("p50Ms", millis(histogram, 50));
+            summary.put("p90Ms", millis(histogram, 90));
+            summary.put("p99Ms", millis(histogram, 99));
+            summary.put("p999Ms", millis(histogram, 99.9));
+            summary.put("maxMs", histogram.getMaxValue() / 1000.0);
+            messages.put(type, summary);
+        });
+        Map<String, Long> failureCounts = new TreeMap<>();
+        failures.forEach((reason, count) -> failureCounts.put(reason, count.sum()));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("url", options.url().toString());
+        report.put("matches", options.matches());
+        report.put("rounds", options.rounds());
+        report.put("thinkMinMs", options.thinkMin().toMillis());
+        report.put("thinkMaxMs", options.thinkMax().toMillis());
+        report.put("elapsedSeconds", elapsed.toMillis() / 1000.0);
+        report.put("messages", messages);
+        report.put("failures", failureCounts);
+
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(path.toFile(), report);
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
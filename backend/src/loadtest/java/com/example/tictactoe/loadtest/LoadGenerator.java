@@ -0,0 +1,161 @@
+package com.example.tictactoe.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.WebSocketClient;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.springframework.web.socket.sockjs.client.SockJsClient;
+import org.springframework.web.socket.sockjs.client.WebSocketTransport;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Headless load generator: plays many concurrent matches against a running backend over STOMP and
+ * reports round-trip latency per message type, on the console and as JSON. Start the backend with
+ * {@link LocalBackend} to run without external services. Exits with status 1 when any match failed.
+ */
+public final class LoadGenerator {
+
+    private static final long HEARTBEAT_MILLIS = 10_000;
+
+    private LoadGenerator() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options;
+        try {
+            options = LoadTestOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.print(LoadTestOptions.USAGE);
+            System.exit(2);
+            return;
+        }
+
+        ThreadPoolTaskScheduler heartbeatScheduler = new ThreadPoolTaskScheduler();
+        heartbeatScheduler.setPoolSize(2);
+        heartbeatScheduler.setThreadNamePrefix("loadtest-heartbeat-");
+        heartbeatScheduler.initialize();
+        WebSocketStompClient stompClient = stompClient(options.url(), heartbeatScheduler);
+
+        LatencyReport report = new LatencyReport();
+        String run = Long.toString(System.currentTimeMillis() % 1_000_000, 36);
+        System.out.printf("Playing %d matches of %d rounds against %s%n", options.matches(), options.rounds(), options.url());
+
+        long start = System.nanoTime();
+        ExecutorService matches = Executors.newFixedThreadPool(options.matches());
+        long rampUpStepNanos = options.rampUp().toNanos() / options.matches();
+        for (int i = 0; i < options.matches(); i++) {
+            String matchId = "lt" + run + "-" + i;
+            long startDelayNanos = i * rampUpStepNanos;
+            matches.execute(() -> runMatch(stompClient, matchId, startDelayNanos, options, report));
+        }
+        matches.shutdown();
+        while (!matches.awaitTermination(10, TimeUnit.SECONDS)) {
+            System.out.printf("... %d s, %d failures so far%n",
+                    TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start), report.getFailureCount());
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        stompClient.stop();
+        heartbeatScheduler.shutdown();
+        report.print(System.out, elapsed);
+        report.write(options.report(), options, elapsed);
+        System.out.println("Report written to " + options.report().toAbsolutePath());
+        System.exit(report.getFailureCount() > 0 ? 1 : 0);
+    }
+
+    /**
+     * A STOMP client exchanging JSON like the frontend, with heartbeats sent from the given scheduler
+     */
+    static WebSocketStompClient stompClient(URI url, TaskScheduler heartbeatScheduler) {
+        WebSocketStompClient stompClient = new WebSocketStompClient(webSocketClient(url));
+        MappingJackson2MessageConverter converter = new MappingJackson2MessageConverter();
+        converter.setObjectMapper(new ObjectMapper().registerModule(new JavaTimeModule()));
+        stompClient.setMessageConverter(converter);
+        stompClient.setTaskScheduler(heartbeatScheduler);
+        stompClient.setDefaultHeartbeat(new long[] {HEARTBEAT_MILLIS, HEARTBEAT_MILLIS});
+        return stompClient;
+    }
+
+    private static WebSocketClient webSocketClient(URI url) {
+        StandardWebSocketClient webSocketClient = new StandardWebSocketClient();
+        String scheme = url.getScheme();
+        if ("http".equals(scheme) || "https".equals(scheme)) {
+            // The SockJS endpoint, over its WebSocket transport as browsers use it
+            return new SockJsClient(List.of(new WebSocketTransport(webSocketClient)));
+        }
+        return webSocketClient;
+    }
+
+    private static void runMatch(WebSocketStompClient stompClient, String matchId, long startDelayNanos,
+                                 LoadTestOptions options, LatencyReport report) {
+        PlayerConnection creator = null;
+        PlayerConnection joiner = null;
+        try {
+            TimeUnit.NANOSECONDS.sleep(startDelayNanos);
+            creator = connect(stompClient, options.url(), matchId + "-a", options.timeout(), report);
+            creator.subscribeGames("/topic/game.created/" + creator.getLogin());
+            creator.subscribeGames("/topic/game.join.request/" + creator.getLogin());
+            creator.subscribeGames("/topic/game.connected/" + creator.getLogin());
+            creator.subscribeGames("/topic/game.rematch.accepted/" + creator.getLogin());
+            joiner = connect(stompClient, options.url(), matchId + "-b", options.timeout(), report);
+            joiner.subscribeGames("/topic/game.join.pending/" + joiner.getLogin());
+            joiner.subscribeGames("/topic/game.connected/" + joiner.getLogin());
+            joiner.subscribeGames("/topic/game.rematch.accepted/" + joiner.getLogin());
+
+            new SimulatedMatch(creator, joiner, options, report).play();
+        } catch (LoadTestException e) {
+            report.fail(e.getReason());
+        } catch (ExecutionException | TimeoutException e) {
+            report.fail("stomp connect");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            report.fail(e.getClass().getSimpleName());
+        } finally {
+            if (creator != null) {
+                creator.disconnect();
+            }
+            if (joiner != null) {
+                joiner.disconnect();
+            }
+        }
+    }
+
+    /**
+     * Opens a STOMP session for the login, recording the connect round trip, with the error queue subscribed
+     */
+    static PlayerConnection connect(WebSocketStompClient stompClient, URI url, String login, Duration timeout,
+                                    LatencyReport report) throws ExecutionException, TimeoutException, InterruptedException {
+        StompHeaders connectHeaders = new StompHeaders();
+        connectHeaders.setLogin(login);
+        long sent = System.nanoTime();
+        StompSession session = stompClient.connectAsync(url.toString(), new WebSocketHttpHeaders(), connectHeaders,
+                new StompSessionHandlerAdapter() {
+                    @Override
+                    public void handleTransportError(StompSession session, Throwable exception) {
+                        report.fail("transport");
+                    }
+                }).get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        report.record("stomp.connect", sent, System.nanoTime());
+        PlayerConnection player = new PlayerConnection(login, session);
+        player.subscribeErrors();
+        return player;
+    }
+}
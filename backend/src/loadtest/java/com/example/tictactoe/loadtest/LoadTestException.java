@@ -0,0 +1,18 @@
+package com.example.tictactoe.loadtest;
+
+/**
+ * A match that cannot continue; the reason is the failure bucket it is counted in
+ */
+class LoadTestException extends Exception {
+
+    private final String reason;
+
+    LoadTestException(String reason, String message) {
+        super(message);
+        this.reason = reason;
+    }
+
+    String getReason() {
+        return reason;
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.tictactoe.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command line options of the load generator, given as {@code --name=value}
+ *
+ * @param url        STOMP endpoint: http(s) URLs go through SockJS (/ws), ws(s) URLs are raw WebSocket (/ws-native)
+ * @param matches    concurrent matches, each played by two sessions
+ * @param rounds     games per match; every game after the first is started by a rematch
+ * @param thinkMin   shortest pause before a player acts
+ * @param thinkMax   longest pause before a player acts
+ * @param rampUp     time over which match starts are spread
+ * @param timeout    longest wait for the reply to a message before the match is failed
+ * @param report     JSON summary written at the end
+ */
+record LoadTestOptions(URI url, int matches, int rounds, Duration thinkMin, Duration thinkMax,
+                       Duration rampUp, Duration timeout, Path report) {
+
+    static final String USAGE = """
+            Options (all optional):
+              --url=http://localhost:8080/ws   STOMP endpoint; use ws://host/ws-native for raw WebSocket
+              --matches=100                    concurrent matches (two sessions each)
+              --rounds=3                       games per match, joined by rematches
+              --think-min-ms=200               shortest think time before each action
+              --think-max-ms=800               longest think time before each action
+              --ramp-up-seconds=10             spread of match starts
+              --timeout-ms=10000               longest wait for a reply
+              --report=target/loadtest-result.json
+            """;
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        LoadTestOptions options = new LoadTestOptions(
+                URI.create(stringValue(values, "url", "http://localhost:8080/ws")),
+                intValue(values, "matches", 100),
+                intValue(values, "rounds", 3),
+                Duration.ofMillis(intValue(values, "think-min-ms", 200)),
+                Duration.ofMillis(intValue(values, "think-max-ms", 800)),
+                Duration.ofSeconds(intValue(values, "ramp-up-seconds", 10)),
+                Duration.ofMillis(intValue(values, "timeout-ms", 10_000)),
+                Path.of(stringValue(values, "report", "target/loadtest-result.json")));
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options " + values.keySet());
+        }
+        if (options.matches < 1 || options.rounds < 1 || options.thinkMax.compareTo(options.thinkMin) < 0) {
+            throw new IllegalArgumentException("Need matches >= 1, rounds >= 1 and think-max-ms >= think-min-ms");
+        }
+        return options;
+    }
+
+    private static String stringValue(Map<String, String> values, String name, String defaultValue) {
+        String value = values.remove(name);
+        return value != null ? value : defaultValue;
+    }
+
+    private static int intValue(Map<String, String> values, String name, int defaultValue) {
+        String value = values.remove(name);
+        return value != null ? Integer.parseInt(value) : defaultValue;
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.tictactoe.loadtest;
+
+import com.example.tictactoe.TictactoeApplication;
+import com.github.fppt.jedismock.RedisServer;
+import org.springframework.boot.SpringApplication;
+
+import java.io.IOException;
+
+/**
+ * Starts the backend against an in-process jedis-mock Redis, so load tests need no external services.
+ * Arguments are passed to Spring Boot, e.g. {@code --server.port=8080 --logging.level.com.example.tictactoe=WARN};
+ * {@code --loadtest.redis-port} sets the Redis port, 6390 by default.
+ */
+public final class LocalBackend {
+
+    private static final String REDIS_PORT_ARG = "--loadtest.redis-port=";
+
+    private LocalBackend() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        int redisPort = 6390;
+        for (String arg : args) {
+            if (arg.startsWith(REDIS_PORT_ARG)) {
+                redisPort = Integer.parseInt(arg.substring(REDIS_PORT_ARG.length()));
+            }
+        }
+        RedisServer redisServer = RedisServer.newRedisServer(redisPort).start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                redisServer.stop();
+            } catch (IOException e) {
+                // Exiting anyway
+            }
+        }));
+
+        // System properties, so they win over the REDIS_HOST/REDIS_PORT defaults in application.properties
+        System.setProperty("spring.data.redis.host", redisServer.getHost());
+        System.setProperty("spring.data.redis.port", String.valueOf(redisServer.getBindPort()));
+        // jedis-mock's INFO reply has no redis_version, which the Redis health indicator requires
+        System.setProperty("management.health.redis.enabled", "false");
+        SpringApplication.run(TictactoeApplication.class, args);
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.tictactoe.loadtest;
+
+import com.example.tictactoe.model.Game;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * One simulated player: a STOMP session whose subscribed messages are queued with their arrival time,
+ * so a player can send a frame and then wait for the message it causes
+ */
+class PlayerConnection {
+
+    static final String ERRORS_DESTINATION = "/user/queue/errors";
+
+    private final String login;
+    private final StompSession session;
+    private final BlockingQueue<Received> inbox = new LinkedBlockingQueue<>();
+
+    PlayerConnection(String login, StompSession session) {
+        this.login = login;
+        this.session = session;
+    }
+
+    String getLogin() {
+        return login;
+    }
+
+    StompSession.Subscription subscribeGames(String destination) {
+        return session.subscribe(destination, new Handler(Game.class));
+    }
+
+    void subscribeErrors() {
+        session.subscribe(ERRORS_DESTINATION, new Handler(Map.class));
+    }
+
+    /**
+     * Sends the payload and returns the send time, to measure the reply against
+     */
+    long send(String destination, Object payload) {
+        long sentNanos = System.nanoTime();
+        session.send(destination, payload);
+        return sentNanos;
+    }
+
+    /**
+     * Waits for a game on the destination matching the condition, skipping earlier messages.
+     * An error queued for this player fails the wait.
+     */
+    Received await(String destination, Predicate<Game> condition, Duration timeout) throws LoadTestException, InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (true) {
+            Received received = inbox.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            if (received == null) {
+                throw new LoadTestException("timeout", login + " got no message on " + destination);
+            }
+            if (ERRORS_DESTINATION.equals(received.destination())) {
+                Object code = ((Map<?, ?>) received.payload()).get("code");
+                throw new LoadTestException("error " + code, login + " got " + received.payload());
+            }
+            if (destination.equals(received.destination()) && condition.test((Game) received.payload())) {
+                return received;
+            }
+        }
+    }
+
+    void disconnect() {
+        if (session.isConnected()) {
+            session.disconnect();
+        }
+    }
+
+    record Received(String destination, Object payload, long receivedNanos) {
+
+        Game game() {
+            return (Game) payload;
+        }
+    }
+
+    private final class Handler implements StompFrameHandler {
+
+        private final Class<?> payloadType;
+
+        Handler(Class<?> payloadType) {
+            this.payloadType = payloadType;
+        }
+
+        @Override
+        public Type getPayloadType(StompHeaders headers) {
+            return payloadType;
+        }
+
+        @Override
+        public void handleFrame(StompHeaders headers, Object payload) {
+            inbox.add(new Received(headers.getDestination(), payload, System.nanoTime()));
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.tictactoe.loadtest;
+
+import com.example.tictactoe.model.ConnectRequest;
+import com.example.tictactoe.model.Game;
+import com.example.tictactoe.model.GameStatus;
+import com.example.tictactoe.model.JoinResponse;
+import com.example.tictactoe.model.Move;
+import com.example.tictactoe.model.Player;
+import com.example.tictactoe.model.RematchRequest;
+import com.example.tictactoe.model.RematchResponse;
+import org.springframework.messaging.simp.stomp.StompSession;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Two players going through the whole flow the frontend drives: the creator starts a lobby, the joiner
+ * asks to join and is accepted, both play random moves to the end, and the match continues through
+ * rematches until every round is played. Each step waits for the message that confirms it and records
+ * the round trip under the name of the message sent.
+ */
+class SimulatedMatch {
+
+    private final PlayerConnection creator;
+    private final PlayerConnection joiner;
+    private final LoadTestOptions options;
+    private final LatencyReport report;
+    private final Duration timeout;
+
+    SimulatedMatch(PlayerConnection creator, PlayerConnection joiner, LoadTestOptions options, LatencyReport report) {
+        this.creator = creator;
+        this.joiner = joiner;
+        this.options = options;
+        this.report = report;
+        this.timeout = options.timeout();
+    }
+
+    void play() throws LoadTestException, InterruptedException {
+        String creatorLogin = creator.getLogin();
+        String joinerLogin = joiner.getLogin();
+
+        think();
+        long sent = creator.send("/app/game.start", new Player(creatorLogin));
+        Game game = awaitAndRecord("start", sent, creator, "/topic/game.created/" + creatorLogin, any -> true);
+        String gameId = game.getGameId();
+
+        think();
+        ConnectRequest connect = new ConnectRequest();
+        connect.setPlayer(new Player(joinerLogin));
+        connect.setGameId(gameId);
+        sent = joiner.send("/app/game.connect", connect);
+        awaitAndRecord("connect", sent, joiner, "/topic/game.join.pending/" + joinerLogin, it -> gameId.equals(it.getGameId()));
+        creator.await("/topic/game.join.request/" + creatorLogin, it -> gameId.equals(it.getGameId()), timeout);
+
+        think();
+        JoinResponse joinResponse = new JoinResponse();
+        joinResponse.setGameId(gameId);
+        joinResponse.setResponderLogin(creatorLogin);
+        joinResponse.setRequesterLogin(joinerLogin);
+        joinResponse.setAccepted(true);
+        sent = creator.send("/app/game.join.response", joinResponse);
+        game = awaitAndRecord("join.response", sent, creator, "/topic/game.connected/" + creatorLogin, it -> gameId.equals(it.getGameId()));
+        joiner.await("/topic/game.connected/" + joinerLogin, it -> gameId.equals(it.getGameId()), timeout);
+
+        for (int round = 1; ; round++) {
+            // Both players follow the game topic from the start of a game until its rematch is agreed
+            String destination = "/topic/game." + game.getGameId();
+            StompSession.Subscription creatorSubscription = creator.subscribeGames(destination);
+            StompSession.Subscription joinerSubscription = joiner.subscribeGames(destination);
+            try {
+                game = playGame(game, destination);
+                if (round == options.rounds()) {
+                    return;
+                }
+                game = rematch(game, destination);
+            } finally {
+                creatorSubscription.unsubscribe();
+                joinerSubscription.unsubscribe();
+            }
+        }
+    }
+
+    /**
+     * Plays random moves until the game is finished, both players following every update
+     */
+    private Game playGame(Game game, String destination) throws LoadTestException, InterruptedException {
+        long sequence = 0;
+        while (game.getStatus() != GameStatus.FINISHED) {
+            PlayerConnection mover = game.getCurrentPlayerLogin().equals(creator.getLogin()) ? creator : joiner;
+            PlayerConnection watcher = mover == creator ? joiner : creator;
+            long version = game.getVersion();
+
+            think();
+            Move move = new Move();
+            move.setGameId(game.getGameId());
+            move.setPlayerLogin(mover.getLogin());
+            move.setSquareIndex(randomEmptySquare(game.getBoard()));
+            move.setSequence(++sequence);
+            long sent = mover.send("/app/game.gameplay", move);
+            game = awaitAndRecord("gameplay", sent, mover, destination, it -> it.getVersion() > version);
+            watcher.await(destination, it -> it.getVersion() > version, timeout);
+        }
+        return game;
+    }
+
+    /**
+     * The creator asks for a rematch on the finished game and the joiner accepts it
+     */
+    private Game rematch(Game finished, String destination) throws LoadTestException, InterruptedException {
+        String gameId = finished.getGameId();
+
+        think();
+        RematchRequest request = new RematchRequest();
+        request.setGameId(gameId);
+        request.setPlayerLogin(creator.getLogin());
+        long sent = creator.send("/app/game.rematch", request);
+        awaitAndRecord("rematch", sent, creator, destination, it -> creator.getLogin().equals(it.getRematchRequesterLogin()));
+
+        think();
+        RematchResponse response = new RematchResponse();
+        response.setGameId(gameId);
+        response.setPlayerLogin(joiner.getLogin());
+        response.setAccepted(true);
+        sent = joiner.send("/app/game.rematch.response", response);
+        Game game = awaitAndRecord("rematch.response", sent, joiner, "/topic/game.rematch.accepted/" + joiner.getLogin(),
+                it -> !gameId.equals(it.getGameId()));
+        creator.await("/topic/game.rematch.accepted/" + creator.getLogin(), it -> game.getGameId().equals(it.getGameId()), timeout);
+        return game;
+    }
+
+    private Game awaitAndRecord(String messageType, long sentNanos, PlayerConnection player, String destination,
+                                Predicate<Game> condition) throws LoadTestException, InterruptedException {
+        PlayerConnection.Received received = player.await(destination, condition, timeout);
+        report.record(messageType, sentNanos, received.receivedNanos());
+        return received.game();
+    }
+
+    private void think() throws InterruptedException {
+        long min = options.thinkMin().toMillis();
+        long max = options.thinkMax().toMillis();
+        TimeUnit.MILLISECONDS.sleep(min == max ? min : ThreadLocalRandom.current().nextLong(min, max + 1));
+    }
+
+    private static int randomEmptySquare(String[] board) {
+        List<Integer> empty = new ArrayList<>(board.length);
+        for (int i = 0; i < board.length; i++) {
+            if (board[i] == null) {
+                empty.add(i);
+            }
+        }
+        return empty.get(ThreadLocalRandom.current().nextInt(empty.size()));
+    }
+}
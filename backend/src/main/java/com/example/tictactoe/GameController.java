@@ -2,6 +2,10 @@ package com.example.tictactoe;
 
 import com.example.tictactoe.exception.InvalidGameException;
 import com.example.tictactoe.exception.InvalidParamException;
+import com.example.tictactoe.exception.RateLimitExceededException;
+import com.example.tictactoe.lobby.AvailableGamesCache;
+import com.example.tictactoe.lobby.AvailableGamesPage;
+import com.example.tictactoe.logging.SamplingTurboFilter;
 import com.example.tictactoe.model.ConnectRequest;
 import com.example.tictactoe.model.Game;
 import com.example.tictactoe.model.JoinResponse;
@@ -9,17 +13,34 @@ import com.example.tictactoe.model.Move;
 import com.example.tictactoe.model.Player;
 import com.example.tictactoe.model.RematchRequest;
 import com.example.tictactoe.model.RematchResponse;
+import com.example.tictactoe.model.ResumeRequest;
+import com.example.tictactoe.model.ResumeResponse;
 import com.example.tictactoe.model.SurrenderRequest;
 import com.example.tictactoe.model.SurrenderResponse;
+import com.example.tictactoe.ratelimit.MessageRateLimiter;
+import com.example.tictactoe.ratelimit.RateLimitedCommand;
 import com.example.tictactoe.service.GameService;
+import com.example.tictactoe.websocket.GameBroadcaster;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.annotation.SendToUser;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.CrossOrigin;
 
@@ -31,23 +52,38 @@ public class GameController {
 
     private static final Logger log = LoggerFactory.getLogger(GameController.class);
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final int MAX_AVAILABLE_PAGE_SIZE = 100;
+
     private final GameService gameService;
     private final SimpMessagingTemplate simpMessagingTemplate;
+    private final MessageRateLimiter rateLimiter;
+    private final GameBroadcaster gameBroadcaster;
+    private final AvailableGamesCache availableGamesCache;
 
-    public GameController(GameService gameService, SimpMessagingTemplate simpMessagingTemplate) {
+    public GameController(GameService gameService, SimpMessagingTemplate simpMessagingTemplate,
+                          MessageRateLimiter rateLimiter, GameBroadcaster gameBroadcaster,
+                          AvailableGamesCache availableGamesCache) {
         this.gameService = gameService;
         this.simpMessagingTemplate = simpMessagingTemplate;
+        this.rateLimiter = rateLimiter;
+        this.gameBroadcaster = gameBroadcaster;
+        this.availableGamesCache = availableGamesCache;
     }
 
     @MessageMapping("/game.start")
-    public void startGame(@Valid Player player) {
+    public void startGame(@Valid Player player, @Header(name = SimpMessageHeaderAccessor.SESSION_ID_HEADER, required = false) String sessionId)
+            throws RateLimitExceededException {
+        rateLimiter.acquire(RateLimitedCommand.START, sessionId, player.getLogin());
         log.info("start game request: {}", player.getLogin());
         Game game = gameService.createGame(player);
         simpMessagingTemplate.convertAndSend("/topic/game.created/" + player.getLogin(), game);
     }
 
     @MessageMapping("/game.connect")
-    public void connectToGame(@Valid ConnectRequest request) throws InvalidParamException, InvalidGameException {
+    public void connectToGame(@Valid ConnectRequest request, @Header(name = SimpMessageHeaderAccessor.SESSION_ID_HEADER, required = false) String sessionId)
+            throws InvalidParamException, InvalidGameException, RateLimitExceededException {
+        rateLimiter.acquire(RateLimitedCommand.CONNECT, sessionId, request.getPlayer().getLogin());
         log.info("connect request: {} to game {}", request.getPlayer().getLogin(), request.getGameId());
         Game game;
         if (request.getGameId() == null || request.getGameId().isEmpty()) {
@@ -68,7 +104,9 @@ public class GameController {
     }
 
     @MessageMapping("/game.join.response")
-    public void respondToJoinRequest(@Valid JoinResponse response) throws InvalidParamException, InvalidGameException {
+    public void respondToJoinRequest(@Valid JoinResponse response, @Header(name = SimpMessageHeaderAccessor.SESSION_ID_HEADER, required = false) String sessionId)
+            throws InvalidParamException, InvalidGameException, RateLimitExceededException {
+        rateLimiter.acquire(RateLimitedCommand.JOIN_RESPONSE, sessionId, response.getResponderLogin());
         log.info("join response from: {} in game {} for requester {} -> {}", 
             response.getResponderLogin(), response.getGameId(), response.getRequesterLogin(), response.getAccepted());
         Game game = gameService.respondToJoinRequest(response.getGameId(), response.getResponderLogin(), 
@@ -87,36 +125,46 @@ public class GameController {
     }
 
     @MessageMapping("/game.gameplay")
-    public void gamePlay(@Valid Move move) throws InvalidParamException, InvalidGameException {
-        log.info("gameplay move: {} in game {}", move.getPlayerLogin(), move.getGameId());
+    public void gamePlay(@Valid Move move, @Header(name = SimpMessageHeaderAccessor.SESSION_ID_HEADER, required = false) String sessionId)
+            throws InvalidParamException, InvalidGameException, RateLimitExceededException {
+        rateLimiter.acquire(RateLimitedCommand.GAMEPLAY, sessionId, move.getPlayerLogin());
+        log.info(SamplingTurboFilter.HIGH_FREQUENCY, "gameplay move: {} in game {}", move.getPlayerLogin(), move.getGameId());
         Game game = gameService.gameplay(move, move.getGameId());
-        // Update the game status for both players
-        simpMessagingTemplate.convertAndSend("/topic/game." + game.getGameId(), game);
+        // Update the game status for both players and any spectators
+        gameBroadcaster.broadcast(game);
     }
 
     @MessageMapping("/game.surrender")
-    public void surrender(@Valid SurrenderRequest request) throws InvalidParamException, InvalidGameException {
+    public void surrender(@Valid SurrenderRequest request, @Header(name = SimpMessageHeaderAccessor.SESSION_ID_HEADER, required = false) String sessionId)
+            throws InvalidParamException, InvalidGameException, RateLimitExceededException {
+        rateLimiter.acquire(RateLimitedCommand.SURRENDER, sessionId, request.getPlayerLogin());
         log.info("surrender request from: {} in game {}", request.getPlayerLogin(), request.getGameId());
         Game game = gameService.requestSurrender(request.getGameId(), request.getPlayerLogin());
-        simpMessagingTemplate.convertAndSend("/topic/game." + game.getGameId(), game);
+        gameBroadcaster.broadcast(game);
     }
 
     @MessageMapping("/game.surrender.response")
-    public void surrenderResponse(@Valid SurrenderResponse response) throws InvalidParamException, InvalidGameException {
+    public void surrenderResponse(@Valid SurrenderResponse response, @Header(name = SimpMessageHeaderAccessor.SESSION_ID_HEADER, required = false) String sessionId)
+            throws InvalidParamException, InvalidGameException, RateLimitExceededException {
+        rateLimiter.acquire(RateLimitedCommand.SURRENDER_RESPONSE, sessionId, response.getPlayerLogin());
         log.info("surrender response from: {} in game {} -> {}", response.getPlayerLogin(), response.getGameId(), response.isAccepted());
         Game game = gameService.respondToSurrender(response.getGameId(), response.getPlayerLogin(), response.isAccepted());
-        simpMessagingTemplate.convertAndSend("/topic/game." + game.getGameId(), game);
+        gameBroadcaster.broadcast(game);
     }
 
     @MessageMapping("/game.rematch")
-    public void rematch(@Valid RematchRequest request) throws InvalidParamException, InvalidGameException {
+    public void rematch(@Valid RematchRequest request, @Header(name = SimpMessageHeaderAccessor.SESSION_ID_HEADER, required = false) String sessionId)
+            throws InvalidParamException, InvalidGameException, RateLimitExceededException {
+        rateLimiter.acquire(RateLimitedCommand.REMATCH, sessionId, request.getPlayerLogin());
         log.info("rematch request from: {} in game {}", request.getPlayerLogin(), request.getGameId());
         Game game = gameService.requestRematch(request.getGameId(), request.getPlayerLogin());
-        simpMessagingTemplate.convertAndSend("/topic/game." + game.getGameId(), game);
+        gameBroadcaster.broadcast(game);
     }
 
     @MessageMapping("/game.rematch.response")
-    public void rematchResponse(@Valid RematchResponse response) throws InvalidParamException, InvalidGameException {
+    public void rematchResponse(@Valid RematchResponse response, @Header(name = SimpMessageHeaderAccessor.SESSION_ID_HEADER, required = false) String sessionId)
+            throws InvalidParamException, InvalidGameException, RateLimitExceededException {
+        rateLimiter.acquire(RateLimitedCommand.REMATCH_RESPONSE, sessionId, response.getPlayerLogin());
         log.info("rematch response from: {} in game {} -> {}", response.getPlayerLogin(), response.getGameId(), response.isAccepted());
         Game game = gameService.respondToRematch(response.getGameId(), response.getPlayerLogin(), response.isAccepted());
         
@@ -126,13 +174,88 @@ public class GameController {
             simpMessagingTemplate.convertAndSend("/topic/game.rematch.accepted/" + game.getPlayer2().getLogin(), game);
         } else {
             // Notify on the old game topic that rematch was declined
-            simpMessagingTemplate.convertAndSend("/topic/game." + response.getGameId(), game);
+            gameBroadcaster.broadcast(game);
         }
     }
 
+    @MessageMapping("/game.resume")
+    @SendToUser("/queue/game.resume")
+    public ResumeResponse resume(@Valid ResumeRequest request, @Header(name = SimpMessageHeaderAccessor.SESSION_ID_HEADER, required = false) String sessionId)
+            throws InvalidParamException, RateLimitExceededException {
+        rateLimiter.acquire(RateLimitedCommand.RESUME, sessionId, request.getPlayerLogin());
+        log.info("resume request: {} in game {} from version {}", request.getPlayerLogin(), request.getGameId(), request.getLastSeenVersion());
+        return gameService.resume(request.getGameId(), request.getLastSeenVersion());
+    }
+
+    /**
+     * Snapshot for a spectator joining late, replied to the subscribing session only.
+     * Later updates arrive on the read-only /topic/spectate.{gameId}.
+     */
+    @SubscribeMapping("/spectate.{gameId}")
+    public Game spectate(@DestinationVariable String gameId, @Header(name = SimpMessageHeaderAccessor.SESSION_ID_HEADER, required = false) String sessionId)
+            throws InvalidParamException, RateLimitExceededException {
+        rateLimiter.acquire(RateLimitedCommand.SPECTATE, sessionId, null);
+        log.debug(SamplingTurboFilter.HIGH_FREQUENCY, "spectate request for game {}", gameId);
+        return gameService.getGame(gameId);
+    }
+
+    /**
+     * Every open game in full, newest first. The games are picked from the lobby snapshot and read by ID;
+     * kept for existing clients, new ones should page through /api/v2/games/available.
+     */
     @GetMapping("/api/games/available")
     public java.util.List<Game> getAvailableGames() {
-        log.info("get available games request");
-        return gameService.getAvailableGames();
+        log.debug(SamplingTurboFilter.HIGH_FREQUENCY, "get available games request");
+        return gameService.getAvailableGames(availableGamesCache.getGameIds());
+    }
+
+    /**
+     * Open lobbies as {gameId, creatorLogin, createdAt} entries, newest first, served from a cached
+     * serialized snapshot. Follow X-Next-Cursor for the next page; a matching If-None-Match gets 304 without a body.
+     */
+    @GetMapping("/api/v2/games/available")
+    public ResponseEntity<byte[]> getAvailableGamesPage(@RequestParam(required = false) String cursor,
+                                                        @RequestParam(defaultValue = "20") int limit,
+                                                        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        log.debug(SamplingTurboFilter.HIGH_FREQUENCY, "get available games request, cursor {} limit {}", cursor, limit);
+        if (limit < 1 || limit > MAX_AVAILABLE_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        AvailableGamesPage page;
+        try {
+            page = availableGamesCache.getPage(cursor, limit);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (ifNoneMatch != null && matchesEtag(ifNoneMatch, page.etag())) {
+            return withPageHeaders(ResponseEntity.status(HttpStatus.NOT_MODIFIED), page).build();
+        }
+        return withPageHeaders(ResponseEntity.ok(), page)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(page.body());
+    }
+
+    /**
+     * Whether If-None-Match is "*" or lists the tag, compared weakly (a W/ prefix is ignored)
+     */
+    private static boolean matchesEtag(String ifNoneMatch, String etag) {
+        for (String listed : ifNoneMatch.split(",")) {
+            String tag = listed.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static ResponseEntity.BodyBuilder withPageHeaders(ResponseEntity.BodyBuilder response, AvailableGamesPage page) {
+        response.eTag(page.etag()).cacheControl(CacheControl.noCache());
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response;
     }
 }
\ No newline at end of file
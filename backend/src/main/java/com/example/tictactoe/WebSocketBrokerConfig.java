@@ -0,0 +1,40 @@
+package com.example.tictactoe;
+
+import com.example.tictactoe.websocket.OutboundQueueWebSocketHandler;
+import com.example.tictactoe.websocket.OutboundSessionRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.support.AbstractSubscribableChannel;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.config.annotation.DelegatingWebSocketMessageBrokerConfiguration;
+
+/**
+ * What {@code @EnableWebSocketMessageBroker} imports, with the STOMP handler replaced so that sessions
+ * get our outbound queue instead of Spring's send buffer. {@link WebSocketConfig} still supplies the
+ * endpoints, broker and channel settings as a configurer.
+ */
+@Configuration(proxyBeanMethods = false)
+public class WebSocketBrokerConfig extends DelegatingWebSocketMessageBrokerConfiguration {
+
+    private static final Logger log = LoggerFactory.getLogger(WebSocketBrokerConfig.class);
+
+    private final OutboundSessionRegistry outboundSessionRegistry;
+
+    public WebSocketBrokerConfig(OutboundSessionRegistry outboundSessionRegistry) {
+        this.outboundSessionRegistry = outboundSessionRegistry;
+    }
+
+    @Bean
+    @Override
+    public WebSocketHandler subProtocolWebSocketHandler(
+            @Qualifier("clientInboundChannel") AbstractSubscribableChannel clientInboundChannel,
+            @Qualifier("clientOutboundChannel") AbstractSubscribableChannel clientOutboundChannel) {
+        log.info("Bounding outbound WebSocket queues to {} bytes / {} ms per session",
+                outboundSessionRegistry.getSendBufferSizeLimit(), outboundSessionRegistry.getSendTimeLimit());
+        return decorateWebSocketHandler(
+                new OutboundQueueWebSocketHandler(clientInboundChannel, clientOutboundChannel, outboundSessionRegistry));
+    }
+}
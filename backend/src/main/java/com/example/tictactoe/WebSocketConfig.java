@@ -2,15 +2,28 @@ package com.example.tictactoe;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import com.example.tictactoe.presence.PresenceService;
+import com.example.tictactoe.tracing.BrokerChannelObservationInterceptor;
+import com.example.tictactoe.tracing.InboundMessageObservationInterceptor;
+import com.example.tictactoe.websocket.BrokerDestinationGuard;
+import com.example.tictactoe.websocket.ExactMatchSubscriptionRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.simp.config.ChannelRegistration;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
-import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
 
+/**
+ * Endpoints, broker and channel settings, applied by {@link WebSocketBrokerConfig}
+ */
 @Configuration
-@EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
     private static final Logger log = LoggerFactory.getLogger(WebSocketConfig.class);
@@ -18,20 +31,72 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     @Value("${websocket.allowed-origins}")
     private String allowedOrigins;
 
+    @Value("${websocket.heartbeat-ms:10000}")
+    private long heartbeatMillis;
+
+    private final PresenceService presenceService;
+    private final BrokerDestinationGuard brokerDestinationGuard;
+    private final InboundMessageObservationInterceptor inboundObservationInterceptor;
+    private final BrokerChannelObservationInterceptor brokerChannelObservationInterceptor;
+    private final TaskScheduler messageBrokerTaskScheduler;
+
+    public WebSocketConfig(PresenceService presenceService,
+                           BrokerDestinationGuard brokerDestinationGuard,
+                           InboundMessageObservationInterceptor inboundObservationInterceptor,
+                           BrokerChannelObservationInterceptor brokerChannelObservationInterceptor,
+                           @Lazy @Qualifier("messageBrokerTaskScheduler") TaskScheduler messageBrokerTaskScheduler) {
+        this.presenceService = presenceService;
+        this.brokerDestinationGuard = brokerDestinationGuard;
+        this.inboundObservationInterceptor = inboundObservationInterceptor;
+        this.brokerChannelObservationInterceptor = brokerChannelObservationInterceptor;
+        this.messageBrokerTaskScheduler = messageBrokerTaskScheduler;
+    }
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        log.info("Configuring message broker with prefix /app and broker /topic");
-        config.enableSimpleBroker("/topic");
+        log.info("Configuring message broker with prefix /app and brokers /topic, /queue, heartbeat {} ms", heartbeatMillis);
+        // Heartbeats let the broker close silent connections, which is what ends a player's presence
+        config.enableSimpleBroker("/topic", "/queue")
+                .setHeartbeatValue(new long[]{heartbeatMillis, heartbeatMillis})
+                .setTaskScheduler(messageBrokerTaskScheduler);
         config.setApplicationDestinationPrefixes("/app");
+        // Every SimpMessagingTemplate send passes through the broker channel
+        config.configureBrokerChannel().interceptors(brokerChannelObservationInterceptor);
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(presenceService, brokerDestinationGuard, inboundObservationInterceptor);
+    }
+
+    /**
+     * Swap the simple broker's pattern-matching registry for one indexed by exact destination,
+     * since every destination we publish to is a concrete per-game or per-player topic.
+     */
+    @Bean
+    public static BeanPostProcessor subscriptionRegistryPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof SimpleBrokerMessageHandler brokerHandler) {
+                    brokerHandler.setSubscriptionRegistry(new ExactMatchSubscriptionRegistry());
+                }
+                return bean;
+            }
+        };
     }
 
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         log.info("Registering STOMP endpoints with allowed origins: {}", allowedOrigins);
+        // Raw WebSocket endpoint: no SockJS framing or handshake round trips
+        registry.addEndpoint("/ws-native")
+                .setAllowedOriginPatterns("*");
+        // SockJS endpoint kept as a fallback for clients that cannot open a raw WebSocket
         registry.addEndpoint("/ws")
                 .setAllowedOriginPatterns("*")
                 .withSockJS();
-        log.info("WebSocket endpoint /ws registered successfully with SockJS");
+        log.info("WebSocket endpoints registered: /ws-native (raw WebSocket), /ws (SockJS fallback)");
     }
 
 }
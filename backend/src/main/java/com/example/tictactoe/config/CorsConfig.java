@@ -17,6 +17,8 @@ public class CorsConfig implements WebMvcConfigurer {
                 .allowedOrigins(allowedOrigins.split(","))
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
                 .allowedHeaders("*")
+                // Pagination cursor and revalidation of GET /api/v2/games/available
+                .exposedHeaders("X-Next-Cursor", "ETag")
                 .allowCredentials(false)
                 .maxAge(3600);
     }
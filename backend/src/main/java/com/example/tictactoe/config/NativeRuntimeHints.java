@@ -0,0 +1,45 @@
+package com.example.tictactoe.config;
+
+import com.example.tictactoe.exception.ErrorMessage;
+import com.example.tictactoe.lobby.LobbyEvent;
+import com.example.tictactoe.lobby.LobbyGame;
+import com.example.tictactoe.lobby.LobbySnapshot;
+import com.example.tictactoe.logging.CountingAsyncAppender;
+import com.example.tictactoe.logging.SamplingTurboFilter;
+import com.example.tictactoe.model.Game;
+import com.example.tictactoe.model.GameEvent;
+import com.example.tictactoe.model.Player;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+import java.util.HashMap;
+
+/**
+ * Reflection a native image cannot discover on its own. {@code @MessageMapping} and controller
+ * signatures are covered by Spring; these are the types Jackson binds outside them: Redis values,
+ * payloads sent through the messaging template and pre-serialised pages. The Redis mapper's default
+ * typing writes class names into values and resolves them with {@code Class.forName} on read, so each
+ * class it names must be registered too. Logback creates the custom filter and appender reflectively
+ * from logback-spring.xml.
+ */
+public class NativeRuntimeHints implements RuntimeHintsRegistrar {
+
+    private final BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        bindingRegistrar.registerReflectionHints(hints.reflection(),
+                Game.class, Player.class, GameEvent.class,
+                LobbyEvent.class, LobbyGame.class, LobbySnapshot.class, ErrorMessage.class);
+
+        // Type ids written by default typing in stored games, e.g. ["java.util.HashMap", {...}] for move sequences
+        hints.reflection().registerType(HashMap.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+
+        for (Class<?> type : new Class<?>[] {SamplingTurboFilter.class, CountingAsyncAppender.class}) {
+            hints.reflection().registerType(type,
+                    MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+    }
+}
@@ -1,21 +1,25 @@
 package com.example.tictactoe.config;
 
+import com.example.tictactoe.metrics.MeteredRedisSerializer;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
 import com.fasterxml.jackson.databind.jsontype.PolymorphicTypeValidator;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 @Configuration
+@ImportRuntimeHints(NativeRuntimeHints.class)
 public class RedisConfig {
 
     @Bean
-    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory) {
+    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory, MeterRegistry meterRegistry) {
         RedisTemplate<String, Object> template = new RedisTemplate<>();
         template.setConnectionFactory(connectionFactory);
         
@@ -23,7 +27,20 @@ public class RedisConfig {
         template.setKeySerializer(new StringRedisSerializer());
         template.setHashKeySerializer(new StringRedisSerializer());
         
-        // Configure ObjectMapper with Java 8 date/time support and type information
+        // Use JSON serializer for values with configured ObjectMapper, recording payload sizes
+        MeteredRedisSerializer valueSerializer = new MeteredRedisSerializer(
+            new GenericJackson2JsonRedisSerializer(valueObjectMapper()), meterRegistry);
+        template.setValueSerializer(valueSerializer);
+        template.setHashValueSerializer(valueSerializer);
+        
+        template.afterPropertiesSet();
+        return template;
+    }
+
+    /**
+     * Mapper for stored values: Java 8 date/time support plus default typing, so values read back as their own class
+     */
+    public static ObjectMapper valueObjectMapper() {
         ObjectMapper objectMapper = new ObjectMapper();
         objectMapper.registerModule(new JavaTimeModule());
         
@@ -32,15 +49,6 @@ public class RedisConfig {
                 .allowIfSubType(Object.class)
                 .build();
         objectMapper.activateDefaultTyping(ptv, ObjectMapper.DefaultTyping.NON_FINAL);
-        
-        // Use JSON serializer for values with configured ObjectMapper
-        GenericJackson2JsonRedisSerializer jackson2JsonRedisSerializer = 
-            new GenericJackson2JsonRedisSerializer(objectMapper);
-        template.setValueSerializer(jackson2JsonRedisSerializer);
-        template.setHashValueSerializer(jackson2JsonRedisSerializer);
-        
-        template.afterPropertiesSet();
-        return template;
+        return objectMapper;
     }
 }
-
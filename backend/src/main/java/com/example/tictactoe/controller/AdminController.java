@@ -0,0 +1,80 @@
+package com.example.tictactoe.controller;
+
+import com.example.tictactoe.transfer.GameTransferService;
+import com.example.tictactoe.transfer.ImportResult;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Backup and migration endpoints. Disabled unless game.admin.token is set;
+ * every request must carry that token in the X-Admin-Token header.
+ */
+@RestController
+@RequestMapping("/api/admin")
+public class AdminController {
+
+    private static final Logger log = LoggerFactory.getLogger(AdminController.class);
+
+    static final String ADMIN_TOKEN_HEADER = "X-Admin-Token";
+    static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final int MAX_PARALLELISM = 32;
+    private static final int MAX_BATCH_SIZE = 10_000;
+
+    private final GameTransferService transferService;
+
+    @Value("${game.admin.token:}")
+    private String adminToken = "";
+
+    public AdminController(GameTransferService transferService) {
+        this.transferService = transferService;
+    }
+
+    @GetMapping("/games/export")
+    public ResponseEntity<StreamingResponseBody> exportGames(@RequestHeader(value = ADMIN_TOKEN_HEADER, required = false) String token) {
+        if (!isAuthorized(token)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        log.info("Game export requested");
+        return ResponseEntity.ok()
+                .contentType(NDJSON)
+                .body(transferService::exportGames);
+    }
+
+    @PostMapping(value = "/games/import", consumes = {"application/x-ndjson", MediaType.APPLICATION_OCTET_STREAM_VALUE, MediaType.TEXT_PLAIN_VALUE})
+    public ResponseEntity<ImportResult> importGames(@RequestHeader(value = ADMIN_TOKEN_HEADER, required = false) String token,
+                                                    @RequestParam(defaultValue = "500") int batchSize,
+                                                    @RequestParam(defaultValue = "4") int parallelism,
+                                                    HttpServletRequest request) throws IOException, InterruptedException {
+        if (!isAuthorized(token)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        if (batchSize < 1 || batchSize > MAX_BATCH_SIZE || parallelism < 1 || parallelism > MAX_PARALLELISM) {
+            return ResponseEntity.badRequest().build();
+        }
+        log.info("Game import requested with batch size {} and parallelism {}", batchSize, parallelism);
+        return ResponseEntity.ok(transferService.importGames(request.getInputStream(), batchSize, parallelism));
+    }
+
+    private boolean isAuthorized(String token) {
+        if (adminToken == null || adminToken.isEmpty() || token == null) {
+            return false;
+        }
+        return MessageDigest.isEqual(adminToken.getBytes(StandardCharsets.UTF_8), token.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,9 +1,12 @@
 package com.example.tictactoe.controller;
 
-import com.example.tictactoe.storage.GameStorage;
+import com.example.tictactoe.metrics.GameMetrics;
+import com.example.tictactoe.presence.PresenceService;
+import com.example.tictactoe.websocket.OutboundSessionRegistry;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.HashMap;
@@ -13,10 +16,17 @@ import java.util.Map;
 @RequestMapping("/api")
 public class HealthController {
 
-    private final GameStorage gameStorage;
+    private static final int MAX_LAGGING_SESSIONS = 100;
 
-    public HealthController(GameStorage gameStorage) {
-        this.gameStorage = gameStorage;
+    private final GameMetrics gameMetrics;
+    private final OutboundSessionRegistry outboundSessionRegistry;
+    private final PresenceService presenceService;
+
+    public HealthController(GameMetrics gameMetrics, OutboundSessionRegistry outboundSessionRegistry,
+                            PresenceService presenceService) {
+        this.gameMetrics = gameMetrics;
+        this.outboundSessionRegistry = outboundSessionRegistry;
+        this.presenceService = presenceService;
     }
 
     @GetMapping("/health")
@@ -31,9 +41,24 @@ public class HealthController {
     @GetMapping("/stats")
     public ResponseEntity<Map<String, Object>> stats() {
         Map<String, Object> stats = new HashMap<>();
-        stats.put("totalGames", gameStorage.getGameCount());
+        // Counts are refreshed in the background rather than walking Redis per request
+        stats.put("totalGames", gameMetrics.getTotalGames());
+        stats.put("gamesByStatus", gameMetrics.getGameCounts());
+        stats.put("onlinePlayers", presenceService.getOnlineCount());
         stats.put("timestamp", System.currentTimeMillis());
         return ResponseEntity.ok(stats);
     }
-}
 
+    @GetMapping("/stats/sessions")
+    public ResponseEntity<Map<String, Object>> sessionStats(@RequestParam(defaultValue = "20") int limit) {
+        if (limit < 1 || limit > MAX_LAGGING_SESSIONS) {
+            return ResponseEntity.badRequest().build();
+        }
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("connectedSessions", outboundSessionRegistry.getSessionCount());
+        stats.put("localOnlinePlayers", presenceService.getLocalOnlineCount());
+        stats.put("laggingSessions", outboundSessionRegistry.getLaggingSessions(limit));
+        stats.put("timestamp", System.currentTimeMillis());
+        return ResponseEntity.ok(stats);
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.tictactoe.controller;
+
+import com.example.tictactoe.leaderboard.LeaderboardEntry;
+import com.example.tictactoe.leaderboard.LeaderboardMetric;
+import com.example.tictactoe.leaderboard.LeaderboardPeriod;
+import com.example.tictactoe.leaderboard.LeaderboardService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/leaderboards")
+public class LeaderboardController {
+
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_OFFSET = 1_000_000;
+
+    private final LeaderboardService leaderboardService;
+
+    public LeaderboardController(LeaderboardService leaderboardService) {
+        this.leaderboardService = leaderboardService;
+    }
+
+    @GetMapping("/{metric}")
+    public ResponseEntity<List<LeaderboardEntry>> page(@PathVariable String metric,
+                                                       @RequestParam(defaultValue = "all-time") String period,
+                                                       @RequestParam(defaultValue = "0") int offset,
+                                                       @RequestParam(defaultValue = "20") int limit) {
+        LeaderboardMetric leaderboardMetric = LeaderboardMetric.fromPath(metric);
+        LeaderboardPeriod leaderboardPeriod = LeaderboardPeriod.fromPath(period);
+        if (leaderboardMetric == null || leaderboardPeriod == null || offset < 0 || offset > MAX_OFFSET || limit < 1 || limit > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(leaderboardService.getPage(leaderboardMetric, leaderboardPeriod, offset, limit));
+    }
+
+    @GetMapping("/{metric}/players/{login}")
+    public ResponseEntity<LeaderboardEntry> player(@PathVariable String metric, @PathVariable String login,
+                                                   @RequestParam(defaultValue = "all-time") String period) {
+        LeaderboardMetric leaderboardMetric = LeaderboardMetric.fromPath(metric);
+        LeaderboardPeriod leaderboardPeriod = LeaderboardPeriod.fromPath(period);
+        if (leaderboardMetric == null || leaderboardPeriod == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        LeaderboardEntry entry = leaderboardService.getEntry(leaderboardMetric, leaderboardPeriod, login);
+        return entry != null ? ResponseEntity.ok(entry) : ResponseEntity.notFound().build();
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.tictactoe.controller;
+
+import com.example.tictactoe.exception.RateLimitExceededException;
+import com.example.tictactoe.lobby.LobbyService;
+import com.example.tictactoe.lobby.LobbySnapshot;
+import com.example.tictactoe.ratelimit.MessageRateLimiter;
+import com.example.tictactoe.ratelimit.RateLimitedCommand;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
+import org.springframework.stereotype.Controller;
+
+@Controller
+public class LobbyController {
+
+    private final LobbyService lobbyService;
+    private final MessageRateLimiter rateLimiter;
+
+    public LobbyController(LobbyService lobbyService, MessageRateLimiter rateLimiter) {
+        this.lobbyService = lobbyService;
+        this.rateLimiter = rateLimiter;
+    }
+
+    /**
+     * Initial lobby list for a client that subscribed to /topic/lobby, replied to that session only
+     */
+    @SubscribeMapping("/lobby")
+    public LobbySnapshot snapshot(@Header(name = SimpMessageHeaderAccessor.SESSION_ID_HEADER, required = false) String sessionId)
+            throws RateLimitExceededException {
+        rateLimiter.acquire(RateLimitedCommand.LOBBY, sessionId, null);
+        return lobbyService.getSnapshot();
+    }
+}
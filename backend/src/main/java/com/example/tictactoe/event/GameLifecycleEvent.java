@@ -0,0 +1,19 @@
+package com.example.tictactoe.event;
+
+import com.example.tictactoe.model.Game;
+
+/**
+ * Published by GameService after a game has been saved in a new stage of its life
+ */
+public record GameLifecycleEvent(Type type, Game game) {
+
+    public enum Type {
+        CREATED,
+        STARTED,
+        FINISHED,
+        /**
+         * A lobby was removed before anyone joined it
+         */
+        EXPIRED
+    }
+}
@@ -25,6 +25,13 @@ public class GlobalExceptionHandler {
         return new ErrorMessage("INVALID_GAME_OPERATION", ex.getMessage());
     }
 
+    @MessageExceptionHandler(RateLimitExceededException.class)
+    @SendToUser("/queue/errors")
+    public ErrorMessage handleRateLimitExceededException(RateLimitExceededException ex) {
+        log.debug("Rate limited: {}", ex.getMessage());
+        return new ErrorMessage("RATE_LIMITED", ex.getMessage());
+    }
+
     @MessageExceptionHandler(Exception.class)
     @SendToUser("/queue/errors")
     public ErrorMessage handleGenericException(Exception ex) {
@@ -0,0 +1,8 @@
+package com.example.tictactoe.exception;
+
+public class RateLimitExceededException extends Exception {
+    public RateLimitExceededException(String message) {
+        // No stack trace: rejections are expected under flood and must stay cheap
+        super(message, null, false, false);
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.tictactoe.id;
+
+/**
+ * Fixed-width base62 for non-negative longs. Digits are in ASCII order and every value is
+ * padded to the same length, so string order matches numeric order.
+ */
+public final class Base62 {
+
+    public static final int LENGTH = 11;
+
+    private static final char[] DIGITS = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz".toCharArray();
+
+    private Base62() {
+    }
+
+    public static String encode(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Negative value " + value);
+        }
+        char[] chars = new char[LENGTH];
+        for (int i = LENGTH - 1; i >= 0; i--) {
+            chars[i] = DIGITS[(int) (value % 62)];
+            value /= 62;
+        }
+        return new String(chars);
+    }
+
+    public static long decode(String encoded) {
+        if (encoded.length() != LENGTH) {
+            throw new IllegalArgumentException("Expected " + LENGTH + " base62 digits: " + encoded);
+        }
+        long value = 0;
+        for (int i = 0; i < LENGTH; i++) {
+            value = Math.multiplyExact(value, 62) + digit(encoded.charAt(i));
+        }
+        return value;
+    }
+
+    private static int digit(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= 'A' && c <= 'Z') {
+            return c - 'A' + 10;
+        }
+        if (c >= 'a' && c <= 'z') {
+            return c - 'a' + 36;
+        }
+        throw new IllegalArgumentException("Not a base62 digit: " + c);
+    }
+}
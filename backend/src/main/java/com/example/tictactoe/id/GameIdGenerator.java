@@ -0,0 +1,10 @@
+package com.example.tictactoe.id;
+
+/**
+ * Source of new game IDs. IDs are opaque strings to the rest of the application,
+ * so games stored under IDs from a previous generator keep resolving.
+ */
+public interface GameIdGenerator {
+
+    String nextId();
+}
@@ -0,0 +1,92 @@
+package com.example.tictactoe.id;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * 64-bit time-ordered IDs: 41 bits of milliseconds since 2024-01-01, a 10-bit node ID and a
+ * 12-bit sequence, encoded as 11 base62 characters. Issuing an ID is a single CAS on an
+ * AtomicLong holding the last timestamp and sequence. When the sequence of a millisecond is used up,
+ * or the clock steps back, IDs borrow from the next millisecond instead of blocking.
+ * <p>
+ * Node IDs come from game.id.node-id, or are leased with an INCR on a shared Redis counter at startup.
+ */
+@Component
+@ConditionalOnProperty(name = "game.id.generator", havingValue = "snowflake", matchIfMissing = true)
+public class SnowflakeGameIdGenerator implements GameIdGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(SnowflakeGameIdGenerator.class);
+
+    static final long EPOCH = 1704067200000L;
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long nodeBits;
+    private final LongSupplier clock;
+    // Last issued (timestamp << SEQUENCE_BITS | sequence)
+    private final AtomicLong lastState = new AtomicLong();
+
+    @Autowired
+    public SnowflakeGameIdGenerator(StringRedisTemplate redisTemplate,
+                                    @Value("${game.id.node-id:-1}") long nodeId,
+                                    @Value("${game.id.node-counter-key:tictactoe:id:node}") String nodeCounterKey) {
+        this(nodeId >= 0 ? nodeId : leaseNodeId(redisTemplate, nodeCounterKey), System::currentTimeMillis);
+    }
+
+    public SnowflakeGameIdGenerator(long nodeId) {
+        this(nodeId, System::currentTimeMillis);
+    }
+
+    SnowflakeGameIdGenerator(long nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node ID must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+        }
+        this.nodeBits = nodeId << SEQUENCE_BITS;
+        this.clock = clock;
+        log.info("Generating game IDs as node {}", nodeId);
+    }
+
+    @Override
+    public String nextId() {
+        return Base62.encode(nextLong());
+    }
+
+    long nextLong() {
+        long now = (clock.getAsLong() - EPOCH) << SEQUENCE_BITS;
+        long state = lastState.updateAndGet(last -> Math.max(last + 1, now));
+        long timestamp = state >>> SEQUENCE_BITS;
+        return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | nodeBits | (state & SEQUENCE_MASK);
+    }
+
+    static long timestampOf(long id) {
+        return (id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH;
+    }
+
+    static long nodeIdOf(long id) {
+        return (id >>> SEQUENCE_BITS) & MAX_NODE_ID;
+    }
+
+    private static long leaseNodeId(StringRedisTemplate redisTemplate, String key) {
+        try {
+            Long counter = redisTemplate.opsForValue().increment(key);
+            if (counter != null) {
+                return Math.floorMod(counter, MAX_NODE_ID + 1);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not lease a node ID from Redis, falling back to a random one: {}", e.getMessage());
+        }
+        return ThreadLocalRandom.current().nextLong(MAX_NODE_ID + 1);
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.tictactoe.id;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Random 36-character UUIDs, as game IDs were originally generated
+ */
+@Component
+@ConditionalOnProperty(name = "game.id.generator", havingValue = "uuid")
+public class UuidGameIdGenerator implements GameIdGenerator {
+
+    @Override
+    public String nextId() {
+        return UUID.randomUUID().toString();
+    }
+}
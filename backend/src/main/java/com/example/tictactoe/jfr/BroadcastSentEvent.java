@@ -0,0 +1,30 @@
+package com.example.tictactoe.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.example.tictactoe.BroadcastSent")
+@Label("Broadcast Sent")
+@Category({"Tic Tac Toe", "Messaging"})
+@Description("A game was serialized once and handed to the broker for the player and spectator topics")
+@StackTrace(false)
+public class BroadcastSentEvent extends Event {
+
+    @Label("Game ID")
+    public String gameId;
+
+    @Label("Game Version")
+    public long version;
+
+    @Label("Payload Size")
+    @DataAmount
+    public long bytes;
+
+    @Label("Destinations")
+    public int destinations;
+}
@@ -0,0 +1,22 @@
+package com.example.tictactoe.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.example.tictactoe.GameCreated")
+@Label("Game Created")
+@Category({"Tic Tac Toe", "Game"})
+@Description("A player opened a new game; the duration covers storing it and queueing it for matchmaking")
+@StackTrace(false)
+public class GameCreatedEvent extends Event {
+
+    @Label("Game ID")
+    public String gameId;
+
+    @Label("Creator")
+    public String creatorLogin;
+}
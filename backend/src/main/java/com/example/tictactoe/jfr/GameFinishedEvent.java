@@ -0,0 +1,29 @@
+package com.example.tictactoe.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("com.example.tictactoe.GameFinished")
+@Label("Game Finished")
+@Category({"Tic Tac Toe", "Game"})
+@Description("A game ended by a win, a draw or a surrender")
+@StackTrace(false)
+public class GameFinishedEvent extends Event {
+
+    @Label("Game ID")
+    public String gameId;
+
+    @Label("Winner")
+    @Description("X or O, empty for a draw")
+    public String winner;
+
+    @Label("Game Length")
+    @Description("Time from creation to the end of the game")
+    @Timespan(Timespan.MILLISECONDS)
+    public long gameLength;
+}
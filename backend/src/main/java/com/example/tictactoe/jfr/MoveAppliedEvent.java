@@ -0,0 +1,32 @@
+package com.example.tictactoe.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.example.tictactoe.MoveApplied")
+@Label("Move Applied")
+@Category({"Tic Tac Toe", "Game"})
+@Description("A move was validated, applied and stored; retries that change nothing are not recorded")
+@StackTrace(false)
+public class MoveAppliedEvent extends Event {
+
+    @Label("Game ID")
+    public String gameId;
+
+    @Label("Player")
+    public String playerLogin;
+
+    @Label("Square")
+    public int squareIndex;
+
+    @Label("Game Version")
+    @Description("Version of the game after the move")
+    public long version;
+
+    @Label("Finished Game")
+    public boolean finishedGame;
+}
@@ -0,0 +1,31 @@
+package com.example.tictactoe.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.example.tictactoe.StorageCall")
+@Label("Storage Call")
+@Category({"Tic Tac Toe", "Storage"})
+@Description("A single game read from or written to Redis, including the round trip and (de)serialization")
+@StackTrace(false)
+public class StorageCallEvent extends Event {
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Key")
+    public String key;
+
+    @Label("Game ID")
+    public String gameId;
+
+    @Label("Payload Size")
+    @Description("Serialized size of the value, 0 when nothing was found")
+    @DataAmount
+    public long bytes;
+}
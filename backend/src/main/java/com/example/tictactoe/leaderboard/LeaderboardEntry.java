@@ -0,0 +1,7 @@
+package com.example.tictactoe.leaderboard;
+
+/**
+ * One row of a leaderboard; rank starts at 1
+ */
+public record LeaderboardEntry(long rank, String login, long score) {
+}
@@ -0,0 +1,29 @@
+package com.example.tictactoe.leaderboard;
+
+public enum LeaderboardMetric {
+    WINS("wins"),
+    DRAWS("draws"),
+    /**
+     * Current rating for all-time boards, rating gained within the period otherwise
+     */
+    RATING("rating");
+
+    private final String path;
+
+    LeaderboardMetric(String path) {
+        this.path = path;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public static LeaderboardMetric fromPath(String path) {
+        for (LeaderboardMetric metric : values()) {
+            if (metric.path.equals(path)) {
+                return metric;
+            }
+        }
+        return null;
+    }
+}
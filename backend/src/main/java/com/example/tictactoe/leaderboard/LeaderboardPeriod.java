@@ -0,0 +1,50 @@
+package com.example.tictactoe.leaderboard;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.IsoFields;
+
+public enum LeaderboardPeriod {
+    ALL_TIME("all-time", null),
+    DAILY("daily", Duration.ofDays(2)),
+    WEEKLY("weekly", Duration.ofDays(14));
+
+    private final String path;
+    private final Duration retention;
+
+    LeaderboardPeriod(String path, Duration retention) {
+        this.path = path;
+        this.retention = retention;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * How long a period's board is kept after it starts, null if forever
+     */
+    public Duration getRetention() {
+        return retention;
+    }
+
+    /**
+     * Key suffix of the board covering the given UTC date
+     */
+    public String keySuffix(LocalDate date) {
+        return switch (this) {
+            case ALL_TIME -> "all";
+            case DAILY -> "daily:" + date;
+            case WEEKLY -> "weekly:" + date.get(IsoFields.WEEK_BASED_YEAR) + "-W" + date.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR);
+        };
+    }
+
+    public static LeaderboardPeriod fromPath(String path) {
+        for (LeaderboardPeriod period : values()) {
+            if (period.path.equals(path)) {
+                return period;
+            }
+        }
+        return null;
+    }
+}
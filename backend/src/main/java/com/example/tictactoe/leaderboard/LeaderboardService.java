@@ -0,0 +1,175 @@
+package com.example.tictactoe.leaderboard;
+
+import com.example.tictactoe.event.GameLifecycleEvent;
+import com.example.tictactoe.model.Game;
+import com.example.tictactoe.model.TicToe;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Wins, draws and rating leaderboards kept incrementally in Redis sorted sets, one per
+ * metric and period. Finished games only add to the boards, and reads only touch the
+ * sorted sets, never game records. Top pages are served from a short-lived in-process copy
+ * of each board's first entries.
+ */
+@Service
+public class LeaderboardService {
+
+    private static final Logger log = LoggerFactory.getLogger(LeaderboardService.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final Clock clock;
+    private final Map<String, CachedTop> topCache = new ConcurrentHashMap<>();
+
+    @Value("${game.leaderboard.key-prefix:tictactoe:leaderboard:}")
+    private String keyPrefix = "tictactoe:leaderboard:";
+
+    @Value("${game.leaderboard.cached-top-size:100}")
+    private int cachedTopSize = 100;
+
+    @Value("${game.leaderboard.cache-ttl-ms:2000}")
+    private long cacheTtlMillis = 2000;
+
+    @Autowired
+    public LeaderboardService(StringRedisTemplate redisTemplate) {
+        this(redisTemplate, Clock.systemUTC());
+    }
+
+    LeaderboardService(StringRedisTemplate redisTemplate, Clock clock) {
+        this.redisTemplate = redisTemplate;
+        this.clock = clock;
+    }
+
+    @EventListener
+    public void onGameLifecycle(GameLifecycleEvent event) {
+        Game game = event.game();
+        if (event.type() != GameLifecycleEvent.Type.FINISHED || game.getPlayer2() == null) {
+            return;
+        }
+        try {
+            if (game.getWinner() == null) {
+                increment(LeaderboardMetric.DRAWS, Map.of(game.getPlayer1().getLogin(), 1L, game.getPlayer2().getLogin(), 1L));
+            } else {
+                String winner = game.getWinner() == TicToe.X ? game.getPlayer1().getLogin() : game.getPlayer2().getLogin();
+                increment(LeaderboardMetric.WINS, Map.of(winner, 1L));
+            }
+        } catch (DataAccessException e) {
+            log.error("Failed to update leaderboards for game {}: {}", game.getGameId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Records new ratings (all-time board) and the change that led to them (period boards)
+     */
+    public void recordRatings(Map<String, Integer> ratings, Map<String, Long> changes) {
+        LocalDate today = LocalDate.now(clock);
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                ZSetOperations<String, String> zSet = ((RedisOperations<String, String>) operations).opsForZSet();
+                ratings.forEach((login, rating) -> zSet.add(key(LeaderboardMetric.RATING, LeaderboardPeriod.ALL_TIME, today), login, rating));
+                for (LeaderboardPeriod period : List.of(LeaderboardPeriod.DAILY, LeaderboardPeriod.WEEKLY)) {
+                    String key = key(LeaderboardMetric.RATING, period, today);
+                    changes.forEach((login, change) -> zSet.incrementScore(key, login, change));
+                    ((RedisOperations<String, String>) operations).expire(key, period.getRetention());
+                }
+                return null;
+            }
+        });
+    }
+
+    private void increment(LeaderboardMetric metric, Map<String, Long> increments) {
+        LocalDate today = LocalDate.now(clock);
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, String> stringOperations = (RedisOperations<String, String>) operations;
+                for (LeaderboardPeriod period : LeaderboardPeriod.values()) {
+                    String key = key(metric, period, today);
+                    increments.forEach((login, amount) -> stringOperations.opsForZSet().incrementScore(key, login, amount));
+                    if (period.getRetention() != null) {
+                        stringOperations.expire(key, period.getRetention());
+                    }
+                }
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Entries ranked offset+1 to offset+limit, best first
+     */
+    public List<LeaderboardEntry> getPage(LeaderboardMetric metric, LeaderboardPeriod period, int offset, int limit) {
+        String key = key(metric, period, LocalDate.now(clock));
+        long end = (long) offset + limit;
+        if (end <= cachedTopSize) {
+            List<LeaderboardEntry> top = cachedTop(key);
+            return top.subList(Math.min(offset, top.size()), (int) Math.min(end, top.size()));
+        }
+        return readRange(key, offset, end - 1);
+    }
+
+    /**
+     * Rank and score of one player in O(log n), null if they are not on the board
+     */
+    public LeaderboardEntry getEntry(LeaderboardMetric metric, LeaderboardPeriod period, String login) {
+        String key = key(metric, period, LocalDate.now(clock));
+        Long rank = redisTemplate.opsForZSet().reverseRank(key, login);
+        if (rank == null) {
+            return null;
+        }
+        Double score = redisTemplate.opsForZSet().score(key, login);
+        return new LeaderboardEntry(rank + 1, login, score != null ? score.longValue() : 0);
+    }
+
+    private List<LeaderboardEntry> cachedTop(String key) {
+        long now = clock.millis();
+        CachedTop cached = topCache.get(key);
+        if (cached == null || cached.expiresAt <= now) {
+            cached = new CachedTop(readRange(key, 0, cachedTopSize - 1), now + cacheTtlMillis);
+            topCache.put(key, cached);
+            // Period boards roll over, so keys of past periods would otherwise pile up
+            topCache.values().removeIf(entry -> entry.expiresAt <= now);
+        }
+        return cached.entries;
+    }
+
+    private List<LeaderboardEntry> readRange(String key, long start, long end) {
+        Set<ZSetOperations.TypedTuple<String>> tuples = redisTemplate.opsForZSet().reverseRangeWithScores(key, start, end);
+        List<LeaderboardEntry> entries = new ArrayList<>();
+        if (tuples != null) {
+            long rank = start;
+            for (ZSetOperations.TypedTuple<String> tuple : tuples) {
+                Double score = tuple.getScore();
+                entries.add(new LeaderboardEntry(++rank, tuple.getValue(), score != null ? score.longValue() : 0));
+            }
+        }
+        return entries;
+    }
+
+    private String key(LeaderboardMetric metric, LeaderboardPeriod period, LocalDate date) {
+        return keyPrefix + metric.getPath() + ":" + period.keySuffix(date);
+    }
+
+    private record CachedTop(List<LeaderboardEntry> entries, long expiresAt) {
+    }
+}
@@ -0,0 +1,213 @@
+package com.example.tictactoe.lobby;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.zip.CRC32;
+
+/**
+ * Serialized snapshot behind GET /api/v2/games/available, whose game IDs also pick the games for v1. Each open lobby is encoded to JSON once and
+ * its bytes are reused by later rebuilds; pages are cut from those bytes. The snapshot is rebuilt
+ * after a lobby change seen by this node, at most once per min-rebuild interval, and otherwise once it
+ * is older than the refresh interval so changes made on other nodes show up. A stale snapshot is
+ * rebuilt by one request thread while the others keep serving it.
+ * <p>
+ * Cursors are "createdAtMillis.gameId" of the last entry returned. The order is newest first, ties by
+ * game ID. ETags are a CRC32 of the page bytes, so an unchanged page keeps its ETag across rebuilds.
+ */
+@Component
+public class AvailableGamesCache {
+
+    private final LobbyService lobbyService;
+    private final ObjectWriter writer;
+    private final LongSupplier clock;
+
+    @Value("${game.lobby.available-refresh-ms:1000}")
+    private long refreshMillis = 1000;
+
+    @Value("${game.lobby.available-min-rebuild-ms:100}")
+    private long minRebuildMillis = 100;
+
+    @Value("${game.lobby.available-max-games:100000}")
+    private int maxGames = 100000;
+
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private volatile Snapshot snapshot;
+
+    @Autowired
+    public AvailableGamesCache(LobbyService lobbyService, ObjectMapper objectMapper) {
+        this(lobbyService, objectMapper, System::currentTimeMillis);
+    }
+
+    AvailableGamesCache(LobbyService lobbyService, ObjectMapper objectMapper, LongSupplier clock) {
+        this.lobbyService = lobbyService;
+        this.writer = objectMapper.writerFor(LobbyGame.class);
+        this.clock = clock;
+    }
+
+    /**
+     * Page of up to limit lobbies after the cursor, or from the newest one when cursor is null.
+     * Throws IllegalArgumentException for a malformed cursor.
+     */
+    public AvailableGamesPage getPage(String cursor, int limit) {
+        Snapshot current = currentSnapshot();
+        int from = cursor == null || cursor.isEmpty() ? 0 : current.indexAfter(parseCursor(cursor));
+        int to = Math.min(from + limit, current.games.size());
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.write('[');
+        for (int i = from; i < to; i++) {
+            if (i > from) {
+                body.write(',');
+            }
+            body.writeBytes(current.encoded[i]);
+        }
+        body.write(']');
+        byte[] bytes = body.toByteArray();
+
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        String etag = "\"" + Long.toHexString(crc.getValue()) + "-" + bytes.length + "\"";
+        String nextCursor = to < current.games.size() ? cursorOf(current.games.get(to - 1)) : null;
+        return new AvailableGamesPage(bytes, etag, nextCursor);
+    }
+
+    /**
+     * IDs of the open lobbies in the snapshot, newest first
+     */
+    public List<String> getGameIds() {
+        return currentSnapshot().games.stream().map(LobbyGame::gameId).toList();
+    }
+
+    private Snapshot currentSnapshot() {
+        long now = clock.getAsLong();
+        Snapshot current = snapshot;
+        if (current != null && !isStale(current, now)) {
+            return current;
+        }
+        // Only the first build makes callers wait; once there is a snapshot, one thread rebuilds and the rest serve it
+        if (current == null) {
+            rebuildLock.lock();
+        } else if (!rebuildLock.tryLock()) {
+            return current;
+        }
+        try {
+            current = snapshot;
+            if (current == null || isStale(current, now)) {
+                current = build(now, current);
+                snapshot = current;
+            }
+            return current;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private boolean isStale(Snapshot current, long now) {
+        long age = now - current.builtAt;
+        return current.sequence != lobbyService.getSequence() ? age >= minRebuildMillis : age >= refreshMillis;
+    }
+
+    private Snapshot build(long now, Snapshot previous) {
+        LobbySnapshot lobby = lobbyService.getSnapshot(maxGames);
+        List<LobbyGame> games = lobby.games().stream()
+                .sorted((a, b) -> compare(a.createdAt().toEpochMilli(), a.gameId(), b.createdAt().toEpochMilli(), b.gameId()))
+                .toList();
+        Map<String, byte[]> reusable = previous != null ? previous.encodedById() : Map.of();
+        byte[][] encoded = new byte[games.size()][];
+        for (int i = 0; i < encoded.length; i++) {
+            LobbyGame game = games.get(i);
+            byte[] bytes = reusable.get(game.gameId());
+            encoded[i] = bytes != null ? bytes : encode(game);
+        }
+        return new Snapshot(lobby.sequence(), now, games, encoded);
+    }
+
+    private byte[] encode(LobbyGame game) {
+        try {
+            return writer.writeValueAsBytes(game);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize lobby " + game.gameId(), e);
+        }
+    }
+
+    private static String cursorOf(LobbyGame game) {
+        return game.createdAt().toEpochMilli() + "." + game.gameId();
+    }
+
+    private static Position parseCursor(String cursor) {
+        int separator = cursor.indexOf('.');
+        if (separator <= 0 || separator == cursor.length() - 1) {
+            throw new IllegalArgumentException("Malformed cursor: " + cursor);
+        }
+        try {
+            return new Position(Long.parseLong(cursor.substring(0, separator)), cursor.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed cursor: " + cursor, e);
+        }
+    }
+
+    /**
+     * Newest first, ties broken by game ID descending
+     */
+    private static int compare(long createdAt, String gameId, long otherCreatedAt, String otherGameId) {
+        int byTime = Long.compare(otherCreatedAt, createdAt);
+        return byTime != 0 ? byTime : otherGameId.compareTo(gameId);
+    }
+
+    private record Position(long createdAt, String gameId) {
+    }
+
+    private static final class Snapshot {
+        private final long sequence;
+        private final long builtAt;
+        private final List<LobbyGame> games;
+        private final byte[][] encoded;
+
+        private Snapshot(long sequence, long builtAt, List<LobbyGame> games, byte[][] encoded) {
+            this.sequence = sequence;
+            this.builtAt = builtAt;
+            this.games = games;
+            this.encoded = encoded;
+        }
+
+        /**
+         * Encoded lobbies by game ID; a lobby's fields never change, so its bytes stay valid
+         */
+        Map<String, byte[]> encodedById() {
+            Map<String, byte[]> byId = new HashMap<>(games.size() * 2);
+            for (int i = 0; i < encoded.length; i++) {
+                byId.put(games.get(i).gameId(), encoded[i]);
+            }
+            return byId;
+        }
+
+        /**
+         * First index strictly after the cursor position; a cursor whose game is gone still resumes in place
+         */
+        int indexAfter(Position position) {
+            int low = 0;
+            int high = games.size();
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                LobbyGame game = games.get(mid);
+                if (compare(game.createdAt().toEpochMilli(), game.gameId(), position.createdAt(), position.gameId()) <= 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.tictactoe.lobby;
+
+/**
+ * One page of open lobbies, already serialized as a JSON array.
+ * nextCursor is null on the last page.
+ */
+public record AvailableGamesPage(byte[] body, String etag, String nextCursor) {
+}
@@ -0,0 +1,17 @@
+package com.example.tictactoe.lobby;
+
+/**
+ * Incremental change to the lobby list, pushed on /topic/lobby. Sequences increase per node;
+ * a client drops events at or below the sequence of the snapshot it loaded.
+ */
+public record LobbyEvent(Type type, long sequence, String gameId, LobbyGame game) {
+
+    public enum Type {
+        ADDED,
+        /**
+         * Someone joined the lobby and the game started
+         */
+        CLAIMED,
+        EXPIRED
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.tictactoe.lobby;
+
+import java.time.Instant;
+
+/**
+ * An open lobby as listed to players looking for a game
+ */
+public record LobbyGame(String gameId, String creatorLogin, Instant createdAt) {
+}
@@ -0,0 +1,165 @@
+package com.example.tictactoe.lobby;
+
+import com.example.tictactoe.event.GameLifecycleEvent;
+import com.example.tictactoe.model.Game;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Index of open lobbies, kept apart from the games so listing them never loads a game.
+ * A sorted set scored by creation time holds the IDs and a hash holds each creator's login.
+ * Lobby changes follow game lifecycle events and are pushed to /topic/lobby as deltas.
+ */
+@Service
+public class LobbyService {
+
+    private static final Logger log = LoggerFactory.getLogger(LobbyService.class);
+
+    public static final String LOBBY_TOPIC = "/topic/lobby";
+
+    private final StringRedisTemplate redisTemplate;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final LongSupplier clock;
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Value("${game.lobby.redis-key:tictactoe:lobby}")
+    private String key = "tictactoe:lobby";
+
+    @Value("${game.lobby.snapshot-size:100}")
+    private int snapshotSize = 100;
+
+    @Value("${game.new-game-max-age-minutes:10}")
+    private int maxAgeMinutes = 10;
+
+    @Autowired
+    public LobbyService(StringRedisTemplate redisTemplate, SimpMessagingTemplate messagingTemplate) {
+        this(redisTemplate, messagingTemplate, System::currentTimeMillis);
+    }
+
+    LobbyService(StringRedisTemplate redisTemplate, SimpMessagingTemplate messagingTemplate, LongSupplier clock) {
+        this.redisTemplate = redisTemplate;
+        this.messagingTemplate = messagingTemplate;
+        this.clock = clock;
+    }
+
+    @EventListener
+    public void onGameLifecycle(GameLifecycleEvent event) {
+        Game game = event.game();
+        try {
+            switch (event.type()) {
+                case CREATED -> add(game);
+                case STARTED -> remove(game.getGameId(), LobbyEvent.Type.CLAIMED);
+                case EXPIRED -> remove(game.getGameId(), LobbyEvent.Type.EXPIRED);
+                default -> {
+                }
+            }
+        } catch (Exception e) {
+            // The game is already saved; the lobby sweep or the next snapshot catches up
+            log.error("Failed to update lobby for game {}: {}", game.getGameId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Newest open lobbies. The sequence is read first, so every event at or below it is already reflected.
+     */
+    public LobbySnapshot getSnapshot() {
+        return getSnapshot(snapshotSize);
+    }
+
+    public LobbySnapshot getSnapshot(int limit) {
+        long snapshotSequence = sequence.get();
+        Set<ZSetOperations.TypedTuple<String>> entries = redisTemplate.opsForZSet()
+                .reverseRangeByScoreWithScores(key, oldestOpenScore(), Double.POSITIVE_INFINITY, 0, limit);
+        if (entries == null || entries.isEmpty()) {
+            return new LobbySnapshot(snapshotSequence, List.of());
+        }
+        List<Object> gameIds = new ArrayList<>(entries.size());
+        entries.forEach(entry -> gameIds.add(entry.getValue()));
+        List<Object> creators = redisTemplate.opsForHash().multiGet(creatorsKey(), gameIds);
+        List<LobbyGame> games = new ArrayList<>(entries.size());
+        int i = 0;
+        for (ZSetOperations.TypedTuple<String> entry : entries) {
+            Object creator = creators.get(i++);
+            if (creator != null) {
+                games.add(new LobbyGame(entry.getValue(), creator.toString(), Instant.ofEpochMilli(entry.getScore().longValue())));
+            }
+        }
+        return new LobbySnapshot(snapshotSequence, games);
+    }
+
+    /**
+     * Sequence of the last lobby change seen by this node
+     */
+    public long getSequence() {
+        return sequence.get();
+    }
+
+    /**
+     * Expires lobbies that got too old to be joined
+     */
+    @Scheduled(fixedRateString = "${game.lobby.sweep-interval-ms:30000}")
+    public void expireOldLobbies() {
+        try {
+            Set<String> expired = redisTemplate.opsForZSet().rangeByScore(key, Double.NEGATIVE_INFINITY, oldestOpenScore());
+            if (expired != null) {
+                expired.forEach(gameId -> remove(gameId, LobbyEvent.Type.EXPIRED));
+            }
+        } catch (Exception e) {
+            log.warn("Failed to expire old lobbies: {}", e.getMessage());
+        }
+    }
+
+    private void add(Game game) {
+        Instant createdAt = game.getCreatedAt() != null ? game.getCreatedAt() : Instant.ofEpochMilli(clock.getAsLong());
+        LobbyGame lobbyGame = new LobbyGame(game.getGameId(), game.getPlayer1().getLogin(), createdAt);
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, String> stringOperations = (RedisOperations<String, String>) operations;
+                stringOperations.opsForHash().put(creatorsKey(), lobbyGame.gameId(), lobbyGame.creatorLogin());
+                stringOperations.opsForZSet().add(key, lobbyGame.gameId(), createdAt.toEpochMilli());
+                return null;
+            }
+        });
+        publish(LobbyEvent.Type.ADDED, lobbyGame.gameId(), lobbyGame);
+    }
+
+    private void remove(String gameId, LobbyEvent.Type type) {
+        // Only the caller that actually removes the entry announces it, so rematches and races stay silent
+        Long removed = redisTemplate.opsForZSet().remove(key, gameId);
+        redisTemplate.opsForHash().delete(creatorsKey(), gameId);
+        if (removed != null && removed > 0) {
+            publish(type, gameId, null);
+        }
+    }
+
+    private void publish(LobbyEvent.Type type, String gameId, LobbyGame game) {
+        messagingTemplate.convertAndSend(LOBBY_TOPIC, new LobbyEvent(type, sequence.incrementAndGet(), gameId, game));
+    }
+
+    private double oldestOpenScore() {
+        return clock.getAsLong() - maxAgeMinutes * 60_000L;
+    }
+
+    private String creatorsKey() {
+        return key + ":creators";
+    }
+}
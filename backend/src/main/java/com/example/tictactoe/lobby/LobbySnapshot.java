@@ -0,0 +1,9 @@
+package com.example.tictactoe.lobby;
+
+import java.util.List;
+
+/**
+ * Open lobbies, newest first, as of the given event sequence
+ */
+public record LobbySnapshot(long sequence, List<LobbyGame> games) {
+}
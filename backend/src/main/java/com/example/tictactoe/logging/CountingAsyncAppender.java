@@ -0,0 +1,39 @@
+package com.example.tictactoe.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Async appender that counts what it throws away instead of dropping silently.
+ * Events at INFO and below are discarded once the queue is past the discarding threshold,
+ * and with {@code neverBlock} any event arriving at a full queue is dropped. The overflow
+ * check races with other producers, so under contention the count can be slightly low.
+ */
+public class CountingAsyncAppender extends AsyncAppender {
+
+    private final LongAdder discarded = new LongAdder();
+    private final LongAdder overflowed = new LongAdder();
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        if (isQueueBelowDiscardingThreshold() && isDiscardable(event)) {
+            discarded.increment();
+            return;
+        }
+        if (isNeverBlock() && getRemainingCapacity() == 0) {
+            overflowed.increment();
+            return;
+        }
+        super.append(event);
+    }
+
+    public long getDiscardedCount() {
+        return discarded.sum();
+    }
+
+    public long getOverflowedCount() {
+        return overflowed.sum();
+    }
+}
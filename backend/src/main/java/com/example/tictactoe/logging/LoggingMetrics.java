@@ -0,0 +1,66 @@
+package com.example.tictactoe.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.Appender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.ILoggerFactory;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+
+/**
+ * Publishes how many log events the async appender dropped and the sampler skipped,
+ * so lossy logging under load is visible rather than silent
+ */
+@Component
+public class LoggingMetrics implements MeterBinder {
+
+    public static final String DROPPED_COUNTER = "tictactoe.logging.dropped";
+    public static final String SAMPLED_OUT_COUNTER = "tictactoe.logging.sampled.out";
+    public static final String QUEUE_GAUGE = "tictactoe.logging.queue";
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        ILoggerFactory factory = LoggerFactory.getILoggerFactory();
+        if (!(factory instanceof LoggerContext context)) {
+            return;
+        }
+        Iterator<Appender<ILoggingEvent>> appenders = context.getLogger(Logger.ROOT_LOGGER_NAME).iteratorForAppenders();
+        while (appenders.hasNext()) {
+            if (appenders.next() instanceof CountingAsyncAppender appender) {
+                bindAppender(registry, appender);
+            }
+        }
+        for (TurboFilter filter : context.getTurboFilterList()) {
+            if (filter instanceof SamplingTurboFilter sampler) {
+                FunctionCounter.builder(SAMPLED_OUT_COUNTER, sampler, SamplingTurboFilter::getSampledOutCount)
+                        .description("High-frequency log statements skipped by sampling")
+                        .register(registry);
+            }
+        }
+    }
+
+    private static void bindAppender(MeterRegistry registry, CountingAsyncAppender appender) {
+        FunctionCounter.builder(DROPPED_COUNTER, appender, CountingAsyncAppender::getDiscardedCount)
+                .description("Log events the async appender dropped")
+                .tag("appender", appender.getName())
+                .tag("reason", "discarded")
+                .register(registry);
+        FunctionCounter.builder(DROPPED_COUNTER, appender, CountingAsyncAppender::getOverflowedCount)
+                .description("Log events the async appender dropped")
+                .tag("appender", appender.getName())
+                .tag("reason", "overflow")
+                .register(registry);
+        Gauge.builder(QUEUE_GAUGE, appender, CountingAsyncAppender::getNumberOfElementsInQueue)
+                .description("Log events waiting to be written")
+                .tag("appender", appender.getName())
+                .register(registry);
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.tictactoe.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps one in {@code rate} log statements marked {@link #HIGH_FREQUENCY}, counted per call site.
+ * WARN and ERROR are never sampled, and a statement whose level is disabled is left to the
+ * normal level check so it does not use up a sampling slot.
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    /** Marks statements that run once per move or per message */
+    public static final Marker HIGH_FREQUENCY = MarkerFactory.getMarker("HIGH_FREQUENCY");
+
+    // Keyed by the statement's format string, which is a literal per call site
+    private final Map<String, AtomicLong> countsByStatement = new ConcurrentHashMap<>();
+    private final LongAdder sampledOut = new LongAdder();
+    private int rate = 1;
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (rate <= 1 || marker == null || format == null || !marker.contains(HIGH_FREQUENCY)
+                || level.isGreaterOrEqual(Level.WARN) || !logger.isEnabledFor(level)) {
+            return FilterReply.NEUTRAL;
+        }
+        long count = countsByStatement.computeIfAbsent(format, key -> new AtomicLong()).getAndIncrement();
+        if (count % rate == 0) {
+            return FilterReply.NEUTRAL;
+        }
+        sampledOut.increment();
+        return FilterReply.DENY;
+    }
+
+    public void setRate(int rate) {
+        this.rate = rate;
+    }
+
+    public int getRate() {
+        return rate;
+    }
+
+    public long getSampledOutCount() {
+        return sampledOut.sum();
+    }
+}
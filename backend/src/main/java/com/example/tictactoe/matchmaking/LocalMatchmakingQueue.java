@@ -0,0 +1,44 @@
+package com.example.tictactoe.matchmaking;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+
+/**
+ * In-process queues for single-node deployments
+ */
+@Component
+@ConditionalOnProperty(name = "game.matchmaking.mode", havingValue = "local")
+public class LocalMatchmakingQueue implements MatchmakingQueue {
+
+    private final Map<Integer, ConcurrentLinkedDeque<String>> buckets = new ConcurrentHashMap<>();
+
+    @Override
+    public void offer(int bucket, String ticket) {
+        tickets(bucket).offerLast(ticket);
+    }
+
+    @Override
+    public String poll(int bucket) {
+        ConcurrentLinkedDeque<String> tickets = buckets.get(bucket);
+        return tickets != null ? tickets.pollFirst() : null;
+    }
+
+    @Override
+    public void pushBack(int bucket, String ticket) {
+        tickets(bucket).offerFirst(ticket);
+    }
+
+    @Override
+    public long size(int bucket) {
+        ConcurrentLinkedDeque<String> tickets = buckets.get(bucket);
+        return tickets != null ? tickets.size() : 0;
+    }
+
+    private ConcurrentLinkedDeque<String> tickets(int bucket) {
+        return buckets.computeIfAbsent(bucket, b -> new ConcurrentLinkedDeque<>());
+    }
+}
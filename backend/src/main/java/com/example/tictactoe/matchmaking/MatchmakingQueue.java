@@ -0,0 +1,23 @@
+package com.example.tictactoe.matchmaking;
+
+/**
+ * FIFO queues of open lobby tickets, one per rating bucket. {@link #poll(int)} is an
+ * atomic claim: a ticket is handed to exactly one caller, even across nodes for shared
+ * implementations.
+ */
+public interface MatchmakingQueue {
+
+    void offer(int bucket, String ticket);
+
+    /**
+     * Removes and returns the oldest ticket of the bucket, or null when it is empty
+     */
+    String poll(int bucket);
+
+    /**
+     * Returns a polled ticket to the head of its bucket, ahead of younger tickets
+     */
+    void pushBack(int bucket, String ticket);
+
+    long size(int bucket);
+}
@@ -0,0 +1,128 @@
+package com.example.tictactoe.matchmaking;
+
+import com.example.tictactoe.model.Game;
+import com.example.tictactoe.model.Player;
+import com.example.tictactoe.rating.RatingService;
+import com.example.tictactoe.storage.GameStorage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+/**
+ * Pairs random joiners with open lobbies without scanning games.
+ * Lobbies are queued in the bucket of their creator's rating as a ticket
+ * "gameId@version@enqueuedAt". A joiner pops from its own bucket first, then from buckets
+ * further away; a lobby in a bucket at distance d only accepts once it has waited
+ * d widen intervals, so the rating window of each lobby grows the longer it waits.
+ * A ticket only stays valid while the game is unchanged, so a lobby joined by id, expired
+ * or re-opened leaves its old ticket stale and it is skipped when claimed. That keeps at
+ * most one live ticket per lobby, and the queue's atomic pop hands it to a single player.
+ */
+@Service
+public class MatchmakingService {
+
+    private static final Logger log = LoggerFactory.getLogger(MatchmakingService.class);
+
+    private static final char SEPARATOR = '@';
+
+    private final MatchmakingQueue queue;
+    private final GameStorage gameStorage;
+    private final RatingService ratingService;
+    private final LongSupplier clock;
+
+    @Value("${game.matchmaking.bucket-width:100}")
+    private int bucketWidth = 100;
+
+    @Value("${game.matchmaking.max-bucket-distance:5}")
+    private int maxBucketDistance = 5;
+
+    @Value("${game.matchmaking.widen-interval-seconds:10}")
+    private long widenIntervalSeconds = 10;
+
+    @Autowired
+    public MatchmakingService(MatchmakingQueue queue, GameStorage gameStorage, RatingService ratingService) {
+        this(queue, gameStorage, ratingService, System::currentTimeMillis);
+    }
+
+    MatchmakingService(MatchmakingQueue queue, GameStorage gameStorage, RatingService ratingService, LongSupplier clock) {
+        this.queue = queue;
+        this.gameStorage = gameStorage;
+        this.ratingService = ratingService;
+        this.clock = clock;
+    }
+
+    /**
+     * Offers a saved lobby to random joiners
+     */
+    public void enqueue(Game game) {
+        int bucket = bucketOf(ratingService.getRating(game.getPlayer1().getLogin()));
+        queue.offer(bucket, game.getGameId() + SEPARATOR + game.getVersion() + SEPARATOR + clock.getAsLong());
+    }
+
+    /**
+     * Claims the closest-rated open lobby that is still unchanged and matches the filter, or null if none is ready
+     */
+    public Game claim(Player joiner, Predicate<Game> eligible) {
+        int home = bucketOf(ratingService.getRating(joiner.getLogin()));
+        long now = clock.getAsLong();
+        for (int distance = 0; distance <= maxBucketDistance; distance++) {
+            long minWaitMillis = distance * widenIntervalSeconds * 1000;
+            Game game = claimFrom(home - distance, minWaitMillis, now, joiner, eligible);
+            if (game == null && distance > 0) {
+                game = claimFrom(home + distance, minWaitMillis, now, joiner, eligible);
+            }
+            if (game != null) {
+                return game;
+            }
+        }
+        return null;
+    }
+
+    private Game claimFrom(int bucket, long minWaitMillis, long now, Player joiner, Predicate<Game> eligible) {
+        String ownTicket = null;
+        Game claimed = null;
+        String ticket;
+        while ((ticket = queue.poll(bucket)) != null) {
+            int versionEnd = ticket.lastIndexOf(SEPARATOR);
+            int idEnd = versionEnd > 0 ? ticket.lastIndexOf(SEPARATOR, versionEnd - 1) : -1;
+            if (idEnd < 0) {
+                continue;
+            }
+            if (now - Long.parseLong(ticket.substring(versionEnd + 1)) < minWaitMillis) {
+                // Tickets are oldest first, so nothing behind this one has waited long enough either
+                queue.pushBack(bucket, ticket);
+                break;
+            }
+            Game game = gameStorage.getGame(ticket.substring(0, idEnd));
+            if (game == null || game.getVersion() != Long.parseLong(ticket.substring(idEnd + 1, versionEnd))
+                    || !eligible.test(game)) {
+                log.debug("Skipping stale matchmaking ticket {}", ticket);
+                continue;
+            }
+            if (game.getPlayer1().getLogin().equals(joiner.getLogin())) {
+                // The joiner's own lobby stays open for someone else
+                ownTicket = ticket;
+                continue;
+            }
+            claimed = game;
+            break;
+        }
+        if (ownTicket != null) {
+            queue.pushBack(bucket, ownTicket);
+        }
+        return claimed;
+    }
+
+    private int bucketOf(int rating) {
+        return Math.floorDiv(rating, bucketWidth);
+    }
+
+    public long getQueueSize(int rating) {
+        return queue.size(bucketOf(rating));
+    }
+}
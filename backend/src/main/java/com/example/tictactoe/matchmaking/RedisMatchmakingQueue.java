@@ -0,0 +1,49 @@
+package com.example.tictactoe.matchmaking;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Redis lists shared by all nodes, one per bucket: LPUSH to offer, RPOP to claim,
+ * RPUSH to put a ticket back at the head
+ */
+@Component
+@ConditionalOnProperty(name = "game.matchmaking.mode", havingValue = "redis", matchIfMissing = true)
+public class RedisMatchmakingQueue implements MatchmakingQueue {
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Value("${game.matchmaking.redis-key:tictactoe:matchmaking}")
+    private String keyPrefix;
+
+    public RedisMatchmakingQueue(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public void offer(int bucket, String ticket) {
+        redisTemplate.opsForList().leftPush(key(bucket), ticket);
+    }
+
+    @Override
+    public String poll(int bucket) {
+        return redisTemplate.opsForList().rightPop(key(bucket));
+    }
+
+    @Override
+    public void pushBack(int bucket, String ticket) {
+        redisTemplate.opsForList().rightPush(key(bucket), ticket);
+    }
+
+    @Override
+    public long size(int bucket) {
+        Long size = redisTemplate.opsForList().size(key(bucket));
+        return size != null ? size : 0;
+    }
+
+    private String key(int bucket) {
+        return keyPrefix + ":" + bucket;
+    }
+}
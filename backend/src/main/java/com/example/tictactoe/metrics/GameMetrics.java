@@ -0,0 +1,73 @@
+package com.example.tictactoe.metrics;
+
+import com.example.tictactoe.model.GameStatus;
+import com.example.tictactoe.presence.PresenceService;
+import com.example.tictactoe.storage.GameStorage;
+import com.example.tictactoe.websocket.OutboundSessionRegistry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gauges for stored games by status and for connections held by this node.
+ * Counting games needs a walk over the keyspace, so the counts are refreshed in the background
+ * and scrapes and /api/stats only ever read the last result.
+ */
+@Component
+public class GameMetrics {
+
+    private static final Logger log = LoggerFactory.getLogger(GameMetrics.class);
+
+    public static final String GAMES_GAUGE = "tictactoe.games";
+    public static final String SESSIONS_GAUGE = "tictactoe.websocket.sessions";
+    public static final String ONLINE_PLAYERS_GAUGE = "tictactoe.players.online.local";
+
+    private final GameStorage gameStorage;
+    private final Map<GameStatus, AtomicLong> gamesByStatus = new EnumMap<>(GameStatus.class);
+
+    public GameMetrics(GameStorage gameStorage, OutboundSessionRegistry outboundSessionRegistry,
+                       PresenceService presenceService, MeterRegistry registry) {
+        this.gameStorage = gameStorage;
+        for (GameStatus status : GameStatus.values()) {
+            AtomicLong count = new AtomicLong();
+            gamesByStatus.put(status, count);
+            Gauge.builder(GAMES_GAUGE, count, AtomicLong::get)
+                    .description("Stored games by status, as of the last refresh")
+                    .tag("status", status.name())
+                    .register(registry);
+        }
+        Gauge.builder(SESSIONS_GAUGE, outboundSessionRegistry, OutboundSessionRegistry::getSessionCount)
+                .description("WebSocket sessions connected to this node")
+                .register(registry);
+        Gauge.builder(ONLINE_PLAYERS_GAUGE, presenceService, PresenceService::getLocalOnlineCount)
+                .description("Players with a live session on this node")
+                .register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${game.metrics.status-refresh-ms:30000}")
+    public void refreshGameCounts() {
+        try {
+            gameStorage.countGamesByStatus().forEach((status, count) -> gamesByStatus.get(status).set(count));
+        } catch (DataAccessException e) {
+            log.warn("Failed to count games by status: {}", e.getMessage());
+        }
+    }
+
+    public Map<GameStatus, Long> getGameCounts() {
+        Map<GameStatus, Long> counts = new EnumMap<>(GameStatus.class);
+        gamesByStatus.forEach((status, count) -> counts.put(status, count.get()));
+        return counts;
+    }
+
+    public long getTotalGames() {
+        return gamesByStatus.values().stream().mapToLong(AtomicLong::get).sum();
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.tictactoe.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * Records the size of every value written to and read from Redis.
+ * Sizes come from the bytes the delegate already produced, so nothing is encoded twice.
+ * The last size is also kept per thread, since (de)serialization runs on the calling thread,
+ * so a caller can attach it to its own per-call event.
+ */
+public class MeteredRedisSerializer implements RedisSerializer<Object> {
+
+    public static final String PAYLOAD_SUMMARY = "tictactoe.redis.payload";
+
+    private static final ThreadLocal<int[]> LAST_PAYLOAD_SIZE = ThreadLocal.withInitial(() -> new int[1]);
+
+    private final RedisSerializer<Object> delegate;
+    private final DistributionSummary written;
+    private final DistributionSummary read;
+
+    public MeteredRedisSerializer(RedisSerializer<Object> delegate, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.written = payloadSummary(registry, "write");
+        this.read = payloadSummary(registry, "read");
+    }
+
+    private static DistributionSummary payloadSummary(MeterRegistry registry, String direction) {
+        return DistributionSummary.builder(PAYLOAD_SUMMARY)
+                .description("Serialized size of Redis values")
+                .baseUnit("bytes")
+                .tag("direction", direction)
+                .register(registry);
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        byte[] bytes = delegate.serialize(value);
+        if (bytes != null) {
+            written.record(bytes.length);
+            LAST_PAYLOAD_SIZE.get()[0] = bytes.length;
+        }
+        return bytes;
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes != null) {
+            read.record(bytes.length);
+            LAST_PAYLOAD_SIZE.get()[0] = bytes.length;
+        }
+        return delegate.deserialize(bytes);
+    }
+
+    /**
+     * Size of the last value this thread serialized or deserialized since {@link #resetLastPayloadSize()}, else 0
+     */
+    public static int lastPayloadSize() {
+        return LAST_PAYLOAD_SIZE.get()[0];
+    }
+
+    public static void resetLastPayloadSize() {
+        LAST_PAYLOAD_SIZE.get()[0] = 0;
+    }
+
+    @Override
+    public Class<?> getTargetType() {
+        return delegate.getTargetType();
+    }
+}
@@ -1,6 +1,8 @@
 package com.example.tictactoe.model;
 
 import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
 
 public class Game {
 
@@ -16,6 +18,8 @@ public class Game {
     private String rematchRequesterLogin;
     private Instant createdAt;
     private Instant lastActivityAt;
+    private Map<String, Long> moveSequences = new HashMap<>();
+    private long version;
 
     public Game() {
         this.board = new String[9];
@@ -123,4 +127,36 @@ public class Game {
     public void setRematchRequesterLogin(String rematchRequesterLogin) {
         this.rematchRequesterLogin = rematchRequesterLogin;
     }
+
+    public Map<String, Long> getMoveSequences() {
+        return moveSequences;
+    }
+
+    public void setMoveSequences(Map<String, Long> moveSequences) {
+        this.moveSequences = moveSequences;
+    }
+
+    /**
+     * Sequence of the last move applied for the player, 0 if none carried one
+     */
+    public long lastMoveSequence(String playerLogin) {
+        Long sequence = moveSequences.get(playerLogin);
+        return sequence != null ? sequence : 0;
+    }
+
+    public void recordMoveSequence(String playerLogin, long sequence) {
+        moveSequences.put(playerLogin, sequence);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public void incrementVersion() {
+        this.version++;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,100 @@
+package com.example.tictactoe.model;
+
+/**
+ * One state change of a game, numbered by the game version it produced.
+ * Moves carry just the delta needed to replay them; any other change is a STATE
+ * event that can only be caught up with a full snapshot.
+ */
+public class GameEvent {
+
+    public enum Type {
+        MOVE,
+        STATE
+    }
+
+    private long sequence;
+    private Type type;
+    private Integer squareIndex;
+    private TicToe symbol;
+    private String currentPlayerLogin;
+    private GameStatus status;
+    private TicToe winner;
+
+    public GameEvent() {
+    }
+
+    public static GameEvent move(Game game, int squareIndex, TicToe symbol) {
+        GameEvent event = new GameEvent();
+        event.sequence = game.getVersion();
+        event.type = Type.MOVE;
+        event.squareIndex = squareIndex;
+        event.symbol = symbol;
+        event.currentPlayerLogin = game.getCurrentPlayerLogin();
+        event.status = game.getStatus();
+        event.winner = game.getWinner();
+        return event;
+    }
+
+    public static GameEvent state(Game game) {
+        GameEvent event = new GameEvent();
+        event.sequence = game.getVersion();
+        event.type = Type.STATE;
+        return event;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public Integer getSquareIndex() {
+        return squareIndex;
+    }
+
+    public void setSquareIndex(Integer squareIndex) {
+        this.squareIndex = squareIndex;
+    }
+
+    public TicToe getSymbol() {
+        return symbol;
+    }
+
+    public void setSymbol(TicToe symbol) {
+        this.symbol = symbol;
+    }
+
+    public String getCurrentPlayerLogin() {
+        return currentPlayerLogin;
+    }
+
+    public void setCurrentPlayerLogin(String currentPlayerLogin) {
+        this.currentPlayerLogin = currentPlayerLogin;
+    }
+
+    public GameStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(GameStatus status) {
+        this.status = status;
+    }
+
+    public TicToe getWinner() {
+        return winner;
+    }
+
+    public void setWinner(TicToe winner) {
+        this.winner = winner;
+    }
+}
@@ -16,6 +16,11 @@ public class Move {
     @NotBlank(message = "Game ID is required")
     private String gameId;
 
+    /**
+     * Client-assigned, increasing per player and game; a resent move carries the same value
+     */
+    private Long sequence;
+
     public String getPlayerLogin() {
         return playerLogin;
     }
@@ -39,4 +44,12 @@ public class Move {
     public void setGameId(String gameId) {
         this.gameId = gameId;
     }
+
+    public Long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(Long sequence) {
+        this.sequence = sequence;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,40 @@
+package com.example.tictactoe.model;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+
+public class ResumeRequest {
+
+    @NotBlank(message = "Player login is required")
+    private String playerLogin;
+
+    @NotBlank(message = "Game ID is required")
+    private String gameId;
+
+    @Min(value = 0, message = "Last seen version cannot be negative")
+    private long lastSeenVersion;
+
+    public String getPlayerLogin() {
+        return playerLogin;
+    }
+
+    public void setPlayerLogin(String playerLogin) {
+        this.playerLogin = playerLogin;
+    }
+
+    public String getGameId() {
+        return gameId;
+    }
+
+    public void setGameId(String gameId) {
+        this.gameId = gameId;
+    }
+
+    public long getLastSeenVersion() {
+        return lastSeenVersion;
+    }
+
+    public void setLastSeenVersion(long lastSeenVersion) {
+        this.lastSeenVersion = lastSeenVersion;
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.tictactoe.model;
+
+import java.util.List;
+
+/**
+ * Answer to a resume: either the events the client missed, in order, or a full snapshot
+ * when they are no longer buffered. No events and no snapshot means the client is up to date.
+ */
+public class ResumeResponse {
+
+    private String gameId;
+    private long version;
+    private List<GameEvent> events;
+    private Game snapshot;
+
+    public ResumeResponse() {
+    }
+
+    public static ResumeResponse replay(String gameId, long version, List<GameEvent> events) {
+        ResumeResponse response = new ResumeResponse();
+        response.gameId = gameId;
+        response.version = version;
+        response.events = events;
+        return response;
+    }
+
+    public static ResumeResponse snapshot(Game game) {
+        ResumeResponse response = new ResumeResponse();
+        response.gameId = game.getGameId();
+        response.version = game.getVersion();
+        response.events = List.of();
+        response.snapshot = game;
+        return response;
+    }
+
+    public String getGameId() {
+        return gameId;
+    }
+
+    public void setGameId(String gameId) {
+        this.gameId = gameId;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public List<GameEvent> getEvents() {
+        return events;
+    }
+
+    public void setEvents(List<GameEvent> events) {
+        this.events = events;
+    }
+
+    public Game getSnapshot() {
+        return snapshot;
+    }
+
+    public void setSnapshot(Game snapshot) {
+        this.snapshot = snapshot;
+    }
+}
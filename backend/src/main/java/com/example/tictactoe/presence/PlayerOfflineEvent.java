@@ -0,0 +1,7 @@
+package com.example.tictactoe.presence;
+
+/**
+ * Published once a login has had no live session anywhere for the disconnect grace period
+ */
+public record PlayerOfflineEvent(String login) {
+}
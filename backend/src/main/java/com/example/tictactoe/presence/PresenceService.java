@@ -0,0 +1,193 @@
+package com.example.tictactoe.presence;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.messaging.SessionConnectEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Tracks which logins are connected. Each node keeps its own sessions in memory, keyed by the
+ * STOMP CONNECT "login" header, and refreshes their liveness on every inbound frame, heartbeats
+ * included. Live logins are periodically written to a Redis sorted set scored by last-seen time,
+ * so entries expire cluster-wide when a node stops refreshing them.
+ * When a login's last session closes and it is still offline after a grace period, a
+ * {@link PlayerOfflineEvent} is published.
+ */
+@Service
+public class PresenceService implements ChannelInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(PresenceService.class);
+
+    private final Map<String, SessionPresence> sessions = new ConcurrentHashMap<>();
+    private final Map<String, Integer> sessionCounts = new ConcurrentHashMap<>();
+    private final Map<String, Long> disconnectedAt = new ConcurrentHashMap<>();
+
+    private final StringRedisTemplate redisTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LongSupplier clock;
+
+    @Value("${game.presence.redis-key:tictactoe:presence}")
+    private String key = "tictactoe:presence";
+
+    @Value("${game.presence.ttl-ms:30000}")
+    private long ttlMillis = 30000;
+
+    @Value("${game.presence.disconnect-grace-ms:15000}")
+    private long disconnectGraceMillis = 15000;
+
+    @Autowired
+    public PresenceService(StringRedisTemplate redisTemplate, ApplicationEventPublisher eventPublisher) {
+        this(redisTemplate, eventPublisher, System::currentTimeMillis);
+    }
+
+    PresenceService(StringRedisTemplate redisTemplate, ApplicationEventPublisher eventPublisher, LongSupplier clock) {
+        this.redisTemplate = redisTemplate;
+        this.eventPublisher = eventPublisher;
+        this.clock = clock;
+    }
+
+    @EventListener
+    public void onSessionConnect(SessionConnectEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        String login = accessor.getLogin();
+        String sessionId = accessor.getSessionId();
+        if (login == null || login.isBlank() || sessionId == null) {
+            return;
+        }
+        sessions.put(sessionId, new SessionPresence(login, clock.getAsLong()));
+        sessionCounts.merge(login, 1, Integer::sum);
+        disconnectedAt.remove(login);
+        log.debug("{} connected with session {}", login, sessionId);
+    }
+
+    @EventListener
+    public void onSessionDisconnect(SessionDisconnectEvent event) {
+        SessionPresence presence = sessions.remove(event.getSessionId());
+        if (presence == null) {
+            return;
+        }
+        Integer remaining = sessionCounts.computeIfPresent(presence.login, (login, count) -> count > 1 ? count - 1 : null);
+        if (remaining == null) {
+            disconnectedAt.put(presence.login, clock.getAsLong());
+            log.debug("{} has no sessions left on this node", presence.login);
+        }
+    }
+
+    /**
+     * Any inbound frame, heartbeats included, proves the session is alive
+     */
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        if (sessionId != null) {
+            SessionPresence presence = sessions.get(sessionId);
+            if (presence != null) {
+                presence.lastSeen = clock.getAsLong();
+            }
+        }
+        return message;
+    }
+
+    public boolean isOnlineLocally(String login) {
+        return sessionCounts.containsKey(login);
+    }
+
+    /**
+     * Whether the login has a live session on any node
+     */
+    public boolean isOnline(String login) {
+        if (isOnlineLocally(login)) {
+            return true;
+        }
+        Double lastSeen = redisTemplate.opsForZSet().score(key, login);
+        return lastSeen != null && lastSeen >= clock.getAsLong() - ttlMillis;
+    }
+
+    public int getLocalOnlineCount() {
+        return sessionCounts.size();
+    }
+
+    public long getOnlineCount() {
+        Long count = redisTemplate.opsForZSet().count(key, clock.getAsLong() - ttlMillis, Double.POSITIVE_INFINITY);
+        return count != null ? count : 0;
+    }
+
+    /**
+     * Publishes this node's live logins to Redis and reports logins that stayed away past the grace period
+     */
+    @Scheduled(fixedRateString = "${game.presence.sync-interval-ms:10000}")
+    public void sync() {
+        long now = clock.getAsLong();
+        try {
+            publishLiveLogins(now);
+        } catch (DataAccessException e) {
+            log.warn("Failed to publish presence: {}", e.getMessage());
+        }
+        List<String> offline = new ArrayList<>();
+        disconnectedAt.forEach((login, since) -> {
+            if (now - since >= disconnectGraceMillis && disconnectedAt.remove(login, since)) {
+                offline.add(login);
+            }
+        });
+        for (String login : offline) {
+            try {
+                if (isOnline(login)) {
+                    continue;
+                }
+            } catch (DataAccessException e) {
+                log.warn("Failed to check presence of {}: {}", login, e.getMessage());
+            }
+            eventPublisher.publishEvent(new PlayerOfflineEvent(login));
+        }
+    }
+
+    private void publishLiveLogins(long now) {
+        Map<String, Long> live = new ConcurrentHashMap<>();
+        sessions.values().forEach(presence -> {
+            if (now - presence.lastSeen < ttlMillis) {
+                live.merge(presence.login, presence.lastSeen, Math::max);
+            }
+        });
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, String> stringOperations = (RedisOperations<String, String>) operations;
+                live.forEach((login, lastSeen) -> stringOperations.opsForZSet().add(key, login, lastSeen));
+                stringOperations.opsForZSet().removeRangeByScore(key, 0, now - ttlMillis);
+                return null;
+            }
+        });
+    }
+
+    private static final class SessionPresence {
+        private final String login;
+        private volatile long lastSeen;
+
+        private SessionPresence(String login, long lastSeen) {
+            this.login = login;
+            this.lastSeen = lastSeen;
+        }
+    }
+}
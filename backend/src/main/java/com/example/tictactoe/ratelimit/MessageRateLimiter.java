@@ -0,0 +1,111 @@
+package com.example.tictactoe.ratelimit;
+
+import com.example.tictactoe.exception.RateLimitExceededException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free token buckets per session and per login, one bucket per {@link RateLimitedCommand}.
+ * Each bucket is a single long holding its theoretical arrival time (GCRA), so an
+ * acquire is one map lookup and one compare-and-set.
+ */
+@Component
+public class MessageRateLimiter {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final int COMMAND_COUNT = RateLimitedCommand.values().length;
+
+    private final Map<String, AtomicLongArray> sessionBuckets = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLongArray> loginBuckets = new ConcurrentHashMap<>();
+
+    private final boolean enabled;
+    private final long[] emissionIntervals = new long[COMMAND_COUNT];
+    private final long[] burstTolerances = new long[COMMAND_COUNT];
+    private final LongSupplier clock;
+    private final long origin;
+
+    @Autowired
+    public MessageRateLimiter(RateLimitProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    MessageRateLimiter(RateLimitProperties properties, LongSupplier clock) {
+        this.enabled = properties.isEnabled();
+        for (RateLimitedCommand command : RateLimitedCommand.values()) {
+            RateLimitProperties.Budget budget = properties.getBudget(command);
+            long interval = (long) (NANOS_PER_SECOND / budget.getRefillPerSecond());
+            emissionIntervals[command.ordinal()] = interval;
+            burstTolerances[command.ordinal()] = interval * (Math.max(budget.getCapacity(), 1) - 1);
+        }
+        this.clock = clock;
+        this.origin = clock.getAsLong();
+    }
+
+    public void acquire(RateLimitedCommand command, String sessionId, String login) throws RateLimitExceededException {
+        if (!enabled) {
+            return;
+        }
+        long now = clock.getAsLong() - origin;
+        if (sessionId != null && !tryAcquire(buckets(sessionBuckets, sessionId), command.ordinal(), now)) {
+            throw new RateLimitExceededException("Too many " + command.getBudgetName() + " requests from this connection, slow down");
+        }
+        if (login != null && !tryAcquire(buckets(loginBuckets, login), command.ordinal(), now)) {
+            throw new RateLimitExceededException("Too many " + command.getBudgetName() + " requests for " + login + ", slow down");
+        }
+    }
+
+    private boolean tryAcquire(AtomicLongArray buckets, int slot, long now) {
+        long interval = emissionIntervals[slot];
+        long tolerance = burstTolerances[slot];
+        while (true) {
+            long arrival = buckets.get(slot);
+            long start = Math.max(arrival, now);
+            if (start - now > tolerance) {
+                return false;
+            }
+            if (buckets.compareAndSet(slot, arrival, start + interval)) {
+                return true;
+            }
+        }
+    }
+
+    private static AtomicLongArray buckets(Map<String, AtomicLongArray> map, String key) {
+        AtomicLongArray buckets = map.get(key);
+        return buckets != null ? buckets : map.computeIfAbsent(key, k -> new AtomicLongArray(COMMAND_COUNT));
+    }
+
+    @EventListener
+    public void onSessionDisconnect(SessionDisconnectEvent event) {
+        sessionBuckets.remove(event.getSessionId());
+    }
+
+    /**
+     * Drop login buckets that have fully refilled; they behave exactly like fresh ones
+     */
+    @Scheduled(fixedRate = 60000)
+    public void evictIdleBuckets() {
+        long now = clock.getAsLong() - origin;
+        loginBuckets.values().removeIf(buckets -> isIdle(buckets, now));
+    }
+
+    private static boolean isIdle(AtomicLongArray buckets, long now) {
+        for (int i = 0; i < buckets.length(); i++) {
+            if (buckets.get(i) > now) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    int getTrackedLoginCount() {
+        return loginBuckets.size();
+    }
+}
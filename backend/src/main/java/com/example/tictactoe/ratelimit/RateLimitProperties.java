@@ -0,0 +1,76 @@
+package com.example.tictactoe.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Token bucket budgets per STOMP command, bound from game.rate-limit.*
+ */
+@Component
+@ConfigurationProperties(prefix = "game.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+    private Budget defaultBudget = new Budget(10, 5);
+    private Map<String, Budget> budgets = new HashMap<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Budget getDefaultBudget() {
+        return defaultBudget;
+    }
+
+    public void setDefaultBudget(Budget defaultBudget) {
+        this.defaultBudget = defaultBudget;
+    }
+
+    public Map<String, Budget> getBudgets() {
+        return budgets;
+    }
+
+    public void setBudgets(Map<String, Budget> budgets) {
+        this.budgets = budgets;
+    }
+
+    public Budget getBudget(RateLimitedCommand command) {
+        return budgets.getOrDefault(command.getBudgetName(), defaultBudget);
+    }
+
+    public static class Budget {
+        private int capacity;
+        private double refillPerSecond;
+
+        public Budget() {
+        }
+
+        public Budget(int capacity, double refillPerSecond) {
+            this.capacity = capacity;
+            this.refillPerSecond = refillPerSecond;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+
+        public double getRefillPerSecond() {
+            return refillPerSecond;
+        }
+
+        public void setRefillPerSecond(double refillPerSecond) {
+            this.refillPerSecond = refillPerSecond;
+        }
+    }
+}
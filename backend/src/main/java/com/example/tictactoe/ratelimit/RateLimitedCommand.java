@@ -0,0 +1,31 @@
+package com.example.tictactoe.ratelimit;
+
+/**
+ * STOMP commands guarded by the rate limiter, each with its own budget
+ */
+public enum RateLimitedCommand {
+    START("start"),
+    CONNECT("connect"),
+    JOIN_RESPONSE("join-response"),
+    GAMEPLAY("gameplay"),
+    SURRENDER("surrender"),
+    SURRENDER_RESPONSE("surrender-response"),
+    REMATCH("rematch"),
+    REMATCH_RESPONSE("rematch-response"),
+    RESUME("resume"),
+    SPECTATE("spectate"),
+    LOBBY("lobby");
+
+    private final String budgetName;
+
+    RateLimitedCommand(String budgetName) {
+        this.budgetName = budgetName;
+    }
+
+    /**
+     * Key under game.rate-limit.budgets in the configuration
+     */
+    public String getBudgetName() {
+        return budgetName;
+    }
+}
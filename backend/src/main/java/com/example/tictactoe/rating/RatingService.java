@@ -0,0 +1,96 @@
+package com.example.tictactoe.rating;
+
+import com.example.tictactoe.event.GameLifecycleEvent;
+import com.example.tictactoe.leaderboard.LeaderboardService;
+import com.example.tictactoe.model.Game;
+import com.example.tictactoe.model.TicToe;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Elo ratings in a single Redis hash, login -> offset from the initial rating.
+ * Storing the offset lets a missing field mean "unrated" and lets updates be applied with
+ * HINCRBY, so a finished game costs one HMGET and two HINCRBY whatever the player count.
+ */
+@Service
+public class RatingService {
+
+    private static final Logger log = LoggerFactory.getLogger(RatingService.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final LeaderboardService leaderboardService;
+
+    @Value("${game.rating.redis-key:tictactoe:ratings}")
+    private String key = "tictactoe:ratings";
+
+    @Value("${game.rating.initial:1200}")
+    private int initialRating = 1200;
+
+    @Value("${game.rating.k-factor:32}")
+    private int kFactor = 32;
+
+    public RatingService(StringRedisTemplate redisTemplate, LeaderboardService leaderboardService) {
+        this.redisTemplate = redisTemplate;
+        this.leaderboardService = leaderboardService;
+    }
+
+    public int getRating(String login) {
+        return initialRating + parseOffset(hash().get(key, login));
+    }
+
+    @EventListener
+    public void onGameLifecycle(GameLifecycleEvent event) {
+        Game game = event.game();
+        if (event.type() != GameLifecycleEvent.Type.FINISHED || game.getPlayer2() == null) {
+            return;
+        }
+        double player1Score = game.getWinner() == null ? 0.5 : game.getWinner() == TicToe.X ? 1 : 0;
+        try {
+            recordResult(game.getPlayer1().getLogin(), game.getPlayer2().getLogin(), player1Score);
+        } catch (Exception e) {
+            // The game itself is already saved; a missed rating update must not fail the move
+            log.error("Failed to update ratings for game {}: {}", game.getGameId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Applies one result; score is 1 if the first player won, 0.5 for a draw, 0 if they lost
+     */
+    public void recordResult(String login, String opponentLogin, double score) {
+        if (login.equals(opponentLogin)) {
+            return;
+        }
+        List<Object> offsets = hash().multiGet(key, List.of(login, opponentLogin));
+        int rating = initialRating + parseOffset(offsets.get(0));
+        int opponentRating = initialRating + parseOffset(offsets.get(1));
+        int delta = ratingDelta(rating, opponentRating, score);
+        if (delta != 0) {
+            hash().increment(key, login, delta);
+            hash().increment(key, opponentLogin, -delta);
+        }
+        leaderboardService.recordRatings(Map.of(login, rating + delta, opponentLogin, opponentRating - delta),
+                Map.of(login, (long) delta, opponentLogin, (long) -delta));
+        log.debug("Rated {} ({}) vs {} ({}): {}", login, rating, opponentLogin, opponentRating, delta);
+    }
+
+    int ratingDelta(int rating, int opponentRating, double score) {
+        double expected = 1 / (1 + Math.pow(10, (opponentRating - rating) / 400.0));
+        return (int) Math.round(kFactor * (score - expected));
+    }
+
+    private HashOperations<String, Object, Object> hash() {
+        return redisTemplate.opsForHash();
+    }
+
+    private static int parseOffset(Object value) {
+        return value != null ? Integer.parseInt(value.toString()) : 0;
+    }
+}
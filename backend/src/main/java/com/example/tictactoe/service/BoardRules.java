@@ -0,0 +1,40 @@
+package com.example.tictactoe.service;
+
+import com.example.tictactoe.model.TicToe;
+
+/**
+ * Outcome checks on a 3x3 board stored row by row, empty cells being null
+ */
+final class BoardRules {
+
+    // Winning combination
+    private static final int[][] WIN_COMBINATIONS = {
+            {0, 1, 2}, {3, 4, 5}, {6, 7, 8}, // Rows
+            {0, 3, 6}, {1, 4, 7}, {2, 5, 8}, // Columns
+            {0, 4, 8}, {2, 4, 6}  // Diagonals
+    };
+
+    private BoardRules() {
+    }
+
+    static boolean isBoardFull(String[] board) {
+        for (String s : board) {
+            if (s == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static boolean checkWinner(String[] board, TicToe ticToe) {
+        String symbol = ticToe.toString();
+        for (int[] combination : WIN_COMBINATIONS) {
+            if (symbol.equals(board[combination[0]]) &&
+                symbol.equals(board[combination[1]]) &&
+                symbol.equals(board[combination[2]])) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
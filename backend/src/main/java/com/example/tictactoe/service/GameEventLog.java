@@ -0,0 +1,89 @@
+package com.example.tictactoe.service;
+
+import com.example.tictactoe.model.GameEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded ring buffer of the latest events of each game, kept in memory on this node
+ * (like the simple broker that delivered them) so reconnecting clients can catch up.
+ */
+@Component
+public class GameEventLog {
+
+    private final Map<String, EventRing> rings = new ConcurrentHashMap<>();
+    private final int bufferSize;
+
+    @Value("${game.events.retention-minutes:60}")
+    private long retentionMinutes;
+
+    public GameEventLog(@Value("${game.events.buffer-size:32}") int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public void append(String gameId, GameEvent event) {
+        rings.computeIfAbsent(gameId, id -> new EventRing(bufferSize)).append(event);
+    }
+
+    /**
+     * Events after the given sequence, oldest first, or null when the buffer no longer holds all of them
+     */
+    public List<GameEvent> eventsSince(String gameId, long sequence) {
+        EventRing ring = rings.get(gameId);
+        return ring != null ? ring.since(sequence) : null;
+    }
+
+    public void remove(String gameId) {
+        rings.remove(gameId);
+    }
+
+    @Scheduled(fixedRate = 300000)
+    public void evictIdleGames() {
+        long cutoff = System.currentTimeMillis() - retentionMinutes * 60_000;
+        rings.values().removeIf(ring -> ring.lastAppendMillis < cutoff);
+    }
+
+    int getGameCount() {
+        return rings.size();
+    }
+
+    private static final class EventRing {
+        private final GameEvent[] slots;
+        private long latest = -1;
+        private volatile long lastAppendMillis = System.currentTimeMillis();
+
+        private EventRing(int capacity) {
+            this.slots = new GameEvent[capacity];
+        }
+
+        private synchronized void append(GameEvent event) {
+            slots[(int) (event.getSequence() % slots.length)] = event;
+            latest = Math.max(latest, event.getSequence());
+            lastAppendMillis = System.currentTimeMillis();
+        }
+
+        private synchronized List<GameEvent> since(long sequence) {
+            if (sequence >= latest) {
+                return latest >= 0 && sequence == latest ? List.of() : null;
+            }
+            if (latest - sequence > slots.length) {
+                return null;
+            }
+            List<GameEvent> events = new ArrayList<>((int) (latest - sequence));
+            for (long next = sequence + 1; next <= latest; next++) {
+                GameEvent event = slots[(int) (next % slots.length)];
+                if (event == null || event.getSequence() != next) {
+                    return null;
+                }
+                events.add(event);
+            }
+            return events;
+        }
+    }
+}
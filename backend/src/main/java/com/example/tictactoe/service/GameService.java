@@ -1,104 +1,253 @@
 package com.example.tictactoe.service;
 
+import com.example.tictactoe.event.GameLifecycleEvent;
 import com.example.tictactoe.exception.InvalidGameException;
 import com.example.tictactoe.exception.InvalidParamException;
+import com.example.tictactoe.id.GameIdGenerator;
+import com.example.tictactoe.jfr.GameCreatedEvent;
+import com.example.tictactoe.jfr.GameFinishedEvent;
+import com.example.tictactoe.jfr.MoveAppliedEvent;
+import com.example.tictactoe.matchmaking.MatchmakingService;
 import com.example.tictactoe.model.Game;
+import com.example.tictactoe.model.GameEvent;
 import com.example.tictactoe.model.GameStatus;
 import com.example.tictactoe.model.Player;
+import com.example.tictactoe.model.ResumeResponse;
 import com.example.tictactoe.model.TicToe;
+import com.example.tictactoe.presence.PlayerOfflineEvent;
 import com.example.tictactoe.storage.GameStorage;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.beans.factory.annotation.Value;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
 import java.time.Instant;
-import java.util.UUID;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 @Service
 public class GameService {
 
+    /** Observation of every player-facing operation: a span per call and a timer tagged with the method and any error */
+    public static final String OPERATIONS_OBSERVATION = "tictactoe.game.operations";
+
+    /** Observation of the CPU-only stages of a move, tagged with the stage */
+    public static final String STAGE_OBSERVATION = "tictactoe.game.stages";
+
+    private static final Logger log = LoggerFactory.getLogger(GameService.class);
+
+    private static final int GAME_LOCK_STRIPES = 256;
+
+    // Version-checked writes of one command that lost to another node before it is given up
+    private static final int MAX_UPDATE_ATTEMPTS = 8;
+
     private final GameStorage gameStorage;
+    private final GameEventLog eventLog;
+    private final MatchmakingService matchmakingService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final GameIdGenerator idGenerator;
+    private final ObservationRegistry observationRegistry;
+
+    // Move sequences being applied right now, keyed by game and player, so concurrent retries are not applied twice
+    private final Map<String, Long> inFlightSequences = new ConcurrentHashMap<>();
+
+    // Lobbies created on this node that nobody has joined yet, by creator login
+    private final Map<String, Set<String>> lobbiesByCreator = new ConcurrentHashMap<>();
+
+    // Serialise read-modify-write of a game on this node, striped by game ID so the lock count stays fixed
+    private final Lock[] gameLocks = new Lock[GAME_LOCK_STRIPES];
     
     @Value("${game.new-game-max-age-minutes:10}")
     private int newGameMaxAgeMinutes;
 
-    public GameService(GameStorage gameStorage) {
+    public GameService(GameStorage gameStorage, GameEventLog eventLog, MatchmakingService matchmakingService,
+                       ApplicationEventPublisher eventPublisher, GameIdGenerator idGenerator,
+                       ObservationRegistry observationRegistry) {
         this.gameStorage = gameStorage;
+        this.eventLog = eventLog;
+        this.matchmakingService = matchmakingService;
+        this.eventPublisher = eventPublisher;
+        this.idGenerator = idGenerator;
+        this.observationRegistry = observationRegistry;
+        for (int i = 0; i < gameLocks.length; i++) {
+            gameLocks[i] = new ReentrantLock();
+        }
     }
 
+    @Observed(name = OPERATIONS_OBSERVATION)
     public Game createGame(Player player) {
+        // JFR events are begun up front and only filled in when a recording wants them
+        GameCreatedEvent jfrEvent = new GameCreatedEvent();
+        jfrEvent.begin();
         Game game = new Game();
         game.setBoard(new String[9]);
-        game.setGameId(UUID.randomUUID().toString());
+        game.setGameId(idGenerator.nextId());
         game.setPlayer1(player);
         game.setStatus(GameStatus.NEW);
-        gameStorage.setGame(game);
+        saveNewGame(game);
+        lobbiesByCreator.computeIfAbsent(player.getLogin(), login -> ConcurrentHashMap.newKeySet()).add(game.getGameId());
+        matchmakingService.enqueue(game);
+        publish(GameLifecycleEvent.Type.CREATED, game);
+        if (jfrEvent.shouldCommit()) {
+            jfrEvent.gameId = game.getGameId();
+            jfrEvent.creatorLogin = player.getLogin();
+            jfrEvent.commit();
+        }
         return game;
     }
 
-    public Game connectToGame(Player player2, String gameId) throws InvalidParamException, InvalidGameException {
-        if (!gameStorage.getGames().containsKey(gameId)) {
-            throw new InvalidParamException("Game with provided ID does not exist");
-        }
-        Game game = gameStorage.getGames().get(gameId);
-        if (game.getPlayer2() != null) {
-            throw new InvalidGameException("Game is already full");
+    /**
+     * Removes the lobbies of a creator who went offline before anyone joined them.
+     * Only lobbies tracked by this node are looked at, so storage is never scanned.
+     */
+    @EventListener
+    public void onPlayerOffline(PlayerOfflineEvent event) {
+        Set<String> gameIds = lobbiesByCreator.remove(event.login());
+        if (gameIds == null) {
+            return;
         }
-        if (game.getPendingJoinPlayer() != null) {
-            throw new InvalidGameException("There is already a pending join request");
+        for (String gameId : gameIds) {
+            Game game;
+            Lock lock = lockFor(gameId);
+            lock.lock();
+            try {
+                game = gameStorage.getGame(gameId);
+                if (game == null || game.getStatus() != GameStatus.NEW) {
+                    continue;
+                }
+                gameStorage.removeGame(gameId);
+                eventLog.remove(gameId);
+            } finally {
+                lock.unlock();
+            }
+            log.info("Expired game {} after its creator {} disconnected", gameId, event.login());
+            publish(GameLifecycleEvent.Type.EXPIRED, game);
         }
-        // Set pending join player instead of directly adding player2
-        game.setPendingJoinPlayer(player2);
-        game.updateLastActivity();
-        gameStorage.setGame(game);
-        return game;
     }
 
+    @Observed(name = OPERATIONS_OBSERVATION)
+    public Game connectToGame(Player player2, String gameId) throws InvalidParamException, InvalidGameException {
+        return withGameLock(gameId, events -> {
+            Game game = getGameById(gameId);
+            if (game.getPlayer2() != null) {
+                throw new InvalidGameException("Game is already full");
+            }
+            if (game.getPendingJoinPlayer() != null) {
+                throw new InvalidGameException("There is already a pending join request");
+            }
+            // Set pending join player instead of directly adding player2
+            game.setPendingJoinPlayer(player2);
+            game.updateLastActivity();
+            saveGame(game);
+            return game;
+        });
+    }
+
+    @Observed(name = OPERATIONS_OBSERVATION)
     public Game connectToRandomGame(Player player2) throws InvalidGameException {
-        Game game = gameStorage.getGames().values().stream()
-                .filter(it -> it.getStatus().equals(GameStatus.NEW))
-                .filter(it -> !isGameTooOld(it))
-                .filter(it -> it.getPendingJoinPlayer() == null)
-                .findFirst().orElse(null);
+        while (true) {
+            Game claimed = matchmakingService.claim(player2, it -> it.getStatus().equals(GameStatus.NEW)
+                    && !isGameTooOld(it)
+                    && it.getPendingJoinPlayer() == null);
 
-        if (game == null) {
-            return createGame(player2);
+            if (claimed == null) {
+                return createGame(player2);
+            }
+
+            Lock lock = lockFor(claimed.getGameId());
+            lock.lock();
+            try {
+                // The ticket was checked before the lock; a lobby joined by id since then is spent, so try the next one
+                Game game = gameStorage.getGame(claimed.getGameId());
+                if (game == null || game.getVersion() != claimed.getVersion()) {
+                    continue;
+                }
+                // Set pending join player instead of directly adding player2
+                game.setPendingJoinPlayer(player2);
+                game.updateLastActivity();
+                saveGame(game);
+                return game;
+            } catch (VersionConflictException e) {
+                // Changed on another node between the read and the write, so spent as well
+                continue;
+            } finally {
+                lock.unlock();
+            }
         }
-        
-        // Set pending join player instead of directly adding player2
-        game.setPendingJoinPlayer(player2);
-        game.updateLastActivity();
-        gameStorage.setGame(game);
-        return game;
     }
+
+    /**
+     * Applies a move. A move whose sequence was already applied (or is being applied) for
+     * that player is a retry: it returns the current game without touching the board or storage.
+     */
+    @Observed(name = OPERATIONS_OBSERVATION)
     public Game gameplay(com.example.tictactoe.model.Move move, String gameId) throws InvalidParamException, InvalidGameException {
-        if (!gameStorage.getGames().containsKey(gameId)) {
-            throw new InvalidParamException("Game with provided ID does not exist");
+        Long sequence = move.getSequence();
+        if (sequence == null) {
+            return withGameLock(gameId, events -> applyMove(getGameById(gameId), move, events));
         }
 
-        Game game = gameStorage.getGames().get(gameId);
-        if (game.getStatus().equals(GameStatus.FINISHED)) {
-            throw new InvalidGameException("Game is already finished");
+        String claimKey = gameId + '\n' + move.getPlayerLogin();
+        if (!claimSequence(claimKey, sequence)) {
+            return getGameById(gameId);
         }
-
-        if (!game.getCurrentPlayerLogin().equals(move.getPlayerLogin())) {
-            throw new InvalidGameException("It's not your turn");
+        try {
+            return withGameLock(gameId, events -> {
+                Game game = getGameById(gameId);
+                if (sequence <= game.lastMoveSequence(move.getPlayerLogin())) {
+                    return game;
+                }
+                return applyMove(game, move, events);
+            });
+        } finally {
+            inFlightSequences.remove(claimKey, sequence);
         }
+    }
 
-        String[] board = game.getBoard();
-        if (board[move.getSquareIndex()] != null) {
-            throw new InvalidGameException("Square is not empty");
+    private boolean claimSequence(String claimKey, long sequence) {
+        while (true) {
+            Long claimed = inFlightSequences.putIfAbsent(claimKey, sequence);
+            if (claimed == null) {
+                return true;
+            }
+            if (claimed >= sequence) {
+                return false;
+            }
+            if (inFlightSequences.replace(claimKey, claimed, sequence)) {
+                return true;
+            }
         }
+    }
 
+    private Game applyMove(Game game, com.example.tictactoe.model.Move move, List<GameLifecycleEvent> events)
+            throws InvalidGameException {
+        MoveAppliedEvent jfrEvent = new MoveAppliedEvent();
+        jfrEvent.begin();
+        stage("validate").observeChecked(() -> validateMove(game, move));
+
+        String[] board = game.getBoard();
         TicToe playerSymbol = game.getPlayer1().getLogin().equals(move.getPlayerLogin()) ? TicToe.X : TicToe.O;
         board[move.getSquareIndex()] = playerSymbol.toString();
 
-        if (checkWinner(board, playerSymbol)) {
-            game.setWinner(playerSymbol);
-            game.setStatus(GameStatus.FINISHED);
-        } else if (isBoardFull(board)) {
-            game.setStatus(GameStatus.FINISHED);
-        }
+        stage("check-winner").observe(() -> {
+            if (BoardRules.checkWinner(board, playerSymbol)) {
+                game.setWinner(playerSymbol);
+                game.setStatus(GameStatus.FINISHED);
+            } else if (BoardRules.isBoardFull(board)) {
+                game.setStatus(GameStatus.FINISHED);
+            }
+        });
 
         // Switch player
         if (game.getStatus() != GameStatus.FINISHED) {
@@ -106,109 +255,268 @@ public class GameService {
             game.setCurrentPlayerLogin(nextPlayerLogin);
         }
 
+        if (move.getSequence() != null) {
+            game.recordMoveSequence(move.getPlayerLogin(), move.getSequence());
+        }
         game.updateLastActivity();
-        gameStorage.setGame(game);
+        game.incrementVersion();
+        replaceGame(game);
+        eventLog.append(game.getGameId(), GameEvent.move(game, move.getSquareIndex(), playerSymbol));
+        if (game.getStatus() == GameStatus.FINISHED) {
+            events.add(new GameLifecycleEvent(GameLifecycleEvent.Type.FINISHED, game));
+        }
+        if (jfrEvent.shouldCommit()) {
+            jfrEvent.gameId = game.getGameId();
+            jfrEvent.playerLogin = move.getPlayerLogin();
+            jfrEvent.squareIndex = move.getSquareIndex();
+            jfrEvent.version = game.getVersion();
+            jfrEvent.finishedGame = game.getStatus() == GameStatus.FINISHED;
+            jfrEvent.commit();
+        }
         return game;
     }
 
-    private boolean isBoardFull(String[] board) {
-        for (String s : board) {
-            if (s == null) {
-                return false;
-            }
+    private void validateMove(Game game, com.example.tictactoe.model.Move move) throws InvalidGameException {
+        if (game.getStatus().equals(GameStatus.FINISHED)) {
+            throw new InvalidGameException("Game is already finished");
         }
-        return true;
-    }
 
-    private boolean checkWinner(String[] board, TicToe ticToe) {
-        // Winning combination
-        int[][] winCombinations = {
-                {0, 1, 2}, {3, 4, 5}, {6, 7, 8}, // Rows
-                {0, 3, 6}, {1, 4, 7}, {2, 5, 8}, // Columns
-                {0, 4, 8}, {2, 4, 6}  // Diagonals
-        };
-
-        String symbol = ticToe.toString();
-        for (int[] combination : winCombinations) {
-            if (board[combination[0]] != null && board[combination[0]].equals(symbol) &&
-                board[combination[1]] != null && board[combination[1]].equals(symbol) &&
-                board[combination[2]] != null && board[combination[2]].equals(symbol)) {
-                return true;
-            }
+        if (!game.getCurrentPlayerLogin().equals(move.getPlayerLogin())) {
+            throw new InvalidGameException("It's not your turn");
+        }
+
+        if (game.getBoard()[move.getSquareIndex()] != null) {
+            throw new InvalidGameException("Square is not empty");
         }
-        return false;
     }
 
+    /**
+     * A step inside an operation that has no storage or broker call of its own to show up as a span
+     */
+    private Observation stage(String name) {
+        return Observation.createNotStarted(STAGE_OBSERVATION, observationRegistry)
+                .contextualName(name)
+                .lowCardinalityKeyValue("stage", name);
+    }
+
+    @Observed(name = OPERATIONS_OBSERVATION)
     public Game requestSurrender(String gameId, String playerLogin) throws InvalidParamException, InvalidGameException {
-        Game game = getGameById(gameId);
-        if (game.getStatus() != GameStatus.IN_PROGRESS) {
-            throw new InvalidGameException("Game is not in progress");
-        }
-        game.setSurrenderRequesterLogin(playerLogin);
-        gameStorage.setGame(game);
-        return game;
+        return withGameLock(gameId, events -> {
+            Game game = getGameById(gameId);
+            if (game.getStatus() != GameStatus.IN_PROGRESS) {
+                throw new InvalidGameException("Game is not in progress");
+            }
+            game.setSurrenderRequesterLogin(playerLogin);
+            saveGame(game);
+            return game;
+        });
     }
 
+    @Observed(name = OPERATIONS_OBSERVATION)
     public Game respondToSurrender(String gameId, String responderLogin, boolean accepted) throws InvalidParamException, InvalidGameException {
-        Game game = getGameById(gameId);
-        if (game.getSurrenderRequesterLogin() == null || game.getSurrenderRequesterLogin().equals(responderLogin)) {
-            throw new InvalidGameException("No surrender request to respond to");
-        }
+        return withGameLock(gameId, events -> {
+            Game game = getGameById(gameId);
+            if (game.getSurrenderRequesterLogin() == null || game.getSurrenderRequesterLogin().equals(responderLogin)) {
+                throw new InvalidGameException("No surrender request to respond to");
+            }
+            if (game.getStatus() != GameStatus.IN_PROGRESS) {
+                throw new InvalidGameException("Game is not in progress");
+            }
 
-        if (accepted) {
-            game.setStatus(GameStatus.FINISHED);
-            TicToe winnerSymbol = game.getPlayer1().getLogin().equals(responderLogin) ? TicToe.X : TicToe.O;
-            game.setWinner(winnerSymbol);
-        }
+            if (accepted) {
+                game.setStatus(GameStatus.FINISHED);
+                TicToe winnerSymbol = game.getPlayer1().getLogin().equals(responderLogin) ? TicToe.X : TicToe.O;
+                game.setWinner(winnerSymbol);
+            }
 
-        // Reset surrender request after response
-        game.setSurrenderRequesterLogin(null);
-        gameStorage.setGame(game);
-        return game;
+            // Reset surrender request after response
+            game.setSurrenderRequesterLogin(null);
+            saveGame(game);
+            if (accepted) {
+                events.add(new GameLifecycleEvent(GameLifecycleEvent.Type.FINISHED, game));
+            }
+            return game;
+        });
     }
 
+    @Observed(name = OPERATIONS_OBSERVATION)
     public Game respondToJoinRequest(String gameId, String responderLogin, String requesterLogin, boolean accepted) throws InvalidParamException, InvalidGameException {
-        Game game = getGameById(gameId);
+        return withGameLock(gameId, events -> {
+            Game game = getGameById(gameId);
         
-        if (game.getPendingJoinPlayer() == null) {
-            throw new InvalidGameException("No pending join request");
-        }
+            if (game.getPendingJoinPlayer() == null) {
+                throw new InvalidGameException("No pending join request");
+            }
         
-        if (!game.getPlayer1().getLogin().equals(responderLogin)) {
-            throw new InvalidGameException("Only the game creator can respond to join requests");
-        }
+            if (!game.getPlayer1().getLogin().equals(responderLogin)) {
+                throw new InvalidGameException("Only the game creator can respond to join requests");
+            }
         
-        if (!game.getPendingJoinPlayer().getLogin().equals(requesterLogin)) {
-            throw new InvalidGameException("Invalid requester");
-        }
+            if (!game.getPendingJoinPlayer().getLogin().equals(requesterLogin)) {
+                throw new InvalidGameException("Invalid requester");
+            }
 
-        if (accepted) {
-            // Accept the join request - add player2 and start the game
-            game.setPlayer2(game.getPendingJoinPlayer());
-            game.setCurrentPlayerLogin(game.getPlayer1().getLogin());
-            game.setStatus(GameStatus.IN_PROGRESS);
-        }
+            if (accepted) {
+                // Accept the join request - add player2 and start the game
+                game.setPlayer2(game.getPendingJoinPlayer());
+                game.setCurrentPlayerLogin(game.getPlayer1().getLogin());
+                game.setStatus(GameStatus.IN_PROGRESS);
+            }
         
-        // Clear the pending join player whether accepted or rejected
-        game.setPendingJoinPlayer(null);
-        game.updateLastActivity();
+            // Clear the pending join player whether accepted or rejected
+            game.setPendingJoinPlayer(null);
+            game.updateLastActivity();
+            saveGame(game);
+            if (accepted) {
+                forgetLobby(game);
+                events.add(new GameLifecycleEvent(GameLifecycleEvent.Type.STARTED, game));
+            } else {
+                // Open the lobby to random joiners again
+                matchmakingService.enqueue(game);
+            }
+            return game;
+        });
+    }
+
+    /**
+     * Replays the events a reconnecting client missed since the version it last saw.
+     * Falls back to a snapshot when they are no longer buffered or cannot be replayed as deltas.
+     */
+    @Observed(name = OPERATIONS_OBSERVATION)
+    public ResumeResponse resume(String gameId, long lastSeenVersion) throws InvalidParamException {
+        List<GameEvent> missed = eventLog.eventsSince(gameId, lastSeenVersion);
+        if (missed != null && missed.stream().allMatch(event -> event.getType() == GameEvent.Type.MOVE)) {
+            long version = missed.isEmpty() ? lastSeenVersion : missed.get(missed.size() - 1).getSequence();
+            return ResumeResponse.replay(gameId, version, missed);
+        }
+        return ResumeResponse.snapshot(getGameById(gameId));
+    }
+
+    /**
+     * Stores a state change other than a move; clients catch up on it with a snapshot
+     */
+    private void saveGame(Game game) {
+        game.incrementVersion();
+        replaceGame(game);
+        eventLog.append(game.getGameId(), GameEvent.state(game));
+    }
+
+    private void saveNewGame(Game game) {
+        game.incrementVersion();
         gameStorage.setGame(game);
-        return game;
+        eventLog.append(game.getGameId(), GameEvent.state(game));
+    }
+
+    /**
+     * Writes a game read earlier in this command, unless another node has written it since
+     */
+    private void replaceGame(Game game) {
+        if (!gameStorage.replaceGame(game, game.getVersion() - 1)) {
+            throw VersionConflictException.INSTANCE;
+        }
+    }
+
+    private void forgetLobby(Game game) {
+        lobbiesByCreator.computeIfPresent(game.getPlayer1().getLogin(), (login, gameIds) -> {
+            gameIds.remove(game.getGameId());
+            return gameIds.isEmpty() ? null : gameIds;
+        });
+    }
+
+    private void publish(GameLifecycleEvent.Type type, Game game) {
+        publish(new GameLifecycleEvent(type, game));
+    }
+
+    private void publish(GameLifecycleEvent event) {
+        if (event.type() == GameLifecycleEvent.Type.FINISHED) {
+            recordFinished(event.game());
+        }
+        eventPublisher.publishEvent(event);
+    }
+
+    private static void recordFinished(Game game) {
+        GameFinishedEvent jfrEvent = new GameFinishedEvent();
+        if (jfrEvent.shouldCommit()) {
+            jfrEvent.gameId = game.getGameId();
+            jfrEvent.winner = game.getWinner() != null ? game.getWinner().toString() : "";
+            jfrEvent.gameLength = game.getCreatedAt() != null
+                    ? Duration.between(game.getCreatedAt(), Instant.now()).toMillis() : 0;
+            jfrEvent.commit();
+        }
+    }
+
+    public Game getGame(String gameId) throws InvalidParamException {
+        return getGameById(gameId);
+    }
+
+    /**
+     * Runs a read-modify-write of one game while no other command for it runs on this node.
+     * Commands on other nodes are caught by the version-checked write, and the update is run again
+     * on a fresh read. Lifecycle events are published once the lock is released, so listeners that
+     * call Redis do not hold up other games on the same stripe.
+     */
+    private <T> T withGameLock(String gameId, GameUpdate<T> update) throws InvalidParamException, InvalidGameException {
+        Lock lock = lockFor(gameId);
+        for (int attempt = 1; ; attempt++) {
+            List<GameLifecycleEvent> events = new ArrayList<>();
+            T result;
+            lock.lock();
+            try {
+                result = update.apply(events);
+            } catch (VersionConflictException e) {
+                if (attempt == MAX_UPDATE_ATTEMPTS) {
+                    throw new InvalidGameException("Game is being changed by another request, try again");
+                }
+                log.debug("Game {} changed on another node, retrying (attempt {})", gameId, attempt);
+                continue;
+            } finally {
+                lock.unlock();
+            }
+            for (GameLifecycleEvent event : events) {
+                publish(event);
+            }
+            return result;
+        }
+    }
+
+    private Lock lockFor(String gameId) {
+        return gameLocks[Math.floorMod(gameId.hashCode(), GAME_LOCK_STRIPES)];
+    }
+
+    @FunctionalInterface
+    private interface GameUpdate<T> {
+        T apply(List<GameLifecycleEvent> events) throws InvalidParamException, InvalidGameException;
+    }
+
+    /**
+     * The game was written by someone else between read and write; carries no stack trace since it is only retried
+     */
+    private static final class VersionConflictException extends RuntimeException {
+
+        private static final VersionConflictException INSTANCE = new VersionConflictException();
+
+        private VersionConflictException() {
+            super(null, null, false, false);
+        }
     }
 
     private Game getGameById(String gameId) throws InvalidParamException {
-        if (!gameStorage.getGames().containsKey(gameId)) {
+        Game game = gameStorage.getGame(gameId);
+        if (game == null) {
             throw new InvalidParamException("Game with provided ID does not exist");
         }
-        return gameStorage.getGames().get(gameId);
+        return game;
     }
 
-    public java.util.List<Game> getAvailableGames() {
-        return gameStorage.getGames().values().stream()
-                .filter(game -> game.getStatus().equals(GameStatus.NEW))
+    /**
+     * The given lobbies' games that are still open, in the given order. Only those games are read;
+     * any started or aged out since the lobby index was read are left out.
+     */
+    public java.util.List<Game> getAvailableGames(java.util.List<String> lobbyGameIds) {
+        return gameStorage.getGames(lobbyGameIds).stream()
+                .filter(game -> game.getStatus() == GameStatus.NEW)
                 .filter(game -> !isGameTooOld(game))
-                .sorted((g1, g2) -> g2.getCreatedAt().compareTo(g1.getCreatedAt()))
-                .collect(java.util.stream.Collectors.toList());
+                .toList();
     }
 
     private boolean isGameTooOld(Game game) {
@@ -219,44 +527,51 @@ public class GameService {
         return age.toMinutes() > newGameMaxAgeMinutes;
     }
 
+    @Observed(name = OPERATIONS_OBSERVATION)
     public Game requestRematch(String gameId, String playerLogin) throws InvalidParamException, InvalidGameException {
-        Game game = getGameById(gameId);
-        if (game.getStatus() != GameStatus.FINISHED) {
-            throw new InvalidGameException("Can only request rematch for finished games");
-        }
-        game.setRematchRequesterLogin(playerLogin);
-        gameStorage.setGame(game);
-        return game;
+        return withGameLock(gameId, events -> {
+            Game game = getGameById(gameId);
+            if (game.getStatus() != GameStatus.FINISHED) {
+                throw new InvalidGameException("Can only request rematch for finished games");
+            }
+            game.setRematchRequesterLogin(playerLogin);
+            saveGame(game);
+            return game;
+        });
     }
 
+    @Observed(name = OPERATIONS_OBSERVATION)
     public Game respondToRematch(String gameId, String responderLogin, boolean accepted) throws InvalidParamException, InvalidGameException {
-        Game oldGame = getGameById(gameId);
-        if (oldGame.getRematchRequesterLogin() == null || oldGame.getRematchRequesterLogin().equals(responderLogin)) {
-            throw new InvalidGameException("No rematch request to respond to");
-        }
+        return withGameLock(gameId, events -> {
+            Game oldGame = getGameById(gameId);
+            if (oldGame.getRematchRequesterLogin() == null || oldGame.getRematchRequesterLogin().equals(responderLogin)) {
+                throw new InvalidGameException("No rematch request to respond to");
+            }
 
-        if (accepted) {
-            // Create a new game with the same players
-            Game newGame = new Game();
-            newGame.setBoard(new String[9]);
-            newGame.setGameId(UUID.randomUUID().toString());
-            newGame.setPlayer1(oldGame.getPlayer1());
-            newGame.setPlayer2(oldGame.getPlayer2());
-            newGame.setStatus(GameStatus.IN_PROGRESS);
-            newGame.setCurrentPlayerLogin(oldGame.getPlayer1().getLogin());
-            gameStorage.setGame(newGame);
-            
-            // Clear rematch request from old game and mark it as completed
-            oldGame.setRematchRequesterLogin(null);
-            gameStorage.setGame(oldGame);
-            
-            return newGame;
-        } else {
-            // Just clear the rematch request from the old game
-            oldGame.setRematchRequesterLogin(null);
-            oldGame.updateLastActivity();
-            gameStorage.setGame(oldGame);
-            return oldGame;
-        }
+            if (accepted) {
+                // Clear rematch request from old game first: if another node got there before us, no new game is created
+                oldGame.setRematchRequesterLogin(null);
+                saveGame(oldGame);
+
+                // Create a new game with the same players
+                Game newGame = new Game();
+                newGame.setBoard(new String[9]);
+                newGame.setGameId(idGenerator.nextId());
+                newGame.setPlayer1(oldGame.getPlayer1());
+                newGame.setPlayer2(oldGame.getPlayer2());
+                newGame.setStatus(GameStatus.IN_PROGRESS);
+                newGame.setCurrentPlayerLogin(oldGame.getPlayer1().getLogin());
+                saveNewGame(newGame);
+                events.add(new GameLifecycleEvent(GameLifecycleEvent.Type.STARTED, newGame));
+
+                return newGame;
+            } else {
+                // Just clear the rematch request from the old game
+                oldGame.setRematchRequesterLogin(null);
+                oldGame.updateLastActivity();
+                saveGame(oldGame);
+                return oldGame;
+            }
+        });
     }
 }
@@ -0,0 +1,113 @@
+package com.example.tictactoe.storage;
+
+import com.example.tictactoe.model.Game;
+import com.example.tictactoe.model.GameStatus;
+import com.example.tictactoe.model.Player;
+import io.micrometer.observation.annotation.Observed;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process games for development, tests and benchmarks. Games are copied on the
+ * way in and out so callers see the same snapshot semantics as with Redis; nothing expires.
+ */
+@Component
+@ConditionalOnProperty(name = "game.storage.engine", havingValue = "in-memory")
+public class InMemoryGameStorage implements GameStorage {
+
+    private final Map<String, Game> games = new ConcurrentHashMap<>();
+
+    @Observed(name = CALLS_OBSERVATION)
+    @Override
+    public Map<String, Game> getGames() {
+        Map<String, Game> result = new HashMap<>();
+        games.forEach((gameId, game) -> result.put(gameId, copy(game)));
+        return result;
+    }
+
+    @Observed(name = CALLS_OBSERVATION)
+    @Override
+    public List<Game> getGames(List<String> gameIds) {
+        List<Game> result = new ArrayList<>(gameIds.size());
+        for (String gameId : gameIds) {
+            Game game = games.get(gameId);
+            if (game != null) {
+                result.add(copy(game));
+            }
+        }
+        return result;
+    }
+
+    @Observed(name = CALLS_OBSERVATION)
+    @Override
+    public void setGame(Game game) {
+        games.put(game.getGameId(), copy(game));
+    }
+
+    @Observed(name = CALLS_OBSERVATION)
+    @Override
+    public boolean replaceGame(Game game, long expectedVersion) {
+        Game stored = games.get(game.getGameId());
+        // Game has no equals, so replace compares the stored instance by identity
+        return stored != null && stored.getVersion() == expectedVersion
+                && games.replace(game.getGameId(), stored, copy(game));
+    }
+
+    @Observed(name = CALLS_OBSERVATION)
+    @Override
+    public Game getGame(String gameId) {
+        Game game = games.get(gameId);
+        return game != null ? copy(game) : null;
+    }
+
+    @Observed(name = CALLS_OBSERVATION)
+    @Override
+    public void removeGame(String gameId) {
+        games.remove(gameId);
+    }
+
+    @Observed(name = CALLS_OBSERVATION)
+    @Override
+    public Map<GameStatus, Long> countGamesByStatus() {
+        Map<GameStatus, Long> counts = new EnumMap<>(GameStatus.class);
+        for (GameStatus status : GameStatus.values()) {
+            counts.put(status, 0L);
+        }
+        for (Game game : games.values()) {
+            if (game.getStatus() != null) {
+                counts.merge(game.getStatus(), 1L, Long::sum);
+            }
+        }
+        return counts;
+    }
+
+    private static Game copy(Game game) {
+        Game copy = new Game();
+        copy.setGameId(game.getGameId());
+        copy.setPlayer1(copy(game.getPlayer1()));
+        copy.setPlayer2(copy(game.getPlayer2()));
+        copy.setStatus(game.getStatus());
+        copy.setBoard(game.getBoard() != null ? game.getBoard().clone() : null);
+        copy.setWinner(game.getWinner());
+        copy.setCurrentPlayerLogin(game.getCurrentPlayerLogin());
+        copy.setSurrenderRequesterLogin(game.getSurrenderRequesterLogin());
+        copy.setPendingJoinPlayer(copy(game.getPendingJoinPlayer()));
+        copy.setRematchRequesterLogin(game.getRematchRequesterLogin());
+        copy.setCreatedAt(game.getCreatedAt());
+        copy.setLastActivityAt(game.getLastActivityAt());
+        copy.setMoveSequences(new HashMap<>(game.getMoveSequences()));
+        copy.setVersion(game.getVersion());
+        return copy;
+    }
+
+    private static Player copy(Player player) {
+        return player != null ? new Player(player.getLogin()) : null;
+    }
+}
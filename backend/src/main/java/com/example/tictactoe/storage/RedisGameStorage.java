@@ -0,0 +1,324 @@
+package com.example.tictactoe.storage;
+
+import com.example.tictactoe.jfr.StorageCallEvent;
+import com.example.tictactoe.logging.SamplingTurboFilter;
+import com.example.tictactoe.metrics.MeteredRedisSerializer;
+import com.example.tictactoe.model.Game;
+import com.example.tictactoe.model.GameStatus;
+import io.micrometer.observation.annotation.Observed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Games stored as typed JSON values under a key prefix, shared by every node and expired by TTL.
+ * Each game's version is also kept as a plain number under a second prefix, outside the game key
+ * pattern, so a version-checked write compares it inside Redis without reading the game.
+ */
+@Component
+@ConditionalOnProperty(name = "game.storage.engine", havingValue = "redis", matchIfMissing = true)
+public class RedisGameStorage implements GameStorage {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisGameStorage.class);
+    private static final int SCAN_BATCH_SIZE = 500;
+
+    /**
+     * Writes a game and its version: KEYS game, version; ARGV game, version, TTL in seconds
+     */
+    private static final RedisScript<Long> SET_SCRIPT = RedisScript.of("""
+            redis.call('SET', KEYS[1], ARGV[1], 'EX', ARGV[3])
+            redis.call('SET', KEYS[2], ARGV[2], 'EX', ARGV[3])
+            return 1
+            """, Long.class);
+
+    /**
+     * As {@link #SET_SCRIPT}, only over the expected version in ARGV[4]. A game stored without a version
+     * key (before versions were kept, or imported) has its version read from the end of its JSON.
+     */
+    private static final RedisScript<Long> REPLACE_SCRIPT = RedisScript.of("""
+            local version = redis.call('GET', KEYS[2])
+            if not version then
+                local game = redis.call('GET', KEYS[1])
+                version = game and string.match(game, '"version":(%d+)}]$')
+            elseif redis.call('EXISTS', KEYS[1]) == 0 then
+                return 0
+            end
+            if version ~= ARGV[4] then
+                return 0
+            end
+            redis.call('SET', KEYS[1], ARGV[1], 'EX', ARGV[3])
+            redis.call('SET', KEYS[2], ARGV[2], 'EX', ARGV[3])
+            return 1
+            """, Long.class);
+
+    private static final RedisSerializer<Long> SCRIPT_RESULT_SERIALIZER = new GenericToStringSerializer<>(Long.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    
+    @Value("${game.redis.key-prefix}")
+    private String keyPrefix;
+
+    @Value("${game.redis.version-key-prefix:tictactoe:game-version:}")
+    private String versionKeyPrefix = "tictactoe:game-version:";
+    
+    @Value("${game.redis.ttl-hours}")
+    private long ttlHours;
+
+    @Value("${game.new-game-max-age-minutes:10}")
+    private int newGameMaxAgeMinutes;
+
+    public RedisGameStorage(RedisTemplate<String, Object> redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Observed(name = CALLS_OBSERVATION)
+    @Override
+    public Map<String, Game> getGames() {
+        Map<String, Game> result = new HashMap<>();
+        Set<String> keys = redisTemplate.keys(keyPrefix + "*");
+        if (keys != null) {
+            for (String key : keys) {
+                try {
+                    Object obj = redisTemplate.opsForValue().get(key);
+                    if (obj instanceof Game) {
+                        Game game = (Game) obj;
+                        result.put(game.getGameId(), game);
+                    } else if (obj != null) {
+                        // Handle old data without type info - skip it or delete it
+                        log.warn("Found game data without type information in key {}, deleting it", key);
+                        redisTemplate.delete(key);
+                    }
+                } catch (Exception e) {
+                    log.error("Error deserializing game from key {}: {}", key, e.getMessage());
+                    // Optionally delete corrupted data
+                    redisTemplate.delete(key);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * MGET in batches, so a long list of IDs never becomes one huge reply
+     */
+    @Observed(name = CALLS_OBSERVATION)
+    @Override
+    public List<Game> getGames(List<String> gameIds) {
+        List<Game> games = new ArrayList<>(gameIds.size());
+        for (int from = 0; from < gameIds.size(); from += SCAN_BATCH_SIZE) {
+            List<String> keys = gameIds.subList(from, Math.min(from + SCAN_BATCH_SIZE, gameIds.size())).stream()
+                    .map(gameId -> keyPrefix + gameId)
+                    .toList();
+            List<Object> values = redisTemplate.opsForValue().multiGet(keys);
+            if (values != null) {
+                for (Object value : values) {
+                    if (value instanceof Game game) {
+                        games.add(game);
+                    }
+                }
+            }
+        }
+        return games;
+    }
+
+    @Observed(name = CALLS_OBSERVATION)
+    @Override
+    public void setGame(Game game) {
+        String key = keyPrefix + game.getGameId();
+        StorageCallEvent jfrEvent = beginStorageEvent();
+        writeGame(SET_SCRIPT, key, game);
+        commitStorageEvent(jfrEvent, "set", key, game.getGameId());
+        log.debug(SamplingTurboFilter.HIGH_FREQUENCY, "Game {} stored in Redis with TTL of {} hours", game.getGameId(), ttlHours);
+    }
+
+    /**
+     * One script call: the stored version is compared and both keys are set atomically, on the shared connection
+     */
+    @Observed(name = CALLS_OBSERVATION)
+    @Override
+    public boolean replaceGame(Game game, long expectedVersion) {
+        String key = keyPrefix + game.getGameId();
+        StorageCallEvent jfrEvent = beginStorageEvent();
+        boolean replaced = writeGame(REPLACE_SCRIPT, key, game, ascii(expectedVersion));
+        commitStorageEvent(jfrEvent, "replace", key, game.getGameId());
+        if (!replaced) {
+            log.debug("Game {} changed since version {}, not replaced", game.getGameId(), expectedVersion);
+        }
+        return replaced;
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean writeGame(RedisScript<Long> script, String key, Game game, byte[]... extraArgs) {
+        // Serialized here rather than by the script executor, so only the game goes through the metered value serializer
+        byte[] value = ((RedisSerializer<Object>) redisTemplate.getValueSerializer()).serialize(game);
+        Object[] args = new Object[3 + extraArgs.length];
+        args[0] = value;
+        args[1] = ascii(game.getVersion());
+        args[2] = ascii(TimeUnit.HOURS.toSeconds(ttlHours));
+        System.arraycopy(extraArgs, 0, args, 3, extraArgs.length);
+        Long result = redisTemplate.execute(script, RedisSerializer.byteArray(), SCRIPT_RESULT_SERIALIZER,
+                List.of(key, versionKeyPrefix + game.getGameId()), args);
+        return result != null && result == 1L;
+    }
+
+    private static byte[] ascii(long number) {
+        return Long.toString(number).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    @Observed(name = CALLS_OBSERVATION)
+    @Override
+    public Game getGame(String gameId) {
+        String key = keyPrefix + gameId;
+        StorageCallEvent jfrEvent = beginStorageEvent();
+        try {
+            try {
+                Object obj = redisTemplate.opsForValue().get(key);
+                if (obj instanceof Game) {
+                    return (Game) obj;
+                } else if (obj != null) {
+                    log.warn("Found game data without type information for gameId {}, deleting it", gameId);
+                    redisTemplate.delete(key);
+                }
+            } catch (Exception e) {
+                log.error("Error deserializing game {}: {}", gameId, e.getMessage());
+                redisTemplate.delete(key);
+            }
+            return null;
+        } finally {
+            commitStorageEvent(jfrEvent, "get", key, gameId);
+        }
+    }
+
+    private static StorageCallEvent beginStorageEvent() {
+        StorageCallEvent jfrEvent = new StorageCallEvent();
+        if (jfrEvent.isEnabled()) {
+            MeteredRedisSerializer.resetLastPayloadSize();
+        }
+        jfrEvent.begin();
+        return jfrEvent;
+    }
+
+    private static void commitStorageEvent(StorageCallEvent jfrEvent, String operation, String key, String gameId) {
+        if (jfrEvent.shouldCommit()) {
+            jfrEvent.operation = operation;
+            jfrEvent.key = key;
+            jfrEvent.gameId = gameId;
+            jfrEvent.bytes = MeteredRedisSerializer.lastPayloadSize();
+            jfrEvent.commit();
+        }
+    }
+
+    @Observed(name = CALLS_OBSERVATION)
+    @Override
+    public void removeGame(String gameId) {
+        redisTemplate.delete(List.of(keyPrefix + gameId, versionKeyPrefix + gameId));
+        log.info("Game {} removed from Redis", gameId);
+    }
+
+    /**
+     * Cleanup old games every 30 minutes
+     * Removes finished games older than 10 minutes (Redis TTL handles most cleanup)
+     * Also removes NEW games that are too old (abandoned lobbies)
+     */
+    @Scheduled(fixedRate = 1800000) // 30 minutes
+    public void cleanupOldGames() {
+        Set<String> keys = redisTemplate.keys(keyPrefix + "*");
+        if (keys == null || keys.isEmpty()) {
+            return;
+        }
+
+        int finishedCount = 0;
+        int abandonedCount = 0;
+        
+        for (String key : keys) {
+            Game game = (Game) redisTemplate.opsForValue().get(key);
+            if (game != null) {
+                if (game.getStatus() == GameStatus.FINISHED) {
+                    // Shorten TTL for finished games to 10 minutes
+                    redisTemplate.expire(key, 10, TimeUnit.MINUTES);
+                    redisTemplate.expire(versionKeyPrefix + game.getGameId(), 10, TimeUnit.MINUTES);
+                    finishedCount++;
+                } else if (game.getStatus() == GameStatus.NEW && isGameAbandoned(game)) {
+                    // Remove abandoned NEW games (too old)
+                    redisTemplate.delete(List.of(key, versionKeyPrefix + game.getGameId()));
+                    abandonedCount++;
+                    log.info("Removed abandoned game {} created by {}", 
+                        game.getGameId(), game.getPlayer1().getLogin());
+                }
+            }
+        }
+
+        if (finishedCount > 0 || abandonedCount > 0) {
+            log.info("Cleanup: Updated TTL for {} finished games, removed {} abandoned games. Total games: {}", 
+                finishedCount, abandonedCount, keys.size() - abandonedCount);
+        }
+    }
+
+    private boolean isGameAbandoned(Game game) {
+        if (game.getCreatedAt() == null) {
+            return false;
+        }
+        Duration age = Duration.between(game.getCreatedAt(), Instant.now());
+        return age.toMinutes() > newGameMaxAgeMinutes;
+    }
+
+    /**
+     * Walks the keyspace with SCAN and MGET so Redis is never blocked
+     */
+    @Observed(name = CALLS_OBSERVATION)
+    @Override
+    public Map<GameStatus, Long> countGamesByStatus() {
+        Map<GameStatus, Long> counts = new EnumMap<>(GameStatus.class);
+        for (GameStatus status : GameStatus.values()) {
+            counts.put(status, 0L);
+        }
+        ScanOptions options = ScanOptions.scanOptions().match(keyPrefix + "*").count(SCAN_BATCH_SIZE).build();
+        List<String> batch = new ArrayList<>(SCAN_BATCH_SIZE);
+        try (Cursor<String> keys = redisTemplate.scan(options)) {
+            while (keys.hasNext()) {
+                batch.add(keys.next());
+                if (batch.size() == SCAN_BATCH_SIZE) {
+                    countBatch(batch, counts);
+                    batch.clear();
+                }
+            }
+        }
+        countBatch(batch, counts);
+        return counts;
+    }
+
+    private void countBatch(List<String> keys, Map<GameStatus, Long> counts) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        List<Object> values = redisTemplate.opsForValue().multiGet(keys);
+        if (values == null) {
+            return;
+        }
+        for (Object value : values) {
+            if (value instanceof Game game && game.getStatus() != null) {
+                counts.merge(game.getStatus(), 1L, Long::sum);
+            }
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.tictactoe.tracing;
+
+import io.micrometer.common.KeyValues;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.transport.SenderContext;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Observes every message handed to the broker channel, which is where SimpMessagingTemplate sends land.
+ * The broker channel dispatches on the sending thread, so the observation covers the broker's fan-out
+ * to all subscribers, and the current trace context is written into the message's STOMP headers
+ * so clients receive it with the frame; a send with no trace context to write keeps its message.
+ * Spectator and lobby topics are observed without it: the broker copies every header into each
+ * subscriber's frame, and those topics can have thousands of subscribers. Destinations are grouped into a few kinds to keep the
+ * metric tags small; user destinations resolve into a nested send on the same thread, hence the
+ * per-thread stack.
+ */
+@Component
+public class BrokerChannelObservationInterceptor implements ChannelInterceptor {
+
+    public static final String SENDS_OBSERVATION = "tictactoe.broker.sends";
+
+    private static final Map<String, String> KINDS_BY_PREFIX = new LinkedHashMap<>();
+    private static final Set<String> UNPROPAGATED_KINDS = Set.of("spectate", "lobby");
+
+    static {
+        KINDS_BY_PREFIX.put("/topic/game.", "game");
+        KINDS_BY_PREFIX.put("/topic/spectate.", "spectate");
+        KINDS_BY_PREFIX.put("/topic/lobby", "lobby");
+        KINDS_BY_PREFIX.put("/user/", "user");
+        KINDS_BY_PREFIX.put("/queue/", "queue");
+    }
+
+    private final ObservationRegistry observationRegistry;
+    private final ThreadLocal<ArrayDeque<Observation.Scope>> scopes = ThreadLocal.withInitial(ArrayDeque::new);
+
+    public BrokerChannelObservationInterceptor(ObservationRegistry observationRegistry) {
+        this.observationRegistry = observationRegistry;
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        String kind = kindOf(destination);
+        OutboundHeaders carrier = new OutboundHeaders(message, !UNPROPAGATED_KINDS.contains(kind));
+        SenderContext<OutboundHeaders> context = new SenderContext<>(OutboundHeaders::set);
+        context.setCarrier(carrier);
+        context.setRemoteServiceName("stomp-broker");
+        Observation observation = Observation.createNotStarted(SENDS_OBSERVATION, () -> context, observationRegistry)
+                .contextualName("send " + kind)
+                .lowCardinalityKeyValue("destination", kind)
+                .highCardinalityKeyValues(KeyValues.of("messaging.destination.name", String.valueOf(destination)))
+                .start();
+        scopes.get().push(observation.openScope());
+        return carrier.message();
+    }
+
+    @Override
+    public void afterSendCompletion(Message<?> message, MessageChannel channel, boolean sent, Exception ex) {
+        Observation.Scope scope = scopes.get().poll();
+        if (scope == null) {
+            return;
+        }
+        Observation observation = scope.getCurrentObservation();
+        scope.close();
+        if (ex != null) {
+            observation.error(ex);
+        }
+        observation.stop();
+    }
+
+    static String kindOf(String destination) {
+        if (destination != null) {
+            for (Map.Entry<String, String> entry : KINDS_BY_PREFIX.entrySet()) {
+                if (destination.startsWith(entry.getKey())) {
+                    return entry.getValue();
+                }
+            }
+        }
+        return "other";
+    }
+
+    /**
+     * The message being sent, copied with its headers only once a trace header is written into it:
+     * without a span to propagate, as when tracing is off, the message passes through untouched.
+     */
+    private static final class OutboundHeaders {
+        private final Message<?> message;
+        private final boolean propagate;
+        private SimpMessageHeaderAccessor accessor;
+
+        private OutboundHeaders(Message<?> message, boolean propagate) {
+            this.message = message;
+            this.propagate = propagate;
+        }
+
+        void set(String name, String value) {
+            if (!propagate) {
+                return;
+            }
+            if (accessor == null) {
+                accessor = SimpMessageHeaderAccessor.wrap(message);
+            }
+            StompHeaders.set(accessor, name, value);
+        }
+
+        Message<?> message() {
+            return accessor == null ? message : MessageBuilder.createMessage(message.getPayload(), accessor.getMessageHeaders());
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.tictactoe.tracing;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.transport.ReceiverContext;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.annotation.support.SimpAnnotationMethodMessageHandler;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+
+/**
+ * Observes each {@code @MessageMapping} invocation on the inbound channel's worker thread.
+ * The observation is the parent of every stage observed while the controller runs (service,
+ * storage, broadcast), and continues a trace the client started if the SEND frame carries
+ * a {@code traceparent} header.
+ */
+@Component
+public class InboundMessageObservationInterceptor implements ExecutorChannelInterceptor {
+
+    public static final String INBOUND_OBSERVATION = "tictactoe.stomp.inbound";
+
+    private final ObservationRegistry observationRegistry;
+    private final ThreadLocal<ArrayDeque<Observation.Scope>> scopes = ThreadLocal.withInitial(ArrayDeque::new);
+
+    public InboundMessageObservationInterceptor(ObservationRegistry observationRegistry) {
+        this.observationRegistry = observationRegistry;
+    }
+
+    @Override
+    public Message<?> beforeHandle(Message<?> message, MessageChannel channel, MessageHandler handler) {
+        if (!isMessageMapping(message, handler)) {
+            return message;
+        }
+        // SEND destinations are the fixed /app mappings, so they are safe to use as a tag
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        ReceiverContext<Message<?>> context = new ReceiverContext<>(StompHeaders::get);
+        context.setCarrier(message);
+        context.setRemoteServiceName("stomp-client");
+        Observation observation = Observation.createNotStarted(INBOUND_OBSERVATION, () -> context, observationRegistry)
+                .contextualName("handle " + destination)
+                .lowCardinalityKeyValue("destination", String.valueOf(destination))
+                .start();
+        scopes.get().push(observation.openScope());
+        return message;
+    }
+
+    @Override
+    public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler, Exception ex) {
+        if (!isMessageMapping(message, handler)) {
+            return;
+        }
+        Observation.Scope scope = scopes.get().poll();
+        if (scope == null) {
+            return;
+        }
+        Observation observation = scope.getCurrentObservation();
+        scope.close();
+        if (ex != null) {
+            observation.error(ex);
+        }
+        observation.stop();
+    }
+
+    private static boolean isMessageMapping(Message<?> message, MessageHandler handler) {
+        return handler instanceof SimpAnnotationMethodMessageHandler
+                && SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) == SimpMessageType.MESSAGE;
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.tictactoe.tracing;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.NativeMessageHeaderAccessor;
+
+/**
+ * Reads and writes trace context as STOMP native headers, which is what a client sees as frame headers
+ */
+final class StompHeaders {
+
+    private StompHeaders() {
+    }
+
+    static String get(Message<?> message, String name) {
+        return NativeMessageHeaderAccessor.getFirstNativeHeader(name, message.getHeaders());
+    }
+
+    static void set(SimpMessageHeaderAccessor accessor, String name, String value) {
+        accessor.setNativeHeader(name, value);
+    }
+}
@@ -0,0 +1,212 @@
+package com.example.tictactoe.transfer;
+
+import com.example.tictactoe.model.Game;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Streams games in and out of Redis as NDJSON, one game per line in plain JSON without the
+ * class names the Redis serializer embeds, so dumps survive refactoring and move between environments.
+ * Export walks the keyspace with SCAN and MGET in batches; import writes pipelined batches
+ * on a bounded number of threads. Both hold at most a few batches in memory.
+ */
+@Service
+public class GameTransferService {
+
+    private static final Logger log = LoggerFactory.getLogger(GameTransferService.class);
+
+    private static final byte NEWLINE = '\n';
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final ObjectWriter writer;
+    private final ObjectReader reader;
+
+    @Value("${game.redis.key-prefix:tictactoe:game:}")
+    private String keyPrefix = "tictactoe:game:";
+
+    @Value("${game.redis.version-key-prefix:tictactoe:game-version:}")
+    private String versionKeyPrefix = "tictactoe:game-version:";
+
+    @Value("${game.redis.ttl-hours:24}")
+    private long ttlHours = 24;
+
+    @Value("${game.transfer.batch-size:500}")
+    private int defaultBatchSize = 500;
+
+    @Value("${game.transfer.parallelism:4}")
+    private int defaultParallelism = 4;
+
+    public GameTransferService(RedisTemplate<String, Object> redisTemplate) {
+        this.redisTemplate = redisTemplate;
+        ObjectMapper mapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.writer = mapper.writerFor(Game.class);
+        this.reader = mapper.readerFor(Game.class);
+    }
+
+    /**
+     * Writes every stored game as one JSON line. Returns the number of games written.
+     */
+    public long exportGames(OutputStream out) throws IOException {
+        long exported = 0;
+        List<String> batch = new ArrayList<>(defaultBatchSize);
+        ScanOptions options = ScanOptions.scanOptions().match(keyPrefix + "*").count(defaultBatchSize).build();
+        try (Cursor<String> keys = redisTemplate.scan(options)) {
+            while (keys.hasNext()) {
+                batch.add(keys.next());
+                if (batch.size() == defaultBatchSize) {
+                    exported += writeBatch(batch, out);
+                    batch.clear();
+                }
+            }
+        }
+        exported += writeBatch(batch, out);
+        out.flush();
+        log.info("Exported {} games", exported);
+        return exported;
+    }
+
+    private int writeBatch(List<String> keys, OutputStream out) throws IOException {
+        if (keys.isEmpty()) {
+            return 0;
+        }
+        List<Object> values = redisTemplate.opsForValue().multiGet(keys);
+        if (values == null) {
+            return 0;
+        }
+        int written = 0;
+        for (Object value : values) {
+            // Keys that expired between SCAN and MGET come back null
+            if (value instanceof Game game) {
+                out.write(writer.writeValueAsBytes(game));
+                out.write(NEWLINE);
+                written++;
+            }
+        }
+        return written;
+    }
+
+    public ImportResult importGames(InputStream in) throws IOException, InterruptedException {
+        return importGames(in, defaultBatchSize, defaultParallelism);
+    }
+
+    /**
+     * Loads NDJSON games, overwriting games with the same ID. Each game gets the configured TTL again.
+     * At most parallelism batches are in flight, so memory stays bounded whatever the input size.
+     */
+    public ImportResult importGames(InputStream in, int batchSize, int parallelism) throws IOException, InterruptedException {
+        long start = System.currentTimeMillis();
+        AtomicLong imported = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        long lines = 0;
+        Semaphore inFlight = new Semaphore(parallelism);
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try (BufferedReader lineReader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            List<Game> batch = new ArrayList<>(batchSize);
+            String line;
+            while ((line = lineReader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                lines++;
+                Game game = parse(line, lines);
+                if (game == null) {
+                    failed.incrementAndGet();
+                    continue;
+                }
+                batch.add(game);
+                if (batch.size() == batchSize) {
+                    submit(batch, executor, inFlight, imported, failed);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                submit(batch, executor, inFlight, imported, failed);
+            }
+            // Wait for the last batches
+            inFlight.acquire(parallelism);
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+        ImportResult result = new ImportResult(lines, imported.get(), failed.get(), System.currentTimeMillis() - start);
+        log.info("Imported {} of {} games in {} ms ({} failed)", result.imported(), result.lines(), result.elapsedMillis(), result.failed());
+        return result;
+    }
+
+    private Game parse(String line, long lineNumber) {
+        try {
+            Game game = reader.readValue(line);
+            if (game.getGameId() == null || game.getGameId().isEmpty()) {
+                log.warn("Skipping line {}: game has no ID", lineNumber);
+                return null;
+            }
+            return game;
+        } catch (JsonProcessingException e) {
+            log.warn("Skipping line {}: {}", lineNumber, e.getOriginalMessage());
+            return null;
+        }
+    }
+
+    private void submit(List<Game> batch, ExecutorService executor, Semaphore inFlight,
+                        AtomicLong imported, AtomicLong failed) throws InterruptedException {
+        inFlight.acquire();
+        executor.execute(() -> {
+            try {
+                writeGames(batch);
+                imported.addAndGet(batch.size());
+            } catch (Exception e) {
+                log.error("Failed to import a batch of {} games: {}", batch.size(), e.getMessage());
+                failed.addAndGet(batch.size());
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    private void writeGames(List<Game> games) {
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, Object> gameOperations = (RedisOperations<String, Object>) operations;
+                for (Game game : games) {
+                    gameOperations.opsForValue().set(keyPrefix + game.getGameId(), game, ttlHours, TimeUnit.HOURS);
+                    // A version kept from before the import is stale; the next write reads it from the game instead
+                    gameOperations.delete(versionKeyPrefix + game.getGameId());
+                }
+                return null;
+            }
+        });
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.tictactoe.transfer;
+
+/**
+ * Outcome of an NDJSON import: lines read, games written, and lines that failed to parse or store
+ */
+public record ImportResult(long lines, long imported, long failed, long elapsedMillis) {
+}
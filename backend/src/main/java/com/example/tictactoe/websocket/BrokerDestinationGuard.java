@@ -0,0 +1,36 @@
+package com.example.tictactoe.websocket;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps broker destinations read-only for clients: a SEND has to go through an /app handler,
+ * so nobody can publish straight to a game, spectator or personal topic.
+ */
+@Component
+public class BrokerDestinationGuard implements ChannelInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(BrokerDestinationGuard.class);
+
+    private static final String APPLICATION_PREFIX = "/app/";
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        if (SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) != SimpMessageType.MESSAGE) {
+            return message;
+        }
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        if (destination != null && destination.startsWith(APPLICATION_PREFIX)) {
+            return message;
+        }
+        log.debug("Dropping SEND to {} from session {}", destination,
+                SimpMessageHeaderAccessor.getSessionId(message.getHeaders()));
+        return null;
+    }
+}
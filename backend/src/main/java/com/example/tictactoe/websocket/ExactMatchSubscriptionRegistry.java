@@ -0,0 +1,214 @@
+package com.example.tictactoe.websocket;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.broker.AbstractSubscriptionRegistry;
+import org.springframework.messaging.simp.broker.DefaultSubscriptionRegistry;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Subscription registry for the simple broker, tuned for exact-match destinations
+ * such as /topic/game.{id} and /topic/game.created/{login}.
+ * Lookup is a single hash probe per destination and a session disconnect only touches
+ * the destinations that session subscribed to.
+ * Pattern subscriptions (containing *, ? or {) are delegated to a {@link DefaultSubscriptionRegistry}.
+ * Selector headers are not supported for exact-match subscriptions.
+ */
+public class ExactMatchSubscriptionRegistry extends AbstractSubscriptionRegistry {
+
+    private static final MultiValueMap<String, String> NO_SUBSCRIPTIONS =
+            CollectionUtils.unmodifiableMultiValueMap(new LinkedMultiValueMap<>());
+
+    private final Map<String, DestinationSubscriptions> destinations = new ConcurrentHashMap<>();
+    private final Map<String, SessionSubscriptions> sessions = new ConcurrentHashMap<>();
+
+    private final DefaultSubscriptionRegistry patternRegistry = new DefaultSubscriptionRegistry();
+    private volatile boolean hasPatternSubscriptions;
+
+    @Override
+    protected void addSubscriptionInternal(String sessionId, String subscriptionId, String destination, Message<?> message) {
+        if (isPattern(destination)) {
+            hasPatternSubscriptions = true;
+            patternRegistry.registerSubscription(message);
+            return;
+        }
+        SessionSubscriptions session = sessions.computeIfAbsent(sessionId, id -> new SessionSubscriptions());
+        synchronized (session) {
+            if (session.subscriptions.putIfAbsent(subscriptionId, destination) != null) {
+                return;
+            }
+        }
+        while (true) {
+            DestinationSubscriptions entry = destinations.computeIfAbsent(destination, d -> new DestinationSubscriptions());
+            if (entry.add(sessionId, subscriptionId)) {
+                return;
+            }
+            // Entry was emptied and removed concurrently, retry with a fresh one
+        }
+    }
+
+    @Override
+    protected void removeSubscriptionInternal(String sessionId, String subscriptionId, Message<?> message) {
+        SessionSubscriptions session = sessions.get(sessionId);
+        String destination = null;
+        if (session != null) {
+            synchronized (session) {
+                destination = session.subscriptions.remove(subscriptionId);
+            }
+        }
+        if (destination != null) {
+            removeFromDestination(destination, sessionId, subscriptionId);
+        } else if (hasPatternSubscriptions) {
+            patternRegistry.unregisterSubscription(message);
+        }
+    }
+
+    @Override
+    public void unregisterAllSubscriptions(String sessionId) {
+        SessionSubscriptions session = sessions.remove(sessionId);
+        if (session != null) {
+            Map<String, String> subscriptions;
+            synchronized (session) {
+                subscriptions = new HashMap<>(session.subscriptions);
+                session.subscriptions.clear();
+            }
+            subscriptions.forEach((subscriptionId, destination) ->
+                    removeFromDestination(destination, sessionId, subscriptionId));
+        }
+        if (hasPatternSubscriptions) {
+            patternRegistry.unregisterAllSubscriptions(sessionId);
+        }
+    }
+
+    @Override
+    protected MultiValueMap<String, String> findSubscriptionsInternal(String destination, Message<?> message) {
+        DestinationSubscriptions entry = destinations.get(destination);
+        MultiValueMap<String, String> exact = entry != null ? entry.snapshot() : NO_SUBSCRIPTIONS;
+        if (!hasPatternSubscriptions) {
+            return exact;
+        }
+        MultiValueMap<String, String> matched = patternRegistry.findSubscriptions(message);
+        if (matched.isEmpty()) {
+            return exact;
+        }
+        MultiValueMap<String, String> merged = new LinkedMultiValueMap<>(exact);
+        matched.forEach(merged::addAll);
+        return merged;
+    }
+
+    /**
+     * Number of distinct exact-match destinations with at least one subscriber
+     */
+    public int getDestinationCount() {
+        return destinations.size();
+    }
+
+    /**
+     * Number of sessions holding at least one exact-match subscription
+     */
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    private void removeFromDestination(String destination, String sessionId, String subscriptionId) {
+        DestinationSubscriptions entry = destinations.get(destination);
+        if (entry != null && entry.remove(sessionId, subscriptionId)) {
+            destinations.remove(destination, entry);
+        }
+    }
+
+    private static boolean isPattern(String destination) {
+        for (int i = 0; i < destination.length(); i++) {
+            char c = destination.charAt(i);
+            if (c == '*' || c == '?' || c == '{') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Subscription ids a session holds, keyed by id, so a disconnect can find its destinations.
+     */
+    private static final class SessionSubscriptions {
+        private final Map<String, String> subscriptions = new HashMap<>(8);
+    }
+
+    /**
+     * Subscribers of one destination. The common case is a single subscription per session,
+     * stored as a plain String; additional ids for the same session are kept in a String[].
+     */
+    private static final class DestinationSubscriptions {
+
+        private final Map<String, Object> subscriptionsBySession = new HashMap<>(4);
+        private volatile MultiValueMap<String, String> snapshot;
+        private boolean removed;
+
+        synchronized boolean add(String sessionId, String subscriptionId) {
+            if (removed) {
+                return false;
+            }
+            subscriptionsBySession.merge(sessionId, subscriptionId, (existing, id) -> {
+                if (existing instanceof String single) {
+                    return new String[] {single, subscriptionId};
+                }
+                String[] ids = (String[]) existing;
+                String[] grown = Arrays.copyOf(ids, ids.length + 1);
+                grown[ids.length] = subscriptionId;
+                return grown;
+            });
+            snapshot = null;
+            return true;
+        }
+
+        /**
+         * @return true if the destination has no subscribers left and can be dropped
+         */
+        synchronized boolean remove(String sessionId, String subscriptionId) {
+            Object existing = subscriptionsBySession.get(sessionId);
+            if (existing instanceof String single) {
+                if (single.equals(subscriptionId)) {
+                    subscriptionsBySession.remove(sessionId);
+                }
+            } else if (existing instanceof String[] ids) {
+                String[] remaining = Arrays.stream(ids).filter(id -> !id.equals(subscriptionId)).toArray(String[]::new);
+                subscriptionsBySession.put(sessionId, remaining.length == 1 ? remaining[0] : remaining);
+            }
+            snapshot = null;
+            if (subscriptionsBySession.isEmpty()) {
+                removed = true;
+            }
+            return removed;
+        }
+
+        MultiValueMap<String, String> snapshot() {
+            MultiValueMap<String, String> current = snapshot;
+            if (current == null) {
+                current = buildSnapshot();
+            }
+            return current;
+        }
+
+        private synchronized MultiValueMap<String, String> buildSnapshot() {
+            if (snapshot != null) {
+                return snapshot;
+            }
+            LinkedMultiValueMap<String, String> map = new LinkedMultiValueMap<>(subscriptionsBySession.size());
+            subscriptionsBySession.forEach((sessionId, ids) -> {
+                if (ids instanceof String single) {
+                    map.add(sessionId, single);
+                } else {
+                    map.put(sessionId, Arrays.asList((String[]) ids));
+                }
+            });
+            snapshot = CollectionUtils.unmodifiableMultiValueMap(map);
+            return snapshot;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.tictactoe.websocket;
+
+import com.example.tictactoe.jfr.BroadcastSentEvent;
+import com.example.tictactoe.model.Game;
+import io.micrometer.observation.annotation.Observed;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+
+/**
+ * Sends game state to the players' topic and the read-only spectator topic.
+ * The game is serialized once; both destinations and every subscriber behind them share
+ * the same payload bytes, so the broker only encodes per-subscriber STOMP headers.
+ */
+@Component
+public class GameBroadcaster {
+
+    /** Observation of serializing a game and handing it to the broker for both topics */
+    public static final String BROADCAST_OBSERVATION = "tictactoe.broadcast";
+
+    public static final String GAME_DESTINATION_PREFIX = "/topic/game.";
+    public static final String SPECTATE_DESTINATION_PREFIX = "/topic/spectate.";
+
+    private final SimpMessagingTemplate messagingTemplate;
+
+    public GameBroadcaster(SimpMessagingTemplate messagingTemplate) {
+        this.messagingTemplate = messagingTemplate;
+    }
+
+    @Observed(name = BROADCAST_OBSERVATION)
+    public void broadcast(Game game) {
+        BroadcastSentEvent jfrEvent = new BroadcastSentEvent();
+        jfrEvent.begin();
+        Message<?> encoded = messagingTemplate.getMessageConverter().toMessage(game, null);
+        if (encoded == null) {
+            throw new IllegalStateException("No converter for game " + game.getGameId());
+        }
+        send(GAME_DESTINATION_PREFIX + game.getGameId(), encoded);
+        send(SPECTATE_DESTINATION_PREFIX + game.getGameId(), encoded);
+        if (jfrEvent.shouldCommit()) {
+            jfrEvent.gameId = game.getGameId();
+            jfrEvent.version = game.getVersion();
+            jfrEvent.bytes = encoded.getPayload() instanceof byte[] payload ? payload.length : 0;
+            jfrEvent.destinations = 2;
+            jfrEvent.commit();
+        }
+    }
+
+    private void send(String destination, Message<?> encoded) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create();
+        accessor.setContentType(encoded.getHeaders().get(MessageHeaders.CONTENT_TYPE, MimeType.class));
+        accessor.setLeaveMutable(true);
+        messagingTemplate.send(destination, MessageBuilder.createMessage(encoded.getPayload(), accessor.getMessageHeaders()));
+    }
+}
@@ -0,0 +1,226 @@
+package com.example.tictactoe.websocket;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.SessionLimitExceededException;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded outbound queue for one WebSocket session.
+ * Senders enqueue and return; whichever thread wins the flush lock writes to the socket,
+ * so a slow client only ever blocks one outbound thread. When the queue exceeds its
+ * byte or time limit the configured {@link OverflowPolicy} is applied.
+ */
+public class OutboundQueueSessionDecorator extends WebSocketSessionDecorator {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboundQueueSessionDecorator.class);
+
+    private static final String MESSAGE_FRAME_PREFIX = "MESSAGE\n";
+    private static final String DESTINATION_HEADER = "\ndestination:";
+    private static final String SUBSCRIPTION_HEADER = "\nsubscription:";
+
+    private final int sendBufferSizeLimit;
+    private final int sendTimeLimit;
+    private final OverflowPolicy overflowPolicy;
+    private final List<String> coalescePrefixes;
+
+    private final ArrayDeque<PendingMessage> queue = new ArrayDeque<>();
+    private final Map<String, PendingMessage> pendingByDestination = new HashMap<>();
+    private final ReentrantLock queueLock = new ReentrantLock();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private volatile int bufferedBytes;
+    private volatile int queueDepth;
+    private volatile long sendStartTime;
+    private volatile boolean limitExceeded;
+
+    private final AtomicLong coalescedCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    public OutboundQueueSessionDecorator(WebSocketSession delegate, int sendBufferSizeLimit, int sendTimeLimit,
+                                         OverflowPolicy overflowPolicy, List<String> coalescePrefixes) {
+        super(delegate);
+        this.sendBufferSizeLimit = sendBufferSizeLimit;
+        this.sendTimeLimit = sendTimeLimit;
+        this.overflowPolicy = overflowPolicy;
+        this.coalescePrefixes = coalescePrefixes;
+    }
+
+    @Override
+    public void sendMessage(WebSocketMessage<?> message) throws IOException {
+        if (limitExceeded) {
+            return;
+        }
+        if (!enqueue(message)) {
+            return;
+        }
+        flush();
+    }
+
+    private boolean enqueue(WebSocketMessage<?> message) {
+        String coalesceKey = overflowPolicy == OverflowPolicy.COALESCE ? coalesceKey(message) : null;
+        int size = message.getPayloadLength();
+        queueLock.lock();
+        try {
+            if (coalesceKey != null) {
+                PendingMessage pending = pendingByDestination.get(coalesceKey);
+                if (pending != null) {
+                    // Newer snapshot for the same destination supersedes the queued one
+                    bufferedBytes += size - pending.message.getPayloadLength();
+                    pending.message = message;
+                    coalescedCount.incrementAndGet();
+                    return false;
+                }
+            }
+            if (isOverLimit(size)) {
+                return handleOverflow();
+            }
+            PendingMessage pending = new PendingMessage(message, coalesceKey);
+            queue.add(pending);
+            if (coalesceKey != null) {
+                pendingByDestination.put(coalesceKey, pending);
+            }
+            bufferedBytes += size;
+            queueDepth = queue.size();
+            return true;
+        } finally {
+            queueLock.unlock();
+        }
+    }
+
+    private boolean isOverLimit(int incomingSize) {
+        if (bufferedBytes + incomingSize > sendBufferSizeLimit && !queue.isEmpty()) {
+            return true;
+        }
+        long start = sendStartTime;
+        return start > 0 && System.currentTimeMillis() - start > sendTimeLimit;
+    }
+
+    private boolean handleOverflow() {
+        if (overflowPolicy == OverflowPolicy.DROP) {
+            droppedCount.incrementAndGet();
+            log.debug("Dropping outbound message for lagging session {} (queued {} messages, {} bytes)",
+                    getId(), queue.size(), bufferedBytes);
+            return false;
+        }
+        limitExceeded = true;
+        String reason = String.format("Outbound limits exceeded for session %s: %d messages, %d bytes queued",
+                getId(), queue.size(), bufferedBytes);
+        queue.clear();
+        pendingByDestination.clear();
+        bufferedBytes = 0;
+        queueDepth = 0;
+        throw new SessionLimitExceededException(reason, CloseStatus.SESSION_NOT_RELIABLE);
+    }
+
+    private void flush() throws IOException {
+        while (queueDepth > 0 && flushLock.tryLock()) {
+            try {
+                PendingMessage next;
+                while ((next = poll()) != null) {
+                    sendStartTime = System.currentTimeMillis();
+                    try {
+                        getDelegate().sendMessage(next.message);
+                    } finally {
+                        sendStartTime = 0;
+                    }
+                }
+            } finally {
+                flushLock.unlock();
+            }
+        }
+    }
+
+    private PendingMessage poll() {
+        queueLock.lock();
+        try {
+            PendingMessage next = queue.poll();
+            if (next != null) {
+                if (next.coalesceKey != null) {
+                    pendingByDestination.remove(next.coalesceKey);
+                }
+                bufferedBytes -= next.message.getPayloadLength();
+                queueDepth = queue.size();
+            }
+            return next;
+        } finally {
+            queueLock.unlock();
+        }
+    }
+
+    /**
+     * Destination and subscription of a STOMP MESSAGE frame carrying a full game snapshot, else null
+     */
+    private String coalesceKey(WebSocketMessage<?> message) {
+        if (!(message instanceof TextMessage textMessage)) {
+            return null;
+        }
+        String frame = textMessage.getPayload();
+        if (!frame.startsWith(MESSAGE_FRAME_PREFIX)) {
+            return null;
+        }
+        int headersEnd = frame.indexOf("\n\n");
+        if (headersEnd < 0) {
+            return null;
+        }
+        String destination = headerValue(frame, DESTINATION_HEADER, headersEnd);
+        if (destination == null || coalescePrefixes.stream().noneMatch(destination::startsWith)) {
+            return null;
+        }
+        // A session may subscribe to the same destination more than once, each subscription gets its own frame
+        String subscription = headerValue(frame, SUBSCRIPTION_HEADER, headersEnd);
+        return subscription != null ? destination + '\n' + subscription : destination;
+    }
+
+    private static String headerValue(String frame, String header, int headersEnd) {
+        int start = frame.indexOf(header);
+        if (start < 0 || start > headersEnd) {
+            return null;
+        }
+        start += header.length();
+        return frame.substring(start, frame.indexOf('\n', start));
+    }
+
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    public int getBufferedBytes() {
+        return bufferedBytes;
+    }
+
+    public long getTimeSinceSendStarted() {
+        long start = sendStartTime;
+        return start > 0 ? System.currentTimeMillis() - start : 0;
+    }
+
+    public long getCoalescedCount() {
+        return coalescedCount.get();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    private static final class PendingMessage {
+        private WebSocketMessage<?> message;
+        private final String coalesceKey;
+
+        private PendingMessage(WebSocketMessage<?> message, String coalesceKey) {
+            this.message = message;
+            this.coalesceKey = coalesceKey;
+        }
+    }
+}
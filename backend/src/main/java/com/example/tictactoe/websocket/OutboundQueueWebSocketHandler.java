@@ -0,0 +1,37 @@
+package com.example.tictactoe.websocket;
+
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.SubscribableChannel;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.messaging.SubProtocolWebSocketHandler;
+
+/**
+ * The STOMP handler with {@link OutboundQueueSessionDecorator} as its per-session send buffer.
+ * The stock handler wraps every session in its own {@code ConcurrentWebSocketSessionDecorator},
+ * which would buffer in front of ours, serialise senders and close the session on overflow
+ * before the configured {@link OverflowPolicy} ever saw a backlog.
+ */
+public class OutboundQueueWebSocketHandler extends SubProtocolWebSocketHandler {
+
+    private final OutboundSessionRegistry outboundSessionRegistry;
+
+    public OutboundQueueWebSocketHandler(MessageChannel clientInboundChannel, SubscribableChannel clientOutboundChannel,
+                                         OutboundSessionRegistry outboundSessionRegistry) {
+        super(clientInboundChannel, clientOutboundChannel);
+        this.outboundSessionRegistry = outboundSessionRegistry;
+        setSendBufferSizeLimit(outboundSessionRegistry.getSendBufferSizeLimit());
+        setSendTimeLimit(outboundSessionRegistry.getSendTimeLimit());
+    }
+
+    @Override
+    protected WebSocketSession decorateSession(WebSocketSession session) {
+        return outboundSessionRegistry.register(session);
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+        outboundSessionRegistry.unregister(session.getId());
+        super.afterConnectionClosed(session, closeStatus);
+    }
+}
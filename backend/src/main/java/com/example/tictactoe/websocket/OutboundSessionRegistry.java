@@ -0,0 +1,79 @@
+package com.example.tictactoe.websocket;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Wraps every WebSocket session in an {@link OutboundQueueSessionDecorator} and keeps
+ * track of them so lagging clients can be reported.
+ */
+@Component
+public class OutboundSessionRegistry {
+
+    private final Map<String, OutboundQueueSessionDecorator> sessions = new ConcurrentHashMap<>();
+
+    @Value("${websocket.outbound.send-buffer-size-limit:524288}")
+    private int sendBufferSizeLimit;
+
+    @Value("${websocket.outbound.send-time-limit-ms:10000}")
+    private int sendTimeLimit;
+
+    @Value("${websocket.outbound.overflow-policy:COALESCE}")
+    private OverflowPolicy overflowPolicy;
+
+    @Value("${websocket.outbound.coalesce-prefixes:/topic/game.,/topic/spectate.}")
+    private List<String> coalescePrefixes;
+
+    public int getSendBufferSizeLimit() {
+        return sendBufferSizeLimit;
+    }
+
+    public int getSendTimeLimit() {
+        return sendTimeLimit;
+    }
+
+    /**
+     * Wraps a newly connected session in its outbound queue, see {@link OutboundQueueWebSocketHandler}
+     */
+    public OutboundQueueSessionDecorator register(WebSocketSession session) {
+        OutboundQueueSessionDecorator decorated = new OutboundQueueSessionDecorator(
+                session, sendBufferSizeLimit, sendTimeLimit, overflowPolicy, coalescePrefixes);
+        sessions.put(session.getId(), decorated);
+        return decorated;
+    }
+
+    public void unregister(String sessionId) {
+        sessions.remove(sessionId);
+    }
+
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    /**
+     * Sessions with queued outbound messages, most backed up first
+     */
+    public List<SessionQueueStats> getLaggingSessions(int limit) {
+        return sessions.entrySet().stream()
+                .filter(entry -> entry.getValue().getQueueDepth() > 0 || entry.getValue().getTimeSinceSendStarted() > 0)
+                .map(entry -> new SessionQueueStats(entry.getKey(), entry.getValue()))
+                .sorted(Comparator.comparingInt(SessionQueueStats::queueDepth).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    public record SessionQueueStats(String sessionId, int queueDepth, int bufferedBytes, long sendInProgressMs,
+                                    long coalesced, long dropped) {
+
+        SessionQueueStats(String sessionId, OutboundQueueSessionDecorator session) {
+            this(sessionId, session.getQueueDepth(), session.getBufferedBytes(), session.getTimeSinceSendStarted(),
+                    session.getCoalescedCount(), session.getDroppedCount());
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.tictactoe.websocket;
+
+/**
+ * What to do when a session's outbound queue exceeds its buffer or time limit
+ */
+public enum OverflowPolicy {
+    /**
+     * Replace a queued game snapshot with the newer one for the same destination;
+     * disconnect if the queue is still over its limits
+     */
+    COALESCE,
+    /**
+     * Drop new messages until the client catches up
+     */
+    DROP,
+    /**
+     * Close the session as not reliable
+     */
+    DISCONNECT
+}
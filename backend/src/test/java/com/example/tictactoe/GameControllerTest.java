@@ -2,16 +2,28 @@ package com.example.tictactoe;
 
 import com.example.tictactoe.exception.InvalidGameException;
 import com.example.tictactoe.exception.InvalidParamException;
+import com.example.tictactoe.exception.RateLimitExceededException;
+import com.example.tictactoe.lobby.AvailableGamesCache;
+import com.example.tictactoe.lobby.AvailableGamesPage;
 import com.example.tictactoe.model.*;
+import com.example.tictactoe.ratelimit.MessageRateLimiter;
+import com.example.tictactoe.ratelimit.RateLimitedCommand;
 import com.example.tictactoe.service.GameService;
+import com.example.tictactoe.websocket.GameBroadcaster;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -20,12 +32,23 @@ import static org.mockito.ArgumentMatchers.eq;
 @ExtendWith(MockitoExtension.class)
 class GameControllerTest {
 
+    private static final String SESSION_ID = "session-1";
+
     @Mock
     private GameService gameService;
 
     @Mock
     private SimpMessagingTemplate simpMessagingTemplate;
 
+    @Mock
+    private MessageRateLimiter rateLimiter;
+
+    @Mock
+    private GameBroadcaster gameBroadcaster;
+
+    @Mock
+    private AvailableGamesCache availableGamesCache;
+
     @InjectMocks
     private GameController gameController;
 
@@ -47,10 +70,10 @@ class GameControllerTest {
     }
 
     @Test
-    void testStartGame() {
+    void testStartGame() throws RateLimitExceededException {
         when(gameService.createGame(player1)).thenReturn(mockGame);
 
-        gameController.startGame(player1);
+        gameController.startGame(player1, SESSION_ID);
 
         verify(gameService, times(1)).createGame(player1);
         verify(simpMessagingTemplate, times(1))
@@ -58,7 +81,7 @@ class GameControllerTest {
     }
 
     @Test
-    void testConnectToGame_WithGameId() throws InvalidParamException, InvalidGameException {
+    void testConnectToGame_WithGameId() throws InvalidParamException, InvalidGameException, RateLimitExceededException {
         ConnectRequest request = new ConnectRequest();
         request.setPlayer(player2);
         request.setGameId("test-game-id");
@@ -71,7 +94,7 @@ class GameControllerTest {
 
         when(gameService.connectToGame(player2, "test-game-id")).thenReturn(pendingGame);
 
-        gameController.connectToGame(request);
+        gameController.connectToGame(request, SESSION_ID);
 
         verify(gameService, times(1)).connectToGame(player2, "test-game-id");
         verify(simpMessagingTemplate, times(1))
@@ -81,7 +104,7 @@ class GameControllerTest {
     }
 
     @Test
-    void testConnectToGame_WithoutGameId() throws InvalidParamException, InvalidGameException {
+    void testConnectToGame_WithoutGameId() throws InvalidParamException, InvalidGameException, RateLimitExceededException {
         ConnectRequest request = new ConnectRequest();
         request.setPlayer(player2);
         request.setGameId(null);
@@ -94,7 +117,7 @@ class GameControllerTest {
 
         when(gameService.connectToRandomGame(player2)).thenReturn(pendingGame);
 
-        gameController.connectToGame(request);
+        gameController.connectToGame(request, SESSION_ID);
 
         verify(gameService, times(1)).connectToRandomGame(player2);
         verify(simpMessagingTemplate, times(1))
@@ -104,7 +127,7 @@ class GameControllerTest {
     }
 
     @Test
-    void testConnectToGame_EmptyGameId() throws InvalidParamException, InvalidGameException {
+    void testConnectToGame_EmptyGameId() throws InvalidParamException, InvalidGameException, RateLimitExceededException {
         ConnectRequest request = new ConnectRequest();
         request.setPlayer(player2);
         request.setGameId("");
@@ -117,13 +140,13 @@ class GameControllerTest {
 
         when(gameService.connectToRandomGame(player2)).thenReturn(pendingGame);
 
-        gameController.connectToGame(request);
+        gameController.connectToGame(request, SESSION_ID);
 
         verify(gameService, times(1)).connectToRandomGame(player2);
     }
 
     @Test
-    void testConnectToGame_WithException() throws InvalidParamException, InvalidGameException {
+    void testConnectToGame_WithException() throws InvalidParamException, InvalidGameException, RateLimitExceededException {
         ConnectRequest request = new ConnectRequest();
         request.setPlayer(player2);
         request.setGameId("invalid-game-id");
@@ -132,15 +155,16 @@ class GameControllerTest {
                 .thenThrow(new InvalidParamException("Game not found"));
 
         assertThrows(InvalidParamException.class, () -> {
-            gameController.connectToGame(request);
+            gameController.connectToGame(request, SESSION_ID);
         });
 
         verify(gameService, times(1)).connectToGame(player2, "invalid-game-id");
         verify(simpMessagingTemplate, never()).convertAndSend(anyString(), any(Object.class));
+        verify(gameBroadcaster, never()).broadcast(any());
     }
 
     @Test
-    void testGamePlay() throws InvalidParamException, InvalidGameException {
+    void testGamePlay() throws InvalidParamException, InvalidGameException, RateLimitExceededException {
         Move move = new Move();
         move.setPlayerLogin(player1.getLogin());
         move.setSquareIndex(0);
@@ -148,15 +172,58 @@ class GameControllerTest {
 
         when(gameService.gameplay(move, "test-game-id")).thenReturn(mockGame);
 
-        gameController.gamePlay(move);
+        gameController.gamePlay(move, SESSION_ID);
 
         verify(gameService, times(1)).gameplay(move, "test-game-id");
-        verify(simpMessagingTemplate, times(1))
-                .convertAndSend(eq("/topic/game.test-game-id"), any(Game.class));
+        verify(gameBroadcaster, times(1)).broadcast(argThat(game -> game.getGameId().equals("test-game-id")));
+    }
+
+    @Test
+    void testGamePlay_RateLimited() throws InvalidParamException, InvalidGameException, RateLimitExceededException {
+        Move move = new Move();
+        move.setPlayerLogin(player1.getLogin());
+        move.setSquareIndex(0);
+        move.setGameId("test-game-id");
+
+        doThrow(new RateLimitExceededException("Too many gameplay requests"))
+                .when(rateLimiter).acquire(RateLimitedCommand.GAMEPLAY, SESSION_ID, player1.getLogin());
+
+        assertThrows(RateLimitExceededException.class, () -> {
+            gameController.gamePlay(move, SESSION_ID);
+        });
+
+        verify(gameService, never()).gameplay(any(), any());
+        verify(simpMessagingTemplate, never()).convertAndSend(anyString(), any(Object.class));
+        verify(gameBroadcaster, never()).broadcast(any());
+    }
+
+    @Test
+    void testResume() throws InvalidParamException, RateLimitExceededException {
+        ResumeRequest request = new ResumeRequest();
+        request.setPlayerLogin(player1.getLogin());
+        request.setGameId("test-game-id");
+        request.setLastSeenVersion(3);
+        ResumeResponse response = ResumeResponse.snapshot(mockGame);
+
+        when(gameService.resume("test-game-id", 3)).thenReturn(response);
+
+        assertSame(response, gameController.resume(request, SESSION_ID));
+        verify(rateLimiter).acquire(RateLimitedCommand.RESUME, SESSION_ID, player1.getLogin());
+        verify(simpMessagingTemplate, never()).convertAndSend(anyString(), any(Object.class));
+        verify(gameBroadcaster, never()).broadcast(any());
+    }
+
+    @Test
+    void testSpectate_RepliesWithSnapshot() throws InvalidParamException, RateLimitExceededException {
+        when(gameService.getGame("test-game-id")).thenReturn(mockGame);
+
+        assertSame(mockGame, gameController.spectate("test-game-id", SESSION_ID));
+        verify(rateLimiter).acquire(RateLimitedCommand.SPECTATE, SESSION_ID, null);
+        verify(gameBroadcaster, never()).broadcast(any());
     }
 
     @Test
-    void testGamePlay_WithException() throws InvalidParamException, InvalidGameException {
+    void testGamePlay_WithException() throws InvalidParamException, InvalidGameException, RateLimitExceededException {
         Move move = new Move();
         move.setPlayerLogin(player1.getLogin());
         move.setSquareIndex(0);
@@ -166,30 +233,30 @@ class GameControllerTest {
                 .thenThrow(new InvalidGameException("Not your turn"));
 
         assertThrows(InvalidGameException.class, () -> {
-            gameController.gamePlay(move);
+            gameController.gamePlay(move, SESSION_ID);
         });
 
         verify(gameService, times(1)).gameplay(move, "test-game-id");
         verify(simpMessagingTemplate, never()).convertAndSend(anyString(), any(Object.class));
+        verify(gameBroadcaster, never()).broadcast(any());
     }
 
     @Test
-    void testSurrender() throws InvalidParamException, InvalidGameException {
+    void testSurrender() throws InvalidParamException, InvalidGameException, RateLimitExceededException {
         SurrenderRequest request = new SurrenderRequest();
         request.setPlayerLogin(player1.getLogin());
         request.setGameId("test-game-id");
 
         when(gameService.requestSurrender("test-game-id", player1.getLogin())).thenReturn(mockGame);
 
-        gameController.surrender(request);
+        gameController.surrender(request, SESSION_ID);
 
         verify(gameService, times(1)).requestSurrender("test-game-id", player1.getLogin());
-        verify(simpMessagingTemplate, times(1))
-                .convertAndSend(eq("/topic/game.test-game-id"), any(Game.class));
+        verify(gameBroadcaster, times(1)).broadcast(argThat(game -> game.getGameId().equals("test-game-id")));
     }
 
     @Test
-    void testSurrender_WithException() throws InvalidParamException, InvalidGameException {
+    void testSurrender_WithException() throws InvalidParamException, InvalidGameException, RateLimitExceededException {
         SurrenderRequest request = new SurrenderRequest();
         request.setPlayerLogin(player1.getLogin());
         request.setGameId("test-game-id");
@@ -198,15 +265,16 @@ class GameControllerTest {
                 .thenThrow(new InvalidGameException("Game not in progress"));
 
         assertThrows(InvalidGameException.class, () -> {
-            gameController.surrender(request);
+            gameController.surrender(request, SESSION_ID);
         });
 
         verify(gameService, times(1)).requestSurrender("test-game-id", player1.getLogin());
         verify(simpMessagingTemplate, never()).convertAndSend(anyString(), any(Object.class));
+        verify(gameBroadcaster, never()).broadcast(any());
     }
 
     @Test
-    void testSurrenderResponse_Accepted() throws InvalidParamException, InvalidGameException {
+    void testSurrenderResponse_Accepted() throws InvalidParamException, InvalidGameException, RateLimitExceededException {
         SurrenderResponse response = new SurrenderResponse();
         response.setPlayerLogin(player2.getLogin());
         response.setGameId("test-game-id");
@@ -215,16 +283,15 @@ class GameControllerTest {
         when(gameService.respondToSurrender("test-game-id", player2.getLogin(), true))
                 .thenReturn(mockGame);
 
-        gameController.surrenderResponse(response);
+        gameController.surrenderResponse(response, SESSION_ID);
 
         verify(gameService, times(1))
                 .respondToSurrender("test-game-id", player2.getLogin(), true);
-        verify(simpMessagingTemplate, times(1))
-                .convertAndSend(eq("/topic/game.test-game-id"), any(Game.class));
+        verify(gameBroadcaster, times(1)).broadcast(argThat(game -> game.getGameId().equals("test-game-id")));
     }
 
     @Test
-    void testSurrenderResponse_Declined() throws InvalidParamException, InvalidGameException {
+    void testSurrenderResponse_Declined() throws InvalidParamException, InvalidGameException, RateLimitExceededException {
         SurrenderResponse response = new SurrenderResponse();
         response.setPlayerLogin(player2.getLogin());
         response.setGameId("test-game-id");
@@ -233,16 +300,15 @@ class GameControllerTest {
         when(gameService.respondToSurrender("test-game-id", player2.getLogin(), false))
                 .thenReturn(mockGame);
 
-        gameController.surrenderResponse(response);
+        gameController.surrenderResponse(response, SESSION_ID);
 
         verify(gameService, times(1))
                 .respondToSurrender("test-game-id", player2.getLogin(), false);
-        verify(simpMessagingTemplate, times(1))
-                .convertAndSend(eq("/topic/game.test-game-id"), any(Game.class));
+        verify(gameBroadcaster, times(1)).broadcast(argThat(game -> game.getGameId().equals("test-game-id")));
     }
 
     @Test
-    void testSurrenderResponse_WithException() throws InvalidParamException, InvalidGameException {
+    void testSurrenderResponse_WithException() throws InvalidParamException, InvalidGameException, RateLimitExceededException {
         SurrenderResponse response = new SurrenderResponse();
         response.setPlayerLogin(player2.getLogin());
         response.setGameId("test-game-id");
@@ -252,16 +318,17 @@ class GameControllerTest {
                 .thenThrow(new InvalidGameException("No surrender request"));
 
         assertThrows(InvalidGameException.class, () -> {
-            gameController.surrenderResponse(response);
+            gameController.surrenderResponse(response, SESSION_ID);
         });
 
         verify(gameService, times(1))
                 .respondToSurrender("test-game-id", player2.getLogin(), true);
         verify(simpMessagingTemplate, never()).convertAndSend(anyString(), any(Object.class));
+        verify(gameBroadcaster, never()).broadcast(any());
     }
 
     @Test
-    void testRematch() throws InvalidParamException, InvalidGameException {
+    void testRematch() throws InvalidParamException, InvalidGameException, RateLimitExceededException {
         RematchRequest request = new RematchRequest();
         request.setPlayerLogin(player1.getLogin());
         request.setGameId("test-game-id");
@@ -275,15 +342,14 @@ class GameControllerTest {
 
         when(gameService.requestRematch("test-game-id", player1.getLogin())).thenReturn(finishedGame);
 
-        gameController.rematch(request);
+        gameController.rematch(request, SESSION_ID);
 
         verify(gameService, times(1)).requestRematch("test-game-id", player1.getLogin());
-        verify(simpMessagingTemplate, times(1))
-                .convertAndSend(eq("/topic/game.test-game-id"), any(Game.class));
+        verify(gameBroadcaster, times(1)).broadcast(argThat(game -> game.getGameId().equals("test-game-id")));
     }
 
     @Test
-    void testRematch_WithException() throws InvalidParamException, InvalidGameException {
+    void testRematch_WithException() throws InvalidParamException, InvalidGameException, RateLimitExceededException {
         RematchRequest request = new RematchRequest();
         request.setPlayerLogin(player1.getLogin());
         request.setGameId("test-game-id");
@@ -292,15 +358,16 @@ class GameControllerTest {
                 .thenThrow(new InvalidGameException("Game not finished"));
 
         assertThrows(InvalidGameException.class, () -> {
-            gameController.rematch(request);
+            gameController.rematch(request, SESSION_ID);
         });
 
         verify(gameService, times(1)).requestRematch("test-game-id", player1.getLogin());
         verify(simpMessagingTemplate, never()).convertAndSend(anyString(), any(Object.class));
+        verify(gameBroadcaster, never()).broadcast(any());
     }
 
     @Test
-    void testRematchResponse_Accepted() throws InvalidParamException, InvalidGameException {
+    void testRematchResponse_Accepted() throws InvalidParamException, InvalidGameException, RateLimitExceededException {
         RematchResponse response = new RematchResponse();
         response.setPlayerLogin(player2.getLogin());
         response.setGameId("test-game-id");
@@ -316,7 +383,7 @@ class GameControllerTest {
         when(gameService.respondToRematch("test-game-id", player2.getLogin(), true))
                 .thenReturn(newGame);
 
-        gameController.rematchResponse(response);
+        gameController.rematchResponse(response, SESSION_ID);
 
         verify(gameService, times(1))
                 .respondToRematch("test-game-id", player2.getLogin(), true);
@@ -328,7 +395,7 @@ class GameControllerTest {
     }
 
     @Test
-    void testRematchResponse_Declined() throws InvalidParamException, InvalidGameException {
+    void testRematchResponse_Declined() throws InvalidParamException, InvalidGameException, RateLimitExceededException {
         RematchResponse response = new RematchResponse();
         response.setPlayerLogin(player2.getLogin());
         response.setGameId("test-game-id");
@@ -343,16 +410,15 @@ class GameControllerTest {
         when(gameService.respondToRematch("test-game-id", player2.getLogin(), false))
                 .thenReturn(finishedGame);
 
-        gameController.rematchResponse(response);
+        gameController.rematchResponse(response, SESSION_ID);
 
         verify(gameService, times(1))
                 .respondToRematch("test-game-id", player2.getLogin(), false);
-        verify(simpMessagingTemplate, times(1))
-                .convertAndSend(eq("/topic/game.test-game-id"), any(Game.class));
+        verify(gameBroadcaster, times(1)).broadcast(argThat(game -> game.getGameId().equals("test-game-id")));
     }
 
     @Test
-    void testRematchResponse_WithException() throws InvalidParamException, InvalidGameException {
+    void testRematchResponse_WithException() throws InvalidParamException, InvalidGameException, RateLimitExceededException {
         RematchResponse response = new RematchResponse();
         response.setPlayerLogin(player2.getLogin());
         response.setGameId("test-game-id");
@@ -362,12 +428,71 @@ class GameControllerTest {
                 .thenThrow(new InvalidGameException("No rematch request"));
 
         assertThrows(InvalidGameException.class, () -> {
-            gameController.rematchResponse(response);
+            gameController.rematchResponse(response, SESSION_ID);
         });
 
         verify(gameService, times(1))
                 .respondToRematch("test-game-id", player2.getLogin(), true);
         verify(simpMessagingTemplate, never()).convertAndSend(anyString(), any(Object.class));
+        verify(gameBroadcaster, never()).broadcast(any());
+    }
+
+    @Test
+    void testGetAvailableGames_ReturnsOpenGamesInFull() {
+        java.util.List<Game> games = java.util.List.of(mockGame);
+        when(availableGamesCache.getGameIds()).thenReturn(java.util.List.of("game-1", "gone"));
+        when(gameService.getAvailableGames(java.util.List.of("game-1", "gone"))).thenReturn(games);
+
+        assertSame(games, gameController.getAvailableGames());
+    }
+
+    @Test
+    void testGetAvailableGamesPage_ReturnsPageWithCursorAndEtag() {
+        byte[] body = "[]".getBytes();
+        when(availableGamesCache.getPage(null, 20)).thenReturn(new AvailableGamesPage(body, "\"abc-2\"", "123.game-1"));
+
+        ResponseEntity<byte[]> response = gameController.getAvailableGamesPage(null, 20, null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertArrayEquals(body, response.getBody());
+        assertEquals("\"abc-2\"", response.getHeaders().getETag());
+        assertEquals("123.game-1", response.getHeaders().getFirst(GameController.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void testGetAvailableGamesPage_NotModifiedWhenEtagMatches() {
+        when(availableGamesCache.getPage("123.game-1", 50)).thenReturn(new AvailableGamesPage("[]".getBytes(), "\"abc-2\"", null));
+
+        ResponseEntity<byte[]> response = gameController.getAvailableGamesPage("123.game-1", 50, "\"abc-2\"");
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+        assertEquals("\"abc-2\"", response.getHeaders().getETag());
+    }
+
+    @Test
+    void testGetAvailableGamesPage_IfNoneMatchListedWeakOrWildcard() {
+        when(availableGamesCache.getPage(null, 20)).thenReturn(new AvailableGamesPage("[]".getBytes(), "\"abc-2\"", null));
+
+        assertEquals(HttpStatus.NOT_MODIFIED, gameController.getAvailableGamesPage(null, 20, "\"old-9\", \"abc-2\"").getStatusCode());
+        assertEquals(HttpStatus.NOT_MODIFIED, gameController.getAvailableGamesPage(null, 20, "W/\"abc-2\"").getStatusCode());
+        assertEquals(HttpStatus.NOT_MODIFIED, gameController.getAvailableGamesPage(null, 20, "*").getStatusCode());
     }
-}
 
+    @Test
+    void testGetAvailableGamesPage_IfNoneMatchContainingTheTagIsNotAMatch() {
+        when(availableGamesCache.getPage(null, 20)).thenReturn(new AvailableGamesPage("[]".getBytes(), "\"abc-2\"", null));
+
+        assertEquals(HttpStatus.OK, gameController.getAvailableGamesPage(null, 20, "\"x\"abc-2\"\"").getStatusCode());
+        assertEquals(HttpStatus.OK, gameController.getAvailableGamesPage(null, 20, "\"abc-2\"x").getStatusCode());
+    }
+
+    @Test
+    void testGetAvailableGamesPage_RejectsBadPagination() {
+        when(availableGamesCache.getPage("garbage", 20)).thenThrow(new IllegalArgumentException("Malformed cursor"));
+
+        assertEquals(HttpStatus.BAD_REQUEST, gameController.getAvailableGamesPage(null, 0, null).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, gameController.getAvailableGamesPage(null, 101, null).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, gameController.getAvailableGamesPage("garbage", 20, null).getStatusCode());
+    }
+}
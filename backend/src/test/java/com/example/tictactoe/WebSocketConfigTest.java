@@ -0,0 +1,67 @@
+package com.example.tictactoe;
+
+import com.example.tictactoe.websocket.ExactMatchSubscriptionRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.client.WebSocketClient;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.springframework.web.socket.sockjs.client.SockJsClient;
+import org.springframework.web.socket.sockjs.client.WebSocketTransport;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class WebSocketConfigTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private SimpleBrokerMessageHandler simpleBrokerMessageHandler;
+
+    private StompSession session;
+
+    @AfterEach
+    void tearDown() {
+        if (session != null && session.isConnected()) {
+            session.disconnect();
+        }
+    }
+
+    @Test
+    void testNativeEndpoint_AcceptsStompConnection() throws Exception {
+        session = connect(new StandardWebSocketClient(), "ws://localhost:" + port + "/ws-native");
+
+        assertTrue(session.isConnected());
+    }
+
+    @Test
+    void testSockJsEndpoint_AcceptsStompConnection() throws Exception {
+        SockJsClient sockJsClient = new SockJsClient(List.of(new WebSocketTransport(new StandardWebSocketClient())));
+        session = connect(sockJsClient, "http://localhost:" + port + "/ws");
+
+        assertTrue(session.isConnected());
+    }
+
+    @Test
+    void testSimpleBroker_UsesExactMatchSubscriptionRegistry() {
+        assertInstanceOf(ExactMatchSubscriptionRegistry.class, simpleBrokerMessageHandler.getSubscriptionRegistry());
+    }
+
+    private StompSession connect(WebSocketClient client, String url) throws Exception {
+        WebSocketStompClient stompClient = new WebSocketStompClient(client);
+        return stompClient.connectAsync(url, new StompSessionHandlerAdapter() {})
+                .get(10, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.tictactoe.config;
+
+import com.example.tictactoe.logging.SamplingTurboFilter;
+import com.example.tictactoe.model.Game;
+import com.example.tictactoe.model.Player;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NativeRuntimeHintsTest {
+
+    private RuntimeHints hints;
+
+    @BeforeEach
+    void setUp() {
+        hints = new RuntimeHints();
+        new NativeRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void testRegisterHints_BindsGameForJackson() throws NoSuchMethodException {
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(Game.class.getMethod("getBoard")).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(Game.class.getMethod("setMoveSequences", Map.class)).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(Player.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(SamplingTurboFilter.class.getMethod("setRate", int.class)).test(hints));
+    }
+
+    @Test
+    void testRegisterHints_CoversEveryDefaultTypingClassName() throws Exception {
+        Game game = new Game();
+        game.setGameId("hinted");
+        game.setPlayer1(new Player("alice"));
+        game.setPlayer2(new Player("bob"));
+        game.setPendingJoinPlayer(new Player("carol"));
+        game.setBoard(new String[9]);
+        game.updateLastActivity();
+        game.recordMoveSequence("alice", 1);
+
+        ObjectMapper mapper = RedisConfig.valueObjectMapper();
+        List<String> typeIds = new ArrayList<>();
+        collectTypeIds(mapper.readTree(mapper.writeValueAsBytes(game)), typeIds);
+
+        assertFalse(typeIds.isEmpty());
+        for (String typeId : typeIds) {
+            Class<?> type = Class.forName(typeId);
+            assertTrue(RuntimeHintsPredicates.reflection().onType(type).test(hints), typeId + " is not registered");
+        }
+    }
+
+    /**
+     * Default typing writes a typed value as a two-element array: the class name, then the value
+     */
+    private static void collectTypeIds(JsonNode node, List<String> typeIds) {
+        if (node.isArray() && node.size() == 2 && node.get(0).isTextual() && !node.get(1).isValueNode()) {
+            typeIds.add(node.get(0).asText());
+        }
+        node.forEach(child -> collectTypeIds(child, typeIds));
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.tictactoe.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnowflakeGameIdGeneratorTest {
+
+    private static final long NOW = 1760000000000L;
+
+    @Test
+    void testBase62_RoundTripsAndKeepsOrder() {
+        long[] values = {0, 1, 61, 62, 1L << 40, Long.MAX_VALUE};
+        String previous = null;
+        for (long value : values) {
+            String encoded = Base62.encode(value);
+            assertEquals(Base62.LENGTH, encoded.length());
+            assertEquals(value, Base62.decode(encoded));
+            if (previous != null) {
+                assertTrue(previous.compareTo(encoded) < 0, previous + " should sort before " + encoded);
+            }
+            previous = encoded;
+        }
+    }
+
+    @Test
+    void testNextId_EncodesTimestampAndNode() {
+        SnowflakeGameIdGenerator generator = new SnowflakeGameIdGenerator(42, () -> NOW);
+
+        long id = Base62.decode(generator.nextId());
+
+        assertEquals(NOW, SnowflakeGameIdGenerator.timestampOf(id));
+        assertEquals(42, SnowflakeGameIdGenerator.nodeIdOf(id));
+    }
+
+    @Test
+    void testNextId_SequenceOverflowBorrowsNextMillisecond() {
+        SnowflakeGameIdGenerator generator = new SnowflakeGameIdGenerator(1, () -> NOW);
+
+        long previous = -1;
+        for (int i = 0; i < 5000; i++) {
+            long id = generator.nextLong();
+            assertTrue(id > previous);
+            previous = id;
+        }
+        assertEquals(NOW + 1, SnowflakeGameIdGenerator.timestampOf(previous));
+    }
+
+    @Test
+    void testNextId_StaysOrderedWhenClockStepsBack() {
+        AtomicLong clock = new AtomicLong(NOW);
+        SnowflakeGameIdGenerator generator = new SnowflakeGameIdGenerator(1, clock::get);
+
+        String before = generator.nextId();
+        clock.addAndGet(-1000);
+        String after = generator.nextId();
+
+        assertTrue(before.compareTo(after) < 0);
+    }
+
+    @Test
+    void testNextId_UniqueAcrossThreadsAndNodes() throws Exception {
+        List<SnowflakeGameIdGenerator> nodes = List.of(new SnowflakeGameIdGenerator(1), new SnowflakeGameIdGenerator(2));
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                SnowflakeGameIdGenerator generator = nodes.get(t % 2);
+                futures.add(executor.submit(() -> {
+                    Set<String> local = new HashSet<>();
+                    for (int i = 0; i < 20_000; i++) {
+                        local.add(generator.nextId());
+                    }
+                    ids.addAll(local);
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(8 * 20_000, ids.size());
+    }
+
+    @Test
+    void testConstructor_RejectsOutOfRangeNode() {
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeGameIdGenerator(1024));
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.tictactoe.leaderboard;
+
+import com.example.tictactoe.event.GameLifecycleEvent;
+import com.example.tictactoe.model.Game;
+import com.example.tictactoe.model.GameStatus;
+import com.example.tictactoe.model.Player;
+import com.example.tictactoe.model.TicToe;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LeaderboardServiceTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ZSetOperations<String, String> zSetOperations;
+
+    private LeaderboardService leaderboardService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        // Run pipelined callbacks directly against the mocked template
+        lenient().when(redisTemplate.executePipelined(any(SessionCallback.class))).thenAnswer(invocation -> {
+            invocation.<SessionCallback<?>>getArgument(0).execute(redisTemplate);
+            return List.of();
+        });
+        Clock clock = Clock.fixed(Instant.parse("2026-10-19T12:00:00Z"), ZoneOffset.UTC);
+        leaderboardService = new LeaderboardService(redisTemplate, clock);
+    }
+
+    @Test
+    void testWin_IncrementsEveryPeriodForWinner() {
+        leaderboardService.onGameLifecycle(finished(TicToe.O));
+
+        verify(zSetOperations).incrementScore("tictactoe:leaderboard:wins:all", "bob", 1);
+        verify(zSetOperations).incrementScore("tictactoe:leaderboard:wins:daily:2026-10-19", "bob", 1);
+        verify(zSetOperations).incrementScore("tictactoe:leaderboard:wins:weekly:2026-W43", "bob", 1);
+        verify(zSetOperations, never()).incrementScore(anyString(), eq("alice"), anyDouble());
+        verify(redisTemplate, never()).expire(eq("tictactoe:leaderboard:wins:all"), any());
+    }
+
+    @Test
+    void testDraw_IncrementsBothPlayers() {
+        leaderboardService.onGameLifecycle(finished(null));
+
+        verify(zSetOperations).incrementScore("tictactoe:leaderboard:draws:all", "alice", 1);
+        verify(zSetOperations).incrementScore("tictactoe:leaderboard:draws:all", "bob", 1);
+    }
+
+    @Test
+    void testGetPage_ServesTopPagesFromCache() {
+        Set<ZSetOperations.TypedTuple<String>> top = new LinkedHashSet<>();
+        top.add(new DefaultTypedTuple<>("bob", 5.0));
+        top.add(new DefaultTypedTuple<>("alice", 3.0));
+        top.add(new DefaultTypedTuple<>("carol", 1.0));
+        when(zSetOperations.reverseRangeWithScores("tictactoe:leaderboard:wins:all", 0, 99)).thenReturn(top);
+
+        List<LeaderboardEntry> first = leaderboardService.getPage(LeaderboardMetric.WINS, LeaderboardPeriod.ALL_TIME, 0, 2);
+        List<LeaderboardEntry> second = leaderboardService.getPage(LeaderboardMetric.WINS, LeaderboardPeriod.ALL_TIME, 2, 2);
+
+        assertEquals(List.of(new LeaderboardEntry(1, "bob", 5), new LeaderboardEntry(2, "alice", 3)), first);
+        assertEquals(List.of(new LeaderboardEntry(3, "carol", 1)), second);
+        verify(zSetOperations, times(1)).reverseRangeWithScores(anyString(), anyLong(), anyLong());
+    }
+
+    @Test
+    void testGetPage_BeyondCachedTopReadsRange() {
+        when(zSetOperations.reverseRangeWithScores("tictactoe:leaderboard:wins:all", 100, 109))
+                .thenReturn(new LinkedHashSet<>(List.of(new DefaultTypedTuple<>("dave", 1.0))));
+
+        List<LeaderboardEntry> page = leaderboardService.getPage(LeaderboardMetric.WINS, LeaderboardPeriod.ALL_TIME, 100, 10);
+
+        assertEquals(List.of(new LeaderboardEntry(101, "dave", 1)), page);
+    }
+
+    @Test
+    void testGetPage_LargestOffsetDoesNotOverflow() {
+        when(zSetOperations.reverseRangeWithScores("tictactoe:leaderboard:wins:all", Integer.MAX_VALUE, Integer.MAX_VALUE + 19L))
+                .thenReturn(new LinkedHashSet<>());
+
+        List<LeaderboardEntry> page = leaderboardService.getPage(LeaderboardMetric.WINS, LeaderboardPeriod.ALL_TIME, Integer.MAX_VALUE, 20);
+
+        assertTrue(page.isEmpty());
+    }
+
+    @Test
+    void testGetEntry_UsesRankLookup() {
+        when(zSetOperations.reverseRank("tictactoe:leaderboard:rating:all", "alice")).thenReturn(41L);
+        when(zSetOperations.score("tictactoe:leaderboard:rating:all", "alice")).thenReturn(1312.0);
+        when(zSetOperations.reverseRank("tictactoe:leaderboard:rating:all", "nobody")).thenReturn(null);
+
+        assertEquals(new LeaderboardEntry(42, "alice", 1312),
+                leaderboardService.getEntry(LeaderboardMetric.RATING, LeaderboardPeriod.ALL_TIME, "alice"));
+        assertNull(leaderboardService.getEntry(LeaderboardMetric.RATING, LeaderboardPeriod.ALL_TIME, "nobody"));
+    }
+
+    @Test
+    void testRecordRatings_AllTimeScoreAndPeriodGain() {
+        leaderboardService.recordRatings(Map.of("alice", 1216), Map.of("alice", 16L));
+
+        verify(zSetOperations).add("tictactoe:leaderboard:rating:all", "alice", 1216);
+        verify(zSetOperations).incrementScore("tictactoe:leaderboard:rating:daily:2026-10-19", "alice", 16);
+        verify(zSetOperations).incrementScore("tictactoe:leaderboard:rating:weekly:2026-W43", "alice", 16);
+    }
+
+    private GameLifecycleEvent finished(TicToe winner) {
+        Game game = new Game();
+        game.setGameId("g1");
+        game.setPlayer1(new Player("alice"));
+        game.setPlayer2(new Player("bob"));
+        game.setStatus(GameStatus.FINISHED);
+        game.setWinner(winner);
+        return new GameLifecycleEvent(GameLifecycleEvent.Type.FINISHED, game);
+    }
+}
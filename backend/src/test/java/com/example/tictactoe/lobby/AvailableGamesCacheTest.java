@@ -0,0 +1,188 @@
+package com.example.tictactoe.lobby;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AvailableGamesCacheTest {
+
+    private static final long NOW = 1_760_000_000_000L;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final AtomicLong now = new AtomicLong(NOW);
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+    private List<LobbyGame> lobbies = new ArrayList<>();
+    private volatile Runnable blockNextLoad;
+    private AvailableGamesCache cache;
+
+    @BeforeEach
+    void setUp() {
+        // Stub subclass rather than a mock, so 50k lobbies are not recorded as Mockito invocations
+        LobbyService lobbyService = new LobbyService(null, null) {
+            @Override
+            public LobbySnapshot getSnapshot(int limit) {
+                loads.incrementAndGet();
+                Runnable block = blockNextLoad;
+                blockNextLoad = null;
+                if (block != null) {
+                    block.run();
+                }
+                return new LobbySnapshot(sequence.get(), List.copyOf(lobbies));
+            }
+
+            @Override
+            public long getSequence() {
+                return sequence.get();
+            }
+        };
+        cache = new AvailableGamesCache(lobbyService, objectMapper, now::get);
+    }
+
+    @Test
+    void testGetPage_WalksAllLobbiesNewestFirst() throws Exception {
+        addLobbies(45);
+
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            AvailableGamesPage page = cache.getPage(cursor, 20);
+            for (LobbyGame game : objectMapper.readValue(page.body(), LobbyGame[].class)) {
+                seen.add(game.gameId());
+            }
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertEquals(45, seen.size());
+        assertEquals("game-44", seen.get(0));
+        assertEquals("game-0", seen.get(44));
+    }
+
+    @Test
+    void testGetPage_ServesFromSnapshotUntilChangeOrRefresh() {
+        addLobbies(3);
+
+        String etag = cache.getPage(null, 20).etag();
+        assertEquals(etag, cache.getPage(null, 20).etag());
+        assertEquals(1, loads.get());
+
+        now.addAndGet(1000);
+        assertEquals(etag, cache.getPage(null, 20).etag(), "an unchanged page keeps its ETag across rebuilds");
+        assertEquals(2, loads.get());
+
+        lobbies.add(new LobbyGame("newest", "carol", Instant.ofEpochMilli(NOW + 1)));
+        sequence.incrementAndGet();
+        assertEquals(etag, cache.getPage(null, 20).etag(), "changes are picked up at most once per min-rebuild interval");
+        now.addAndGet(100);
+        assertNotEquals(etag, cache.getPage(null, 20).etag());
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void testGetPage_CursorOfRemovedGameResumesInPlace() {
+        addLobbies(5);
+        AvailableGamesPage first = cache.getPage(null, 2);
+        lobbies.removeIf(game -> first.nextCursor().endsWith("." + game.gameId()));
+        sequence.incrementAndGet();
+        now.addAndGet(100);
+
+        String body = new String(cache.getPage(first.nextCursor(), 2).body(), StandardCharsets.UTF_8);
+
+        assertTrue(body.contains("game-2") && body.contains("game-1"), body);
+    }
+
+    @Test
+    void testGetGameIds_SharesTheSnapshotNewestFirst() {
+        addLobbies(3);
+        cache.getPage(null, 20);
+
+        assertEquals(List.of("game-2", "game-1", "game-0"), cache.getGameIds());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testGetPage_RejectsMalformedCursor() {
+        assertThrows(IllegalArgumentException.class, () -> cache.getPage("not-a-cursor", 20));
+        assertThrows(IllegalArgumentException.class, () -> cache.getPage("abc.game-1", 20));
+    }
+
+    @Test
+    void testGetPage_FiftyThousandLobbiesFromOneLoad() {
+        addLobbies(50_000);
+
+        Set<String> cursors = new HashSet<>();
+        String cursor = null;
+        int requests = 0;
+        do {
+            AvailableGamesPage page = cache.getPage(cursor, 100);
+            cursor = page.nextCursor();
+            requests++;
+            assertTrue(cursor == null || cursors.add(cursor));
+        } while (cursor != null);
+
+        assertEquals(500, requests);
+        assertEquals(1, loads.get());
+
+        lobbies.add(new LobbyGame("newest", "carol", Instant.ofEpochMilli(NOW + 1)));
+        sequence.incrementAndGet();
+        now.addAndGet(100);
+        cache.getPage(null, 20);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testGetPage_StaleSnapshotServedWhileAnotherThreadRebuilds() throws Exception {
+        addLobbies(3);
+        String etag = cache.getPage(null, 20).etag();
+        CountDownLatch rebuilding = new CountDownLatch(1);
+        CountDownLatch finishRebuild = new CountDownLatch(1);
+        blockNextLoad = () -> {
+            rebuilding.countDown();
+            await(finishRebuild);
+        };
+        lobbies.add(new LobbyGame("newest", "carol", Instant.ofEpochMilli(NOW + 1)));
+        sequence.incrementAndGet();
+        now.addAndGet(100);
+
+        CompletableFuture<AvailableGamesPage> rebuilder = CompletableFuture.supplyAsync(() -> cache.getPage(null, 20));
+        assertTrue(rebuilding.await(5, TimeUnit.SECONDS));
+        assertEquals(etag, cache.getPage(null, 20).etag(), "the previous snapshot is served during the rebuild");
+
+        finishRebuild.countDown();
+        assertNotEquals(etag, rebuilder.get(5, TimeUnit.SECONDS).etag());
+        assertEquals(2, loads.get());
+    }
+
+    private void addLobbies(int count) {
+        for (int i = 0; i < count; i++) {
+            lobbies.add(new LobbyGame("game-" + i, "player-" + i, Instant.ofEpochMilli(NOW - 60_000 + i)));
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
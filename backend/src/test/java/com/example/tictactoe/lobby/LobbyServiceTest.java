@@ -0,0 +1,174 @@
+package com.example.tictactoe.lobby;
+
+import com.example.tictactoe.event.GameLifecycleEvent;
+import com.example.tictactoe.model.Game;
+import com.example.tictactoe.model.GameStatus;
+import com.example.tictactoe.model.Player;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LobbyServiceTest {
+
+    private static final String KEY = "tictactoe:lobby";
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ZSetOperations<String, String> zSetOperations;
+
+    @Mock
+    private HashOperations<String, Object, Object> hashOperations;
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    private final Map<String, Double> lobby = new ConcurrentHashMap<>();
+    private final Map<Object, Object> creators = new ConcurrentHashMap<>();
+    private final AtomicLong now = new AtomicLong(1_760_000_000_000L);
+    private LobbyService lobbyService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        lenient().when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        lenient().when(redisTemplate.<Object, Object>opsForHash()).thenReturn(hashOperations);
+        lenient().when(redisTemplate.executePipelined(any(SessionCallback.class))).thenAnswer(invocation -> {
+            invocation.<SessionCallback<Object>>getArgument(0).execute((RedisOperations<Object, Object>) (Object) redisTemplate);
+            return List.of();
+        });
+        lenient().when(zSetOperations.add(eq(KEY), anyString(), anyDouble())).thenAnswer(invocation -> {
+            lobby.put(invocation.getArgument(1), invocation.getArgument(2));
+            return true;
+        });
+        lenient().when(zSetOperations.remove(eq(KEY), any())).thenAnswer(invocation ->
+                lobby.remove(invocation.<String>getArgument(1)) != null ? 1L : 0L);
+        lenient().when(zSetOperations.reverseRangeByScoreWithScores(eq(KEY), anyDouble(), anyDouble(), anyLong(), anyLong()))
+                .thenAnswer(invocation -> {
+                    double min = invocation.getArgument(1);
+                    long count = invocation.getArgument(4);
+                    return lobby.entrySet().stream()
+                            .filter(entry -> entry.getValue() >= min)
+                            .sorted(Map.Entry.<String, Double>comparingByValue().reversed())
+                            .limit(count)
+                            .map(entry -> new DefaultTypedTuple<>(entry.getKey(), entry.getValue()))
+                            .collect(Collectors.toCollection(LinkedHashSet::new));
+                });
+        lenient().when(zSetOperations.rangeByScore(eq(KEY), anyDouble(), anyDouble())).thenAnswer(invocation -> {
+            double max = invocation.getArgument(2);
+            return lobby.entrySet().stream()
+                    .filter(entry -> entry.getValue() <= max)
+                    .sorted(Map.Entry.comparingByValue(Comparator.naturalOrder()))
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
+        });
+        lenient().doAnswer(invocation -> {
+            creators.put(invocation.getArgument(1), invocation.getArgument(2));
+            return null;
+        }).when(hashOperations).put(anyString(), any(), any());
+        lenient().when(hashOperations.delete(anyString(), any())).thenAnswer(invocation ->
+                creators.remove(invocation.getArgument(1)) != null ? 1L : 0L);
+        lenient().when(hashOperations.multiGet(anyString(), anyCollection())).thenAnswer(invocation ->
+                invocation.<List<Object>>getArgument(1).stream().map(creators::get).toList());
+        lobbyService = new LobbyService(redisTemplate, messagingTemplate, now::get);
+    }
+
+    @Test
+    void testCreated_AddsLobbyAndPublishesDelta() {
+        lobbyService.onGameLifecycle(new GameLifecycleEvent(GameLifecycleEvent.Type.CREATED, lobbyGame("g1", "alice", 0)));
+
+        LobbyEvent event = lastEvent();
+        assertEquals(LobbyEvent.Type.ADDED, event.type());
+        assertEquals(1, event.sequence());
+        assertEquals("alice", event.game().creatorLogin());
+        assertEquals(1, lobbyService.getSnapshot().games().size());
+    }
+
+    @Test
+    void testStarted_ClaimsLobbyOnce() {
+        Game game = lobbyGame("g1", "alice", 0);
+        lobbyService.onGameLifecycle(new GameLifecycleEvent(GameLifecycleEvent.Type.CREATED, game));
+
+        lobbyService.onGameLifecycle(new GameLifecycleEvent(GameLifecycleEvent.Type.STARTED, game));
+        lobbyService.onGameLifecycle(new GameLifecycleEvent(GameLifecycleEvent.Type.STARTED, game));
+
+        assertEquals(LobbyEvent.Type.CLAIMED, lastEvent().type());
+        verify(messagingTemplate, times(2)).convertAndSend(eq(LobbyService.LOBBY_TOPIC), any(LobbyEvent.class));
+        assertTrue(lobbyService.getSnapshot().games().isEmpty());
+    }
+
+    @Test
+    void testSnapshot_NewestFirstWithCurrentSequence() {
+        lobbyService.onGameLifecycle(new GameLifecycleEvent(GameLifecycleEvent.Type.CREATED, lobbyGame("old", "alice", 5000)));
+        lobbyService.onGameLifecycle(new GameLifecycleEvent(GameLifecycleEvent.Type.CREATED, lobbyGame("new", "bob", 1000)));
+
+        LobbySnapshot snapshot = lobbyService.getSnapshot();
+
+        assertEquals(2, snapshot.sequence());
+        assertEquals(List.of("new", "old"), snapshot.games().stream().map(LobbyGame::gameId).toList());
+        assertEquals(Instant.ofEpochMilli(now.get() - 1000), snapshot.games().get(0).createdAt());
+    }
+
+    @Test
+    void testExpireOldLobbies_PublishesExpired() {
+        lobbyService.onGameLifecycle(new GameLifecycleEvent(GameLifecycleEvent.Type.CREATED, lobbyGame("stale", "alice", 11 * 60_000)));
+        lobbyService.onGameLifecycle(new GameLifecycleEvent(GameLifecycleEvent.Type.CREATED, lobbyGame("fresh", "bob", 0)));
+
+        lobbyService.expireOldLobbies();
+
+        LobbyEvent event = lastEvent();
+        assertEquals(LobbyEvent.Type.EXPIRED, event.type());
+        assertEquals("stale", event.gameId());
+        assertEquals(List.of("fresh"), lobbyService.getSnapshot().games().stream().map(LobbyGame::gameId).toList());
+    }
+
+    @Test
+    void testRedisFailure_DoesNotPropagate() {
+        when(zSetOperations.remove(eq(KEY), any())).thenThrow(new QueryTimeoutException("timeout"));
+
+        assertDoesNotThrow(() -> lobbyService.onGameLifecycle(
+                new GameLifecycleEvent(GameLifecycleEvent.Type.EXPIRED, lobbyGame("g1", "alice", 0))));
+        verify(messagingTemplate, never()).convertAndSend(anyString(), any(Object.class));
+    }
+
+    private Game lobbyGame(String gameId, String creator, long ageMillis) {
+        Game game = new Game();
+        game.setGameId(gameId);
+        game.setPlayer1(new Player(creator));
+        game.setStatus(GameStatus.NEW);
+        game.setCreatedAt(Instant.ofEpochMilli(now.get() - ageMillis));
+        return game;
+    }
+
+    private LobbyEvent lastEvent() {
+        ArgumentCaptor<LobbyEvent> captor = ArgumentCaptor.forClass(LobbyEvent.class);
+        verify(messagingTemplate, atLeastOnce()).convertAndSend(eq(LobbyService.LOBBY_TOPIC), captor.capture());
+        return captor.getValue();
+    }
+}
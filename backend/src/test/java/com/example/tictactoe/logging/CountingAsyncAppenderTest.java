@@ -0,0 +1,84 @@
+package com.example.tictactoe.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.AppenderBase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CountingAsyncAppenderTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch firstWriteStarted = new CountDownLatch(1);
+    private CountingAsyncAppender appender;
+    private LoggerContext context;
+
+    @BeforeEach
+    void setUp() {
+        context = new LoggerContext();
+        context.setMDCAdapter(new LogbackMDCAdapter());
+        // Stands in for a console that has stopped draining
+        AppenderBase<ILoggingEvent> stuck = new AppenderBase<>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                firstWriteStarted.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        stuck.setContext(context);
+        stuck.start();
+        appender = new CountingAsyncAppender();
+        appender.setContext(context);
+        appender.setQueueSize(10);
+        appender.setNeverBlock(true);
+        appender.addAppender(stuck);
+        appender.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        appender.stop();
+    }
+
+    @Test
+    void testFullQueue_CountsInsteadOfBlocking() throws Exception {
+        appender.doAppend(event(Level.ERROR));
+        assertTrue(firstWriteStarted.await(5, TimeUnit.SECONDS));
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 100; i++) {
+            appender.doAppend(event(Level.ERROR));
+            appender.doAppend(event(Level.INFO));
+        }
+
+        assertTrue(TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start) < 1, "appending must not block");
+        assertEquals(10, appender.getNumberOfElementsInQueue());
+        // INFO goes once the queue is 80% full; ERROR only when there is no room at all
+        assertEquals(190, appender.getDiscardedCount() + appender.getOverflowedCount());
+        assertTrue(appender.getDiscardedCount() >= 90, "nearly every INFO is discarded");
+        assertTrue(appender.getOverflowedCount() >= 90, "nearly every ERROR overflows");
+    }
+
+    private LoggingEvent event(Level level) {
+        LoggingEvent event = new LoggingEvent();
+        event.setLoggerContext(context);
+        event.setLoggerName("test");
+        event.setLevel(level);
+        event.setMessage("message");
+        return event;
+    }
+}
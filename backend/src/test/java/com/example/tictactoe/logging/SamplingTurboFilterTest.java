@@ -0,0 +1,69 @@
+package com.example.tictactoe.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SamplingTurboFilterTest {
+
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    private SamplingTurboFilter sampler;
+    private Logger logger;
+
+    @BeforeEach
+    void setUp() {
+        // A private context, so the application's logging configuration is left alone
+        LoggerContext context = new LoggerContext();
+        sampler = new SamplingTurboFilter();
+        sampler.setRate(10);
+        sampler.setContext(context);
+        sampler.start();
+        context.addTurboFilter(sampler);
+        appender.setContext(context);
+        appender.start();
+        logger = context.getLogger("sampled");
+        logger.setLevel(Level.INFO);
+        logger.addAppender(appender);
+    }
+
+    @Test
+    void testMarkedStatements_KeepOneInRatePerCallSite() {
+        for (int i = 0; i < 100; i++) {
+            logger.info(SamplingTurboFilter.HIGH_FREQUENCY, "move {}", i);
+            logger.info(SamplingTurboFilter.HIGH_FREQUENCY, "broadcast {}", i);
+        }
+
+        assertEquals(20, appender.list.size());
+        assertEquals("move 0", appender.list.get(0).getFormattedMessage());
+        assertEquals("move 10", appender.list.get(2).getFormattedMessage());
+        assertEquals(180, sampler.getSampledOutCount());
+    }
+
+    @Test
+    void testUnmarkedAndWarnStatements_AreNeverSampled() {
+        for (int i = 0; i < 20; i++) {
+            logger.info("connect {}", i);
+            logger.warn(SamplingTurboFilter.HIGH_FREQUENCY, "slow move {}", i);
+        }
+
+        assertEquals(40, appender.list.size());
+        assertEquals(0, sampler.getSampledOutCount());
+    }
+
+    @Test
+    void testDisabledLevel_DoesNotUseSamplingSlots() {
+        for (int i = 0; i < 50; i++) {
+            logger.debug(SamplingTurboFilter.HIGH_FREQUENCY, "move {}", i);
+        }
+        logger.info(SamplingTurboFilter.HIGH_FREQUENCY, "move {}", 50);
+
+        assertEquals(1, appender.list.size());
+        assertEquals(0, sampler.getSampledOutCount());
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.tictactoe.matchmaking;
+
+import com.example.tictactoe.model.Game;
+import com.example.tictactoe.model.GameStatus;
+import com.example.tictactoe.model.Player;
+import com.example.tictactoe.rating.RatingService;
+import com.example.tictactoe.storage.GameStorage;
+import com.example.tictactoe.storage.InMemoryGameStorage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MatchmakingServiceTest {
+
+    private static final Player JOINER = new Player("joiner");
+
+    private final Map<String, Game> games = new ConcurrentHashMap<>();
+    private final Map<String, Integer> ratings = new ConcurrentHashMap<>();
+    private final AtomicLong clock = new AtomicLong(1_000_000L);
+    private MatchmakingService matchmakingService;
+
+    @BeforeEach
+    void setUp() {
+        // Plain stubs rather than mocks: the throughput test must not measure invocation recording
+        GameStorage gameStorage = new InMemoryGameStorage() {
+            @Override
+            public Game getGame(String gameId) {
+                return games.get(gameId);
+            }
+        };
+        RatingService ratingService = new RatingService(null, null) {
+            @Override
+            public int getRating(String login) {
+                return ratings.getOrDefault(login, 1200);
+            }
+        };
+        matchmakingService = new MatchmakingService(new LocalMatchmakingQueue(), gameStorage, ratingService, clock::get);
+    }
+
+    @Test
+    void testClaim_ReturnsOldestLobbyFirst() {
+        enqueue("g1", "creator1");
+        enqueue("g2", "creator2");
+
+        assertEquals("g1", matchmakingService.claim(JOINER, game -> true).getGameId());
+        assertEquals("g2", matchmakingService.claim(JOINER, game -> true).getGameId());
+        assertNull(matchmakingService.claim(JOINER, game -> true));
+    }
+
+    @Test
+    void testClaim_SkipsStaleAndIneligibleTickets() {
+        enqueue("changed", "creator");
+        games.get("changed").incrementVersion();
+        enqueue("removed", "creator");
+        games.remove("removed");
+        enqueue("full", "creator");
+        games.get("full").setStatus(GameStatus.IN_PROGRESS);
+        enqueue("open", "creator");
+
+        Game claimed = matchmakingService.claim(JOINER, game -> game.getStatus() == GameStatus.NEW);
+
+        assertEquals("open", claimed.getGameId());
+        assertEquals(0, matchmakingService.getQueueSize(1200));
+    }
+
+    @Test
+    void testClaim_PrefersCloseRatingAndWidensWithWaitTime() {
+        ratings.put("strong", 1530);
+        ratings.put("average", 1210);
+        enqueue("far", "average");
+        enqueue("near", "strong");
+        ratings.put(JOINER.getLogin(), 1550);
+
+        assertEquals("near", matchmakingService.claim(JOINER, game -> true).getGameId());
+        // Three buckets away: only after three widen intervals
+        assertNull(matchmakingService.claim(JOINER, game -> true));
+        clock.addAndGet(30_000);
+        assertEquals("far", matchmakingService.claim(JOINER, game -> true).getGameId());
+    }
+
+    @Test
+    void testClaim_LeavesOwnLobbyQueued() {
+        enqueue("own", JOINER.getLogin());
+
+        assertNull(matchmakingService.claim(JOINER, game -> true));
+        assertEquals("own", matchmakingService.claim(new Player("other"), game -> true).getGameId());
+    }
+
+    @Test
+    void testClaim_ThousandsOfConcurrentJoinsPairEachLobbyOnce() throws Exception {
+        int lobbies = 20_000;
+        int threads = 8;
+        Set<String> claimed = ConcurrentHashMap.newKeySet();
+        AtomicInteger duplicates = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch done = new CountDownLatch(threads);
+
+        long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            int offset = t;
+            executor.submit(() -> {
+                // Half the workers open lobbies, the other half join them
+                for (int i = offset; i < lobbies * 2; i += threads) {
+                    if (i % 2 == 0) {
+                        enqueue("g" + i, "creator" + i);
+                    } else {
+                        Game game = matchmakingService.claim(JOINER, g -> true);
+                        if (game != null && !claimed.add(game.getGameId())) {
+                            duplicates.incrementAndGet();
+                        }
+                    }
+                }
+                done.countDown();
+            });
+        }
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+        Game leftover;
+        while ((leftover = matchmakingService.claim(JOINER, g -> true)) != null) {
+            claimed.add(leftover.getGameId());
+        }
+        double joinsPerSecond = lobbies / ((System.nanoTime() - start) / 1e9);
+        executor.shutdown();
+
+        assertEquals(0, duplicates.get());
+        assertEquals(lobbies, claimed.size());
+        assertTrue(joinsPerSecond > 5_000, "Only " + (long) joinsPerSecond + " joins per second");
+    }
+
+    private void enqueue(String gameId, String creator) {
+        Game game = new Game();
+        game.setGameId(gameId);
+        game.setPlayer1(new Player(creator));
+        game.setStatus(GameStatus.NEW);
+        game.setVersion(1);
+        games.put(gameId, game);
+        matchmakingService.enqueue(game);
+    }
+}
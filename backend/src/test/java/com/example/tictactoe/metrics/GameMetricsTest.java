@@ -0,0 +1,95 @@
+package com.example.tictactoe.metrics;
+
+import com.example.tictactoe.model.GameStatus;
+import com.example.tictactoe.presence.PresenceService;
+import com.example.tictactoe.storage.GameStorage;
+import com.example.tictactoe.websocket.OutboundSessionRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GameMetricsTest {
+
+    @Mock
+    private GameStorage gameStorage;
+
+    @Mock
+    private OutboundSessionRegistry outboundSessionRegistry;
+
+    @Mock
+    private PresenceService presenceService;
+
+    private SimpleMeterRegistry registry;
+    private GameMetrics gameMetrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        gameMetrics = new GameMetrics(gameStorage, outboundSessionRegistry, presenceService, registry);
+    }
+
+    @Test
+    void testRefresh_UpdatesStatusGauges() {
+        when(gameStorage.countGamesByStatus()).thenReturn(
+                Map.of(GameStatus.NEW, 3L, GameStatus.IN_PROGRESS, 2L, GameStatus.FINISHED, 7L));
+
+        gameMetrics.refreshGameCounts();
+
+        assertEquals(3, gamesGauge(GameStatus.NEW));
+        assertEquals(2, gamesGauge(GameStatus.IN_PROGRESS));
+        assertEquals(12, gameMetrics.getTotalGames());
+        assertEquals(7L, gameMetrics.getGameCounts().get(GameStatus.FINISHED));
+    }
+
+    @Test
+    void testRefresh_KeepsLastCountsWhenRedisIsDown() {
+        when(gameStorage.countGamesByStatus())
+                .thenReturn(Map.of(GameStatus.NEW, 4L, GameStatus.IN_PROGRESS, 0L, GameStatus.FINISHED, 0L))
+                .thenThrow(new RedisConnectionFailureException("down"));
+
+        gameMetrics.refreshGameCounts();
+        gameMetrics.refreshGameCounts();
+
+        assertEquals(4, gamesGauge(GameStatus.NEW));
+    }
+
+    @Test
+    void testSessionGauges_ReadLiveCounts() {
+        when(outboundSessionRegistry.getSessionCount()).thenReturn(5);
+        when(presenceService.getLocalOnlineCount()).thenReturn(4);
+
+        assertEquals(5, registry.get(GameMetrics.SESSIONS_GAUGE).gauge().value());
+        assertEquals(4, registry.get(GameMetrics.ONLINE_PLAYERS_GAUGE).gauge().value());
+    }
+
+    @Test
+    void testMeteredSerializer_RecordsPayloadSizes() {
+        MeteredRedisSerializer serializer = new MeteredRedisSerializer(RedisSerializer.java(), registry);
+
+        byte[] bytes = serializer.serialize("hello");
+        assertEquals("hello", serializer.deserialize(bytes));
+        serializer.deserialize(null);
+
+        assertEquals(bytes.length, registry.get(MeteredRedisSerializer.PAYLOAD_SUMMARY).tag("direction", "write").summary().totalAmount());
+        assertEquals(1, registry.get(MeteredRedisSerializer.PAYLOAD_SUMMARY).tag("direction", "read").summary().count());
+        assertEquals(bytes.length, MeteredRedisSerializer.lastPayloadSize());
+
+        MeteredRedisSerializer.resetLastPayloadSize();
+        assertEquals(0, MeteredRedisSerializer.lastPayloadSize());
+    }
+
+    private double gamesGauge(GameStatus status) {
+        return registry.get(GameMetrics.GAMES_GAUGE).tag("status", status.name()).gauge().value();
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.tictactoe.presence;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.messaging.SessionConnectEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PresenceServiceTest {
+
+    private static final String KEY = "tictactoe:presence";
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ZSetOperations<String, String> zSetOperations;
+
+    private final Map<String, Double> presence = new ConcurrentHashMap<>();
+    private final List<Object> publishedEvents = new ArrayList<>();
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private PresenceService presenceService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        lenient().when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        lenient().when(redisTemplate.executePipelined(any(SessionCallback.class))).thenAnswer(invocation -> {
+            invocation.<SessionCallback<Object>>getArgument(0).execute((RedisOperations<Object, Object>) (Object) redisTemplate);
+            return List.of();
+        });
+        lenient().when(zSetOperations.add(eq(KEY), anyString(), anyDouble())).thenAnswer(invocation -> {
+            presence.put(invocation.getArgument(1), invocation.getArgument(2));
+            return true;
+        });
+        lenient().when(zSetOperations.score(eq(KEY), anyString())).thenAnswer(invocation -> presence.get(invocation.<String>getArgument(1)));
+        lenient().when(zSetOperations.removeRangeByScore(eq(KEY), anyDouble(), anyDouble())).thenAnswer(invocation -> {
+            double max = invocation.getArgument(2);
+            presence.values().removeIf(score -> score <= max);
+            return 0L;
+        });
+        lenient().when(zSetOperations.count(eq(KEY), anyDouble(), anyDouble())).thenAnswer(invocation -> {
+            double min = invocation.getArgument(1);
+            return presence.values().stream().filter(score -> score >= min).count();
+        });
+        presenceService = new PresenceService(redisTemplate, publishedEvents::add, now::get);
+    }
+
+    @Test
+    void testConnect_TracksLoginUntilLastSessionCloses() {
+        connect("session-1", "alice");
+        connect("session-2", "alice");
+        assertTrue(presenceService.isOnlineLocally("alice"));
+        assertEquals(1, presenceService.getLocalOnlineCount());
+
+        disconnect("session-1");
+        assertTrue(presenceService.isOnlineLocally("alice"));
+
+        disconnect("session-2");
+        assertFalse(presenceService.isOnlineLocally("alice"));
+        assertEquals(0, presenceService.getLocalOnlineCount());
+    }
+
+    @Test
+    void testConnect_IgnoresSessionsWithoutLogin() {
+        connect("session-1", null);
+
+        assertEquals(0, presenceService.getLocalOnlineCount());
+    }
+
+    @Test
+    void testSync_PublishesLiveLoginsAndCountsThemClusterWide() {
+        connect("session-1", "alice");
+        connect("session-2", "bob");
+        presence.put("carol", (double) now.get() - 60_000);
+
+        presenceService.sync();
+
+        assertEquals(2, presenceService.getOnlineCount());
+        assertFalse(presence.containsKey("carol"));
+    }
+
+    @Test
+    void testHeartbeats_KeepSessionAlive() {
+        connect("session-1", "alice");
+        now.addAndGet(25_000);
+        presenceService.preSend(heartbeat("session-1"), null);
+        now.addAndGet(25_000);
+
+        presenceService.sync();
+
+        assertEquals(1, presenceService.getOnlineCount());
+    }
+
+    @Test
+    void testSync_SilentSessionIsNotPublished() {
+        connect("session-1", "alice");
+        now.addAndGet(31_000);
+
+        presenceService.sync();
+
+        assertEquals(0, presenceService.getOnlineCount());
+    }
+
+    @Test
+    void testSync_PublishesOfflineOnlyAfterGracePeriod() {
+        connect("session-1", "alice");
+        presenceService.sync();
+        disconnect("session-1");
+
+        now.addAndGet(10_000);
+        presenceService.sync();
+        assertTrue(publishedEvents.isEmpty());
+
+        now.addAndGet(25_000);
+        presenceService.sync();
+        assertEquals(List.of(new PlayerOfflineEvent("alice")), publishedEvents);
+
+        presenceService.sync();
+        assertEquals(1, publishedEvents.size());
+    }
+
+    @Test
+    void testSync_NoOfflineEventWhenReconnectedWithinGracePeriod() {
+        connect("session-1", "alice");
+        disconnect("session-1");
+        now.addAndGet(5_000);
+        connect("session-2", "alice");
+        now.addAndGet(20_000);
+
+        presenceService.sync();
+
+        assertTrue(publishedEvents.isEmpty());
+    }
+
+    @Test
+    void testSync_NoOfflineEventWhileOnlineOnAnotherNode() {
+        connect("session-1", "alice");
+        disconnect("session-1");
+        now.addAndGet(20_000);
+        presence.put("alice", (double) now.get());
+
+        presenceService.sync();
+
+        assertTrue(publishedEvents.isEmpty());
+    }
+
+    private void connect(String sessionId, String login) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.CONNECT);
+        accessor.setSessionId(sessionId);
+        if (login != null) {
+            accessor.setLogin(login);
+        }
+        Message<byte[]> message = MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+        presenceService.onSessionConnect(new SessionConnectEvent(this, message));
+    }
+
+    private void disconnect(String sessionId) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.DISCONNECT);
+        accessor.setSessionId(sessionId);
+        Message<byte[]> message = MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+        presenceService.onSessionDisconnect(new SessionDisconnectEvent(this, message, sessionId, CloseStatus.NORMAL));
+    }
+
+    private static Message<byte[]> heartbeat(String sessionId) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.HEARTBEAT);
+        accessor.setSessionId(sessionId);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
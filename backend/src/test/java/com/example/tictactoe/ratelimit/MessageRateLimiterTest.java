@@ -0,0 +1,108 @@
+package com.example.tictactoe.ratelimit;
+
+import com.example.tictactoe.exception.RateLimitExceededException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MessageRateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000L);
+    private MessageRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setDefaultBudget(new RateLimitProperties.Budget(2, 1));
+        properties.setBudgets(Map.of("gameplay", new RateLimitProperties.Budget(3, 10)));
+        rateLimiter = new MessageRateLimiter(properties, clock::get);
+    }
+
+    @Test
+    void testAcquire_AllowsBurstThenRejects() throws RateLimitExceededException {
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.acquire(RateLimitedCommand.GAMEPLAY, "s1", null);
+        }
+
+        assertThrows(RateLimitExceededException.class,
+                () -> rateLimiter.acquire(RateLimitedCommand.GAMEPLAY, "s1", null));
+    }
+
+    @Test
+    void testAcquire_RefillsOverTime() throws RateLimitExceededException {
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.acquire(RateLimitedCommand.GAMEPLAY, "s1", null);
+        }
+
+        // gameplay refills at 10 per second
+        clock.addAndGet(100_000_000L);
+
+        rateLimiter.acquire(RateLimitedCommand.GAMEPLAY, "s1", null);
+        assertThrows(RateLimitExceededException.class,
+                () -> rateLimiter.acquire(RateLimitedCommand.GAMEPLAY, "s1", null));
+    }
+
+    @Test
+    void testAcquire_BudgetsAreIndependentPerCommandAndSession() throws RateLimitExceededException {
+        rateLimiter.acquire(RateLimitedCommand.START, "s1", null);
+        rateLimiter.acquire(RateLimitedCommand.START, "s1", null);
+        assertThrows(RateLimitExceededException.class,
+                () -> rateLimiter.acquire(RateLimitedCommand.START, "s1", null));
+
+        rateLimiter.acquire(RateLimitedCommand.GAMEPLAY, "s1", null);
+        rateLimiter.acquire(RateLimitedCommand.START, "s2", null);
+    }
+
+    @Test
+    void testAcquire_LoginBudgetIsSharedAcrossSessions() throws RateLimitExceededException {
+        rateLimiter.acquire(RateLimitedCommand.START, "s1", "alice");
+        rateLimiter.acquire(RateLimitedCommand.START, "s2", "alice");
+
+        assertThrows(RateLimitExceededException.class,
+                () -> rateLimiter.acquire(RateLimitedCommand.START, "s3", "alice"));
+        rateLimiter.acquire(RateLimitedCommand.START, "s3", "bob");
+    }
+
+    @Test
+    void testEvictIdleBuckets_RemovesRefilledLogins() throws RateLimitExceededException {
+        rateLimiter.acquire(RateLimitedCommand.START, "s1", "alice");
+        assertEquals(1, rateLimiter.getTrackedLoginCount());
+
+        rateLimiter.evictIdleBuckets();
+        assertEquals(1, rateLimiter.getTrackedLoginCount());
+
+        clock.addAndGet(2_000_000_000L);
+        rateLimiter.evictIdleBuckets();
+        assertEquals(0, rateLimiter.getTrackedLoginCount());
+    }
+
+    @Test
+    void testAcquire_OverheadUnderOneMicrosecond() throws RateLimitExceededException {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setDefaultBudget(new RateLimitProperties.Budget(Integer.MAX_VALUE, 1_000_000_000));
+        MessageRateLimiter limiter = new MessageRateLimiter(properties);
+        int iterations = 2_000_000;
+
+        for (int i = 0; i < iterations; i++) {
+            limiter.acquire(RateLimitedCommand.GAMEPLAY, "s" + (i & 63), "p" + (i & 63));
+        }
+        String[] sessions = new String[64];
+        String[] logins = new String[64];
+        for (int i = 0; i < 64; i++) {
+            sessions[i] = "s" + i;
+            logins[i] = "p" + i;
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            limiter.acquire(RateLimitedCommand.GAMEPLAY, sessions[i & 63], logins[i & 63]);
+        }
+        long averageNanos = (System.nanoTime() - start) / iterations;
+
+        assertTrue(averageNanos < 1_000, "Average acquire took " + averageNanos + " ns");
+    }
+}
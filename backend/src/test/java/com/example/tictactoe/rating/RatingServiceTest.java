@@ -0,0 +1,107 @@
+package com.example.tictactoe.rating;
+
+import com.example.tictactoe.event.GameLifecycleEvent;
+import com.example.tictactoe.leaderboard.LeaderboardService;
+import com.example.tictactoe.model.Game;
+import com.example.tictactoe.model.GameStatus;
+import com.example.tictactoe.model.Player;
+import com.example.tictactoe.model.TicToe;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RatingServiceTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private HashOperations<String, Object, Object> hashOperations;
+
+    @Mock
+    private LeaderboardService leaderboardService;
+
+    private final Map<Object, Object> ratings = new HashMap<>();
+    private RatingService ratingService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(redisTemplate.<Object, Object>opsForHash()).thenReturn(hashOperations);
+        lenient().when(hashOperations.get(anyString(), any())).thenAnswer(invocation -> ratings.get(invocation.getArgument(1)));
+        lenient().when(hashOperations.multiGet(anyString(), anyCollection())).thenAnswer(invocation -> {
+            List<Object> fields = List.copyOf(invocation.getArgument(1));
+            return fields.stream().map(ratings::get).toList();
+        });
+        lenient().when(hashOperations.increment(anyString(), any(), anyLong())).thenAnswer(invocation -> {
+            long value = Long.parseLong(ratings.getOrDefault(invocation.getArgument(1), "0").toString())
+                    + invocation.<Long>getArgument(2);
+            ratings.put(invocation.getArgument(1), Long.toString(value));
+            return value;
+        });
+        ratingService = new RatingService(redisTemplate, leaderboardService);
+    }
+
+    @Test
+    void testGetRating_DefaultsToInitialRating() {
+        assertEquals(1200, ratingService.getRating("newcomer"));
+    }
+
+    @Test
+    void testRatingDelta_EqualPlayers() {
+        assertEquals(16, ratingService.ratingDelta(1200, 1200, 1));
+        assertEquals(0, ratingService.ratingDelta(1200, 1200, 0.5));
+        assertEquals(-16, ratingService.ratingDelta(1200, 1200, 0));
+    }
+
+    @Test
+    void testRatingDelta_UpsetIsWorthMore() {
+        assertTrue(ratingService.ratingDelta(1000, 1400, 1) > ratingService.ratingDelta(1400, 1000, 1));
+    }
+
+    @Test
+    void testFinishedGame_UpdatesBothPlayers() {
+        ratingService.onGameLifecycle(new GameLifecycleEvent(GameLifecycleEvent.Type.FINISHED, finishedGame(TicToe.O)));
+
+        assertEquals(1184, ratingService.getRating("alice"));
+        assertEquals(1216, ratingService.getRating("bob"));
+        verify(leaderboardService).recordRatings(Map.of("alice", 1184, "bob", 1216), Map.of("alice", -16L, "bob", 16L));
+    }
+
+    @Test
+    void testOtherEvents_AreIgnored() {
+        ratingService.onGameLifecycle(new GameLifecycleEvent(GameLifecycleEvent.Type.STARTED, finishedGame(TicToe.X)));
+
+        verifyNoInteractions(hashOperations);
+    }
+
+    @Test
+    void testRedisFailure_DoesNotPropagate() {
+        when(hashOperations.multiGet(anyString(), anyCollection())).thenThrow(new RuntimeException("connection refused"));
+
+        assertDoesNotThrow(() -> ratingService.onGameLifecycle(
+                new GameLifecycleEvent(GameLifecycleEvent.Type.FINISHED, finishedGame(null))));
+    }
+
+    private Game finishedGame(TicToe winner) {
+        Game game = new Game();
+        game.setGameId("g1");
+        game.setPlayer1(new Player("alice"));
+        game.setPlayer2(new Player("bob"));
+        game.setStatus(GameStatus.FINISHED);
+        game.setWinner(winner);
+        return game;
+    }
+}
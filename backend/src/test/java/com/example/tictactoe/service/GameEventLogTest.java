@@ -0,0 +1,56 @@
+package com.example.tictactoe.service;
+
+import com.example.tictactoe.model.Game;
+import com.example.tictactoe.model.GameEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameEventLogTest {
+
+    private final GameEventLog eventLog = new GameEventLog(3);
+
+    @Test
+    void testEventsSince_ReturnsMissingEventsInOrder() {
+        append("g1", 1, 2, 3);
+
+        List<GameEvent> events = eventLog.eventsSince("g1", 1);
+
+        assertEquals(List.of(2L, 3L), events.stream().map(GameEvent::getSequence).toList());
+    }
+
+    @Test
+    void testEventsSince_NullWhenOverwritten() {
+        append("g1", 1, 2, 3, 4, 5);
+
+        assertNull(eventLog.eventsSince("g1", 1));
+        assertEquals(3, eventLog.eventsSince("g1", 2).size());
+    }
+
+    @Test
+    void testEventsSince_NullForUnknownGameOrFutureSequence() {
+        append("g1", 1);
+
+        assertNull(eventLog.eventsSince("g2", 0));
+        assertNull(eventLog.eventsSince("g1", 5));
+        assertTrue(eventLog.eventsSince("g1", 1).isEmpty());
+    }
+
+    @Test
+    void testEventsSince_NullWhenSequenceMissing() {
+        append("g1", 1, 3);
+
+        assertNull(eventLog.eventsSince("g1", 1));
+    }
+
+    private void append(String gameId, long... versions) {
+        for (long version : versions) {
+            Game game = new Game();
+            game.setGameId(gameId);
+            game.setVersion(version);
+            eventLog.append(gameId, GameEvent.state(game));
+        }
+    }
+}
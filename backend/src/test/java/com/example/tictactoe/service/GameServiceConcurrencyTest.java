@@ -0,0 +1,405 @@
+package com.example.tictactoe.service;
+
+import com.example.tictactoe.config.RedisConfig;
+import com.example.tictactoe.event.GameLifecycleEvent;
+import com.example.tictactoe.exception.InvalidGameException;
+import com.example.tictactoe.id.SnowflakeGameIdGenerator;
+import com.example.tictactoe.matchmaking.LocalMatchmakingQueue;
+import com.example.tictactoe.matchmaking.MatchmakingService;
+import com.example.tictactoe.model.Game;
+import com.example.tictactoe.model.GameEvent;
+import com.example.tictactoe.model.GameStatus;
+import com.example.tictactoe.model.Move;
+import com.example.tictactoe.model.Player;
+import com.example.tictactoe.model.TicToe;
+import com.example.tictactoe.rating.RatingService;
+import com.example.tictactoe.storage.GameStorage;
+import com.example.tictactoe.storage.InMemoryGameStorage;
+import com.example.tictactoe.storage.RedisGameStorage;
+import com.github.fppt.jedismock.RedisServer;
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.protocol.ProtocolVersion;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Stress harness for game state transitions: many threads hammer one game with interleaved
+ * commands, then the stored game and its event log are checked against the rules that must
+ * hold whatever the interleaving. Runs against both storage engines, the redis one through an
+ * in-process jedis-mock server, and with one or two nodes. Two nodes are two services sharing
+ * storage and matchmaking but not their game locks, so only the version-checked writes keep them
+ * apart; commands alternate between them. A rejected command ({@link InvalidGameException}) is an
+ * expected outcome of a race; anything else thrown fails the run.
+ */
+class GameServiceConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int MAX_ATTEMPTS = 2_000;
+    private static final long GAME_DEADLINE_NANOS = TimeUnit.SECONDS.toNanos(30);
+    private static final String IN_MEMORY = "in-memory";
+
+    private static RedisServer redisServer;
+    private static LettuceConnectionFactory connectionFactory;
+
+    private final Queue<GameLifecycleEvent> lifecycleEvents = new ConcurrentLinkedQueue<>();
+    private GameEventLog eventLog;
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        redisServer = RedisServer.newRedisServer().start();
+        // jedis-mock speaks RESP2 only
+        LettuceClientConfiguration clientConfiguration = LettuceClientConfiguration.builder()
+                .clientOptions(ClientOptions.builder().protocolVersion(ProtocolVersion.RESP2).build())
+                .build();
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(redisServer.getHost(), redisServer.getBindPort()), clientConfiguration);
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        connectionFactory.destroy();
+        redisServer.stop();
+    }
+
+    @ParameterizedTest
+    @CsvSource({"in-memory, 1", "in-memory, 2", "redis, 1", "redis, 2"})
+    void testConcurrentJoins_AdmitExactlyOnePlayer2(String engine, int nodeCount) throws Exception {
+        GameStorage gameStorage = storage(engine);
+        for (int round = 0; round < rounds(engine); round++) {
+            // A fresh queue per round, so random joiners only race for this round's lobby
+            List<GameService> nodes = nodes(gameStorage, nodeCount);
+            GameService gameService = nodes.get(0);
+            Player host = new Player("host-" + round);
+            String gameId = gameService.createGame(host).getGameId();
+            Queue<String> admitted = new ConcurrentLinkedQueue<>();
+
+            List<Command> commands = new ArrayList<>();
+            for (int i = 0; i < THREADS - 1; i++) {
+                Player joiner = new Player("joiner-" + round + "-" + i);
+                boolean random = i % 2 == 1;
+                GameService node = nodes.get(i % nodeCount);
+                commands.add(() -> {
+                    Game game = random ? node.connectToRandomGame(joiner) : node.connectToGame(joiner, gameId);
+                    if (game.getGameId().equals(gameId)) {
+                        admitted.add(joiner.getLogin());
+                    }
+                });
+            }
+            // The host accepts whoever is pending while the others are still trying to join
+            commands.add(() -> {
+                for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+                    Game game = gameService.getGame(gameId);
+                    if (game.getPlayer2() != null) {
+                        return;
+                    }
+                    if (game.getPendingJoinPlayer() != null) {
+                        rejectedIsExpected(() -> gameService.respondToJoinRequest(gameId, host.getLogin(),
+                                game.getPendingJoinPlayer().getLogin(), true));
+                    }
+                }
+            });
+            race(commands);
+
+            Game game = gameService.getGame(gameId);
+            if (game.getPlayer2() == null && game.getPendingJoinPlayer() != null) {
+                gameService.respondToJoinRequest(gameId, host.getLogin(), game.getPendingJoinPlayer().getLogin(), true);
+                game = gameService.getGame(gameId);
+            }
+            assertEquals(1, admitted.size(), () -> "Joiners told they were admitted: " + admitted);
+            assertNotNull(game.getPlayer2());
+            assertEquals(admitted.peek(), game.getPlayer2().getLogin());
+            assertNull(game.getPendingJoinPlayer());
+            assertEquals(GameStatus.IN_PROGRESS, game.getStatus());
+            assertEquals(1, lifecycleEventsOf(GameLifecycleEvent.Type.STARTED, gameId));
+            assertUniqueVersions(gameId);
+        }
+    }
+
+    @ParameterizedTest
+    @CsvSource({"in-memory, 1", "in-memory, 2", "redis, 1", "redis, 2"})
+    void testSimultaneousMoves_AlternateTurnsWithoutOverwrites(String engine, int nodeCount) throws Exception {
+        GameStorage gameStorage = storage(engine);
+        List<GameService> nodes = nodes(gameStorage, nodeCount);
+        GameService gameService = nodes.get(0);
+        for (int round = 0; round < rounds(engine); round++) {
+            String gameId = startGame(gameStorage, "moves-" + engine + "-" + nodeCount + "-" + round);
+            race(movers(nodes, gameId, THREADS));
+
+            Game game = gameService.getGame(gameId);
+            assertEquals(GameStatus.FINISHED, game.getStatus());
+            assertMovesConsistent(game, Long.MAX_VALUE);
+            assertEquals(1, lifecycleEventsOf(GameLifecycleEvent.Type.FINISHED, gameId));
+        }
+    }
+
+    @ParameterizedTest
+    @CsvSource({"in-memory, 1", "in-memory, 2", "redis, 1", "redis, 2"})
+    void testSurrenderAndRematchRaces_FinishAndRestartOnce(String engine, int nodeCount) throws Exception {
+        GameStorage gameStorage = storage(engine);
+        List<GameService> nodes = nodes(gameStorage, nodeCount);
+        GameService gameService = nodes.get(0);
+        for (int round = 0; round < rounds(engine); round++) {
+            String gameId = startGame(gameStorage, "surrender-" + engine + "-" + nodeCount + "-" + round);
+            gameService.requestSurrender(gameId, "alice");
+
+            // Moves race two copies of bob's acceptance
+            AtomicLong surrenderVersion = new AtomicLong(Long.MAX_VALUE);
+            Queue<String> accepted = new ConcurrentLinkedQueue<>();
+            List<Command> commands = movers(nodes, gameId, THREADS - 2);
+            for (int i = 0; i < 2; i++) {
+                GameService node = nodes.get(i % nodeCount);
+                commands.add(() -> {
+                    Game game = node.respondToSurrender(gameId, "bob", true);
+                    surrenderVersion.set(game.getVersion());
+                    accepted.add(game.getGameId());
+                });
+            }
+            race(commands);
+
+            Game game = gameService.getGame(gameId);
+            assertEquals(GameStatus.FINISHED, game.getStatus());
+            assertTrue(accepted.size() <= 1, () -> "Surrender accepted " + accepted.size() + " times");
+            assertEquals(1, lifecycleEventsOf(GameLifecycleEvent.Type.FINISHED, gameId));
+            if (accepted.isEmpty()) {
+                assertMovesConsistent(game, Long.MAX_VALUE);
+            } else {
+                assertEquals(TicToe.O, game.getWinner());
+                assertMovesConsistent(game, surrenderVersion.get());
+            }
+
+            // Both players ask for a rematch, then both answer twice at once: only bob or alice can accept, once
+            race(List.of(
+                    () -> nodes.get(0).requestRematch(gameId, "alice"),
+                    () -> nodes.get(nodeCount - 1).requestRematch(gameId, "bob")));
+            Queue<String> rematches = new ConcurrentLinkedQueue<>();
+            List<Command> responses = new ArrayList<>();
+            List<String> responders = List.of("alice", "bob", "alice", "bob");
+            for (int i = 0; i < responders.size(); i++) {
+                String login = responders.get(i);
+                GameService node = nodes.get(i / 2 % nodeCount);
+                responses.add(() -> rematches.add(node.respondToRematch(gameId, login, true).getGameId()));
+            }
+            race(responses);
+
+            assertEquals(1, rematches.size(), () -> "Rematches created: " + rematches);
+            assertNull(gameService.getGame(gameId).getRematchRequesterLogin());
+            assertEquals(1, lifecycleEventsOf(GameLifecycleEvent.Type.STARTED, rematches.peek()));
+            assertUniqueVersions(gameId);
+        }
+    }
+
+    /**
+     * Players who keep sending moves for random empty squares until the game is over, half of them
+     * alice and half bob, mixing sequenced moves with unsequenced ones. Each player's threads are spread over the nodes.
+     */
+    private static List<Command> movers(List<GameService> nodes, String gameId, int count) {
+        AtomicLong aliceSequence = new AtomicLong();
+        AtomicLong bobSequence = new AtomicLong();
+        List<Command> commands = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String login = i % 2 == 0 ? "alice" : "bob";
+            AtomicLong sequence = i % 2 == 0 ? aliceSequence : bobSequence;
+            boolean sequenced = i % 4 < 2;
+            GameService gameService = nodes.get(i / 2 % nodes.size());
+            commands.add(() -> {
+                long deadline = System.nanoTime() + GAME_DEADLINE_NANOS;
+                while (System.nanoTime() < deadline) {
+                    Game game = gameService.getGame(gameId);
+                    if (game.getStatus() == GameStatus.FINISHED) {
+                        return;
+                    }
+                    if (!login.equals(game.getCurrentPlayerLogin())) {
+                        // Still send some moves out of turn, but let the other player's threads run
+                        Thread.yield();
+                    }
+                    Move move = new Move();
+                    move.setGameId(gameId);
+                    move.setPlayerLogin(login);
+                    move.setSquareIndex(randomEmptySquare(game.getBoard()));
+                    move.setSequence(sequenced ? sequence.incrementAndGet() : null);
+                    rejectedIsExpected(() -> gameService.gameplay(move, gameId));
+                }
+                fail("Game " + gameId + " did not finish within " + TimeUnit.NANOSECONDS.toSeconds(GAME_DEADLINE_NANOS) + "s");
+            });
+        }
+        return commands;
+    }
+
+    /**
+     * Checks the moves in the event log against the stored game: turns alternate starting with X,
+     * no square is played twice, nothing is played after the game finished (or after
+     * finishedAtVersion, when it ended another way), the board is exactly the moves, and the
+     * winner is the only symbol with a line
+     */
+    private void assertMovesConsistent(Game game, long finishedAtVersion) {
+        List<GameEvent> moves = eventLog.eventsSince(game.getGameId(), 0).stream()
+                .filter(event -> event.getType() == GameEvent.Type.MOVE)
+                .sorted(Comparator.comparingLong(GameEvent::getSequence))
+                .toList();
+        assertUniqueVersions(game.getGameId());
+
+        String[] board = new String[9];
+        boolean finished = false;
+        for (int i = 0; i < moves.size(); i++) {
+            GameEvent move = moves.get(i);
+            assertFalse(finished, "Move applied after the game finished");
+            assertTrue(move.getSequence() < finishedAtVersion, "Move applied after the game was surrendered");
+            assertEquals(i % 2 == 0 ? TicToe.X : TicToe.O, move.getSymbol(), "Turns did not alternate");
+            assertNull(board[move.getSquareIndex()], "Square " + move.getSquareIndex() + " was overwritten");
+            board[move.getSquareIndex()] = move.getSymbol().toString();
+            finished = move.getStatus() == GameStatus.FINISHED;
+        }
+        assertArrayEquals(board, game.getBoard(), "Stored board differs from the moves applied");
+
+        boolean xWins = BoardRules.checkWinner(board, TicToe.X);
+        boolean oWins = BoardRules.checkWinner(board, TicToe.O);
+        assertFalse(xWins && oWins, "Both players have a line");
+        if (finishedAtVersion == Long.MAX_VALUE) {
+            assertEquals(xWins ? TicToe.X : oWins ? TicToe.O : null, game.getWinner());
+            assertTrue(xWins || oWins || BoardRules.isBoardFull(board), "Game finished without a line or a full board");
+        } else {
+            assertFalse(xWins || oWins || BoardRules.isBoardFull(board), "Game surrendered after it was already over");
+        }
+    }
+
+    /**
+     * Two writers that both started from the same version would each log an event with the same
+     * next version, one of them overwriting the other in storage
+     */
+    private void assertUniqueVersions(String gameId) {
+        List<GameEvent> events = eventLog.eventsSince(gameId, 0);
+        Set<Long> versions = new HashSet<>();
+        for (GameEvent event : events) {
+            assertTrue(versions.add(event.getSequence()), "Version " + event.getSequence() + " was written twice");
+        }
+    }
+
+    private long lifecycleEventsOf(GameLifecycleEvent.Type type, String gameId) {
+        return lifecycleEvents.stream()
+                .filter(event -> event.type() == type && event.game().getGameId().equals(gameId))
+                .count();
+    }
+
+    /**
+     * Runs the commands on their own threads, released together, and rethrows the first unexpected failure
+     */
+    private static void race(List<Command> commands) throws Exception {
+        CyclicBarrier start = new CyclicBarrier(commands.size());
+        ExecutorService executor = Executors.newFixedThreadPool(commands.size());
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Command command : commands) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    rejectedIsExpected(command);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void rejectedIsExpected(Command command) throws Exception {
+        try {
+            command.run();
+        } catch (InvalidGameException e) {
+            // Another thread got there first
+        }
+    }
+
+    private static int randomEmptySquare(String[] board) {
+        List<Integer> empty = new ArrayList<>();
+        for (int i = 0; i < board.length; i++) {
+            if (board[i] == null) {
+                empty.add(i);
+            }
+        }
+        return empty.get(ThreadLocalRandom.current().nextInt(empty.size()));
+    }
+
+    private static String startGame(GameStorage gameStorage, String gameId) {
+        Game game = new Game();
+        game.setGameId(gameId);
+        game.setBoard(new String[9]);
+        game.setPlayer1(new Player("alice"));
+        game.setPlayer2(new Player("bob"));
+        game.setStatus(GameStatus.IN_PROGRESS);
+        game.setCurrentPlayerLogin("alice");
+        gameStorage.setGame(game);
+        return gameId;
+    }
+
+    /**
+     * Services standing in for backend nodes. They share one matchmaking queue, as nodes do through Redis,
+     * and one event log, so the checks see the whole history wherever each event was written.
+     */
+    private List<GameService> nodes(GameStorage gameStorage, int count) {
+        // Big enough to keep every event of a game
+        eventLog = new GameEventLog(256);
+        MatchmakingService matchmakingService =
+                new MatchmakingService(new LocalMatchmakingQueue(), gameStorage, mock(RatingService.class));
+        List<GameService> nodes = new ArrayList<>();
+        for (int node = 1; node <= count; node++) {
+            nodes.add(new GameService(gameStorage, eventLog, matchmakingService, event -> {
+                if (event instanceof GameLifecycleEvent lifecycleEvent) {
+                    lifecycleEvents.add(lifecycleEvent);
+                }
+            }, new SnowflakeGameIdGenerator(node), ObservationRegistry.NOOP));
+        }
+        return nodes;
+    }
+
+    private static GameStorage storage(String engine) {
+        if (IN_MEMORY.equals(engine)) {
+            return new InMemoryGameStorage();
+        }
+        RedisGameStorage gameStorage = new RedisGameStorage(
+                new RedisConfig().redisTemplate(connectionFactory, new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(gameStorage, "keyPrefix", "tictactoe:game:");
+        ReflectionTestUtils.setField(gameStorage, "ttlHours", 24L);
+        return gameStorage;
+    }
+
+    private static int rounds(String engine) {
+        // Every redis call is a loopback round trip to jedis-mock
+        return IN_MEMORY.equals(engine) ? 50 : 10;
+    }
+
+    @FunctionalInterface
+    private interface Command {
+        void run() throws Exception;
+    }
+}
@@ -1,26 +1,60 @@
 package com.example.tictactoe.service;
 
+import com.example.tictactoe.config.RedisConfig;
+import com.example.tictactoe.event.GameLifecycleEvent;
 import com.example.tictactoe.exception.InvalidGameException;
 import com.example.tictactoe.exception.InvalidParamException;
+import com.example.tictactoe.id.SnowflakeGameIdGenerator;
+import com.example.tictactoe.matchmaking.LocalMatchmakingQueue;
+import com.example.tictactoe.matchmaking.MatchmakingService;
 import com.example.tictactoe.model.Game;
+import com.example.tictactoe.model.GameEvent;
 import com.example.tictactoe.model.GameStatus;
 import com.example.tictactoe.model.Move;
 import com.example.tictactoe.model.Player;
+import com.example.tictactoe.model.ResumeResponse;
 import com.example.tictactoe.model.TicToe;
+import com.example.tictactoe.presence.PlayerOfflineEvent;
+import com.example.tictactoe.rating.RatingService;
 import com.example.tictactoe.storage.GameStorage;
+import com.example.tictactoe.storage.RedisGameStorage;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.BeanUtils;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -41,26 +75,30 @@ class GameServiceTest {
     private Player player1;
     private Player player2;
     private Map<String, Game> inMemoryGames;
+    private List<Object> publishedEvents;
 
     @BeforeEach
+    @SuppressWarnings({"unchecked", "rawtypes"})
     void setUp() {
         // Setup mock Redis
         lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
         
         // In-memory storage for testing
-        inMemoryGames = new HashMap<>();
+        inMemoryGames = new ConcurrentHashMap<>();
         
         // Mock Redis operations to use in-memory storage
-        lenient().doAnswer(invocation -> {
-            String key = invocation.getArgument(0);
-            Game game = invocation.getArgument(1);
-            inMemoryGames.put(key, game);
-            return null;
-        }).when(valueOperations).set(anyString(), any(Game.class), anyLong(), any());
-        
+        // Reads hand out a copy, like Redis, so the version check sees what was stored rather than the caller's instance
         lenient().when(valueOperations.get(anyString())).thenAnswer(invocation -> {
             String key = invocation.getArgument(0);
-            return inMemoryGames.get(key);
+            Game stored = inMemoryGames.get(key);
+            if (stored == null) {
+                return null;
+            }
+            Game copy = new Game();
+            BeanUtils.copyProperties(stored, copy);
+            copy.setBoard(stored.getBoard().clone());
+            copy.setMoveSequences(new HashMap<>(stored.getMoveSequences()));
+            return copy;
         });
         
         lenient().when(redisTemplate.keys(anyString())).thenAnswer(invocation -> {
@@ -73,13 +111,39 @@ class GameServiceTest {
             inMemoryGames.remove(key);
             return true;
         }).when(redisTemplate).delete(anyString());
+
+        lenient().doAnswer(invocation -> {
+            invocation.<Collection<String>>getArgument(0).forEach(inMemoryGames::remove);
+            return 2L;
+        }).when(redisTemplate).delete(anyCollection());
+
+        // Game writes are scripts: ARGV[1] is the serialized game, ARGV[4] the expected version of a replace
+        RedisSerializer<Object> valueSerializer = new GenericJackson2JsonRedisSerializer(RedisConfig.valueObjectMapper());
+        lenient().when(redisTemplate.getValueSerializer()).thenReturn((RedisSerializer) valueSerializer);
+        lenient().when(redisTemplate.execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class),
+                anyList(), any(Object[].class))).thenAnswer(invocation -> {
+            String key = invocation.<List<String>>getArgument(3).get(0);
+            Object[] args = (Object[]) invocation.getRawArguments()[4];
+            if (args.length > 3) {
+                Game stored = inMemoryGames.get(key);
+                long expectedVersion = Long.parseLong(new String((byte[]) args[3], StandardCharsets.US_ASCII));
+                if (stored == null || stored.getVersion() != expectedVersion) {
+                    return 0L;
+                }
+            }
+            inMemoryGames.put(key, (Game) valueSerializer.deserialize((byte[]) args[0]));
+            return 1L;
+        });
         
         // Create GameStorage with mocked Redis
-        gameStorage = new GameStorage(redisTemplate);
+        gameStorage = new RedisGameStorage(redisTemplate);
         ReflectionTestUtils.setField(gameStorage, "keyPrefix", "tictactoe:game:");
         ReflectionTestUtils.setField(gameStorage, "ttlHours", 24L);
         
-        gameService = new GameService(gameStorage);
+        publishedEvents = new ArrayList<>();
+        gameService = new GameService(gameStorage, new GameEventLog(4),
+                new MatchmakingService(new LocalMatchmakingQueue(), gameStorage, mock(RatingService.class)),
+                publishedEvents::add, new SnowflakeGameIdGenerator(1), ObservationRegistry.NOOP);
         player1 = new Player("Player1");
         player2 = new Player("Player2");
         
@@ -93,13 +157,39 @@ class GameServiceTest {
 
         assertNotNull(game);
         assertNotNull(game.getGameId());
-        assertEquals(player1, game.getPlayer1());
+        assertEquals(player1.getLogin(), game.getPlayer1().getLogin());
         assertNull(game.getPlayer2());
         assertEquals(GameStatus.NEW, game.getStatus());
         assertNotNull(game.getBoard());
         assertEquals(9, game.getBoard().length);
     }
 
+    @Test
+    void testCreateGame_UsesCompactTimeOrderedIds() {
+        Game first = gameService.createGame(player1);
+        Game second = gameService.createGame(player2);
+
+        assertEquals(11, first.getGameId().length());
+        assertTrue(first.getGameId().compareTo(second.getGameId()) < 0);
+    }
+
+    @Test
+    void testGameplay_LegacyUuidKeyedGameStillResolves() throws InvalidParamException, InvalidGameException {
+        Game legacy = new Game();
+        legacy.setGameId(UUID.randomUUID().toString());
+        legacy.setBoard(new String[9]);
+        legacy.setPlayer1(player1);
+        legacy.setPlayer2(player2);
+        legacy.setStatus(GameStatus.IN_PROGRESS);
+        legacy.setCurrentPlayerLogin(player1.getLogin());
+        gameStorage.setGame(legacy);
+
+        Game game = playMove(legacy.getGameId(), player1, 4);
+
+        assertEquals("X", game.getBoard()[4]);
+        assertEquals(legacy.getGameId(), gameService.getGame(legacy.getGameId()).getGameId());
+    }
+
     @Test
     void testConnectToGame_Success() throws InvalidParamException, InvalidGameException {
         Game createdGame = gameService.createGame(player1);
@@ -108,9 +198,9 @@ class GameServiceTest {
         Game game = gameService.connectToGame(player2, gameId);
 
         assertNotNull(game);
-        assertEquals(player1, game.getPlayer1());
+        assertEquals(player1.getLogin(), game.getPlayer1().getLogin());
         assertNull(game.getPlayer2()); // Player2 is not added yet
-        assertEquals(player2, game.getPendingJoinPlayer()); // But set as pending
+        assertEquals(player2.getLogin(), game.getPendingJoinPlayer().getLogin()); // But set as pending
         assertEquals(GameStatus.NEW, game.getStatus()); // Status remains NEW until accepted
     }
 
@@ -141,7 +231,7 @@ class GameServiceTest {
         Game game = gameService.connectToRandomGame(player1);
 
         assertNotNull(game);
-        assertEquals(player1, game.getPlayer1());
+        assertEquals(player1.getLogin(), game.getPlayer1().getLogin());
         assertNull(game.getPlayer2());
         assertEquals(GameStatus.NEW, game.getStatus());
     }
@@ -153,12 +243,124 @@ class GameServiceTest {
         Game game = gameService.connectToRandomGame(player2);
 
         assertNotNull(game);
-        assertEquals(player1, game.getPlayer1());
+        assertEquals(player1.getLogin(), game.getPlayer1().getLogin());
         assertNull(game.getPlayer2()); // Player2 is not added yet
-        assertEquals(player2, game.getPendingJoinPlayer()); // But set as pending
+        assertEquals(player2.getLogin(), game.getPendingJoinPlayer().getLogin()); // But set as pending
         assertEquals(GameStatus.NEW, game.getStatus()); // Status remains NEW until accepted
     }
 
+    @Test
+    void testConnectToRandomGame_ConcurrentJoinersNeverShareLobby() throws Exception {
+        Game lobby = gameService.createGame(player1);
+
+        int threads = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Game>> results = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            Player joiner = new Player("Joiner" + i);
+            results.add(executor.submit(() -> {
+                start.await();
+                return gameService.connectToRandomGame(joiner);
+            }));
+        }
+        start.countDown();
+        int joinedLobby = 0;
+        for (Future<Game> result : results) {
+            if (result.get(5, TimeUnit.SECONDS).getGameId().equals(lobby.getGameId())) {
+                joinedLobby++;
+            }
+        }
+        executor.shutdown();
+
+        assertEquals(1, joinedLobby);
+    }
+
+    @Test
+    void testConnectToRandomGame_SkipsLobbyJoinedById() throws InvalidParamException, InvalidGameException {
+        Game lobby = gameService.createGame(player1);
+        gameService.connectToGame(player2, lobby.getGameId());
+
+        Game game = gameService.connectToRandomGame(new Player("Player3"));
+
+        assertNotEquals(lobby.getGameId(), game.getGameId());
+        assertEquals(GameStatus.NEW, game.getStatus());
+    }
+
+    @Test
+    void testConnectToRandomGame_RejectedLobbyIsOfferedAgain() throws InvalidParamException, InvalidGameException {
+        Game lobby = gameService.createGame(player1);
+        gameService.connectToRandomGame(player2);
+        gameService.respondToJoinRequest(lobby.getGameId(), player1.getLogin(), player2.getLogin(), false);
+
+        Game game = gameService.connectToRandomGame(new Player("Player3"));
+
+        assertEquals(lobby.getGameId(), game.getGameId());
+        assertEquals("Player3", game.getPendingJoinPlayer().getLogin());
+    }
+
+    @Test
+    void testConnectToRandomGame_DoesNotJoinOwnLobby() throws InvalidGameException {
+        Game ownLobby = gameService.createGame(player1);
+
+        Game game = gameService.connectToRandomGame(player1);
+        Game joined = gameService.connectToRandomGame(player2);
+
+        assertNotEquals(ownLobby.getGameId(), game.getGameId());
+        assertEquals(ownLobby.getGameId(), joined.getGameId());
+    }
+
+    @Test
+    void testLifecycleEvents_StartedAndFinished() throws InvalidParamException, InvalidGameException {
+        Game game = startedGame();
+        playMove(game.getGameId(), player1, 0);
+        playMove(game.getGameId(), player2, 3);
+        playMove(game.getGameId(), player1, 1);
+        playMove(game.getGameId(), player2, 4);
+        playMove(game.getGameId(), player1, 2);
+
+        List<GameLifecycleEvent.Type> types = publishedEvents.stream()
+                .map(event -> ((GameLifecycleEvent) event).type())
+                .toList();
+        assertEquals(List.of(GameLifecycleEvent.Type.CREATED, GameLifecycleEvent.Type.STARTED,
+                GameLifecycleEvent.Type.FINISHED), types);
+    }
+
+    @Test
+    void testLifecycleEvents_FinishedOnSurrender() throws InvalidParamException, InvalidGameException {
+        Game game = startedGame();
+        gameService.requestSurrender(game.getGameId(), player1.getLogin());
+        gameService.respondToSurrender(game.getGameId(), player2.getLogin(), true);
+
+        GameLifecycleEvent last = (GameLifecycleEvent) publishedEvents.get(publishedEvents.size() - 1);
+        assertEquals(GameLifecycleEvent.Type.FINISHED, last.type());
+        assertEquals(TicToe.O, last.game().getWinner());
+    }
+
+    @Test
+    void testPlayerOffline_ExpiresOpenLobbies() {
+        Game lobby = gameService.createGame(player1);
+
+        gameService.onPlayerOffline(new PlayerOfflineEvent(player1.getLogin()));
+
+        assertFalse(inMemoryGames.containsKey("tictactoe:game:" + lobby.getGameId()));
+        GameLifecycleEvent last = (GameLifecycleEvent) publishedEvents.get(publishedEvents.size() - 1);
+        assertEquals(GameLifecycleEvent.Type.EXPIRED, last.type());
+        assertEquals(lobby.getGameId(), last.game().getGameId());
+    }
+
+    @Test
+    void testPlayerOffline_KeepsStartedGames() throws InvalidParamException, InvalidGameException {
+        Game game = startedGame();
+        int eventCount = publishedEvents.size();
+
+        gameService.onPlayerOffline(new PlayerOfflineEvent(player1.getLogin()));
+        gameService.onPlayerOffline(new PlayerOfflineEvent(player2.getLogin()));
+
+        assertTrue(inMemoryGames.containsKey("tictactoe:game:" + game.getGameId()));
+        assertEquals(eventCount, publishedEvents.size());
+    }
+
     @Test
     void testGameplay_ValidMove() throws InvalidParamException, InvalidGameException {
         Game createdGame = gameService.createGame(player1);
@@ -229,6 +431,207 @@ class GameServiceTest {
         });
     }
 
+    @Test
+    void testGameplay_DuplicateSequence_AcknowledgedWithoutWrite() throws InvalidParamException, InvalidGameException {
+        Game createdGame = startedGame();
+        Move move = sequencedMove(createdGame.getGameId(), player1, 0, 1L);
+        gameService.gameplay(move, createdGame.getGameId());
+        clearInvocations(valueOperations, redisTemplate);
+
+        Game game = gameService.gameplay(move, createdGame.getGameId());
+
+        assertEquals("X", game.getBoard()[0]);
+        assertEquals(player2.getLogin(), game.getCurrentPlayerLogin());
+        assertEquals(1L, game.lastMoveSequence(player1.getLogin()));
+        verify(valueOperations, times(1)).get(anyString());
+        verifyGameWrites(0);
+    }
+
+    @Test
+    void testGameplay_DuplicateSequence_DetectedFromStoredGame() throws InvalidParamException, InvalidGameException {
+        Game createdGame = startedGame();
+        Move move = sequencedMove(createdGame.getGameId(), player1, 0, 7L);
+        gameService.gameplay(move, createdGame.getGameId());
+
+        // Another node (or a restarted one) only knows what was stored with the game
+        GameService otherNode = new GameService(gameStorage, new GameEventLog(4),
+                new MatchmakingService(new LocalMatchmakingQueue(), gameStorage, mock(RatingService.class)),
+                publishedEvents::add, new SnowflakeGameIdGenerator(2), ObservationRegistry.NOOP);
+        Game game = otherNode.gameplay(move, createdGame.getGameId());
+
+        assertEquals(player2.getLogin(), game.getCurrentPlayerLogin());
+    }
+
+    @Test
+    void testGameplay_ObservesValidationAndWinnerCheckStages() throws InvalidParamException, InvalidGameException {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ObservationRegistry observationRegistry = ObservationRegistry.create();
+        observationRegistry.observationConfig().observationHandler(new DefaultMeterObservationHandler(meterRegistry));
+        GameService observed = new GameService(gameStorage, new GameEventLog(4),
+                new MatchmakingService(new LocalMatchmakingQueue(), gameStorage, mock(RatingService.class)),
+                publishedEvents::add, new SnowflakeGameIdGenerator(3), observationRegistry);
+        Game createdGame = startedGame();
+
+        observed.gameplay(sequencedMove(createdGame.getGameId(), player1, 0, 1L), createdGame.getGameId());
+        assertThrows(InvalidGameException.class,
+                () -> observed.gameplay(sequencedMove(createdGame.getGameId(), player1, 1, 2L), createdGame.getGameId()));
+
+        assertEquals(2, meterRegistry.get(GameService.STAGE_OBSERVATION).tag("stage", "validate").timers()
+                .stream().mapToLong(Timer::count).sum());
+        assertEquals(1, meterRegistry.get(GameService.STAGE_OBSERVATION).tag("stage", "validate")
+                .tag("error", "InvalidGameException").timer().count());
+        assertEquals(1, meterRegistry.get(GameService.STAGE_OBSERVATION).tag("stage", "check-winner").timer().count());
+    }
+
+    @Test
+    void testJfr_RecordsLifecycleMovesAndStorageCalls() throws Exception {
+        List<RecordedEvent> events;
+        String gameId;
+        try (Recording recording = new Recording()) {
+            recording.enable("com.example.tictactoe.GameCreated");
+            recording.enable("com.example.tictactoe.MoveApplied");
+            recording.enable("com.example.tictactoe.GameFinished");
+            recording.enable("com.example.tictactoe.StorageCall");
+            recording.start();
+            gameId = startedGame().getGameId();
+            playMove(gameId, player1, 0);
+            playMove(gameId, player2, 3);
+            playMove(gameId, player1, 1);
+            playMove(gameId, player2, 4);
+            playMove(gameId, player1, 2);
+            recording.stop();
+            Path dump = Files.createTempFile("tictactoe", ".jfr");
+            try {
+                recording.dump(dump);
+                // The recording is JVM-wide, other test classes may still be playing
+                events = RecordingFile.readAllEvents(dump).stream()
+                        .filter(event -> event.getThread().getJavaThreadId() == Thread.currentThread().getId())
+                        .toList();
+            } finally {
+                Files.deleteIfExists(dump);
+            }
+        }
+
+        Map<String, List<RecordedEvent>> byName = new HashMap<>();
+        events.forEach(event -> byName.computeIfAbsent(event.getEventType().getName(), name -> new ArrayList<>()).add(event));
+        assertEquals(gameId, byName.get("com.example.tictactoe.GameCreated").get(0).getString("gameId"));
+        List<RecordedEvent> moves = byName.get("com.example.tictactoe.MoveApplied");
+        assertEquals(5, moves.size());
+        assertTrue(moves.get(4).getBoolean("finishedGame"));
+        RecordedEvent finished = byName.get("com.example.tictactoe.GameFinished").get(0);
+        assertEquals("X", finished.getString("winner"));
+        assertTrue(byName.get("com.example.tictactoe.StorageCall").stream()
+                .allMatch(event -> gameId.equals(event.getString("gameId"))
+                        && event.getString("key").endsWith(gameId)
+                        && Set.of("get", "set", "replace").contains(event.getString("operation"))));
+    }
+
+    @Test
+    void testGameplay_ConcurrentRetries_AppliedOnce() throws Exception {
+        Game createdGame = startedGame();
+        Move move = sequencedMove(createdGame.getGameId(), player1, 4, 1L);
+        clearInvocations(valueOperations, redisTemplate);
+
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Game>> results = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return gameService.gameplay(move, createdGame.getGameId());
+            }));
+        }
+        start.countDown();
+        for (Future<Game> result : results) {
+            result.get(5, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        Game game = gameStorage.getGame(createdGame.getGameId());
+        assertEquals("X", game.getBoard()[4]);
+        assertEquals(player2.getLogin(), game.getCurrentPlayerLogin());
+        verifyGameWrites(1);
+    }
+
+    @Test
+    void testGameplay_NewSequenceAfterRejectedMove() throws InvalidParamException, InvalidGameException {
+        Game createdGame = startedGame();
+        Move outOfTurn = sequencedMove(createdGame.getGameId(), player2, 0, 1L);
+        assertThrows(InvalidGameException.class, () -> gameService.gameplay(outOfTurn, createdGame.getGameId()));
+
+        gameService.gameplay(sequencedMove(createdGame.getGameId(), player1, 0, 1L), createdGame.getGameId());
+        Game game = gameService.gameplay(sequencedMove(createdGame.getGameId(), player2, 1, 1L), createdGame.getGameId());
+
+        assertEquals("O", game.getBoard()[1]);
+    }
+
+    @Test
+    void testResume_ReplaysMissedMoves() throws InvalidParamException, InvalidGameException {
+        Game game = startedGame();
+        long lastSeen = game.getVersion();
+        playMove(game.getGameId(), player1, 0);
+        playMove(game.getGameId(), player2, 4);
+        clearInvocations(valueOperations);
+
+        ResumeResponse response = gameService.resume(game.getGameId(), lastSeen);
+
+        assertNull(response.getSnapshot());
+        assertEquals(lastSeen + 2, response.getVersion());
+        assertEquals(2, response.getEvents().size());
+        GameEvent last = response.getEvents().get(1);
+        assertEquals(GameEvent.Type.MOVE, last.getType());
+        assertEquals(4, last.getSquareIndex());
+        assertEquals(TicToe.O, last.getSymbol());
+        assertEquals(player1.getLogin(), last.getCurrentPlayerLogin());
+        verifyNoInteractions(valueOperations);
+    }
+
+    @Test
+    void testResume_UpToDate() throws InvalidParamException, InvalidGameException {
+        Game game = playMove(startedGame().getGameId(), player1, 0);
+
+        ResumeResponse response = gameService.resume(game.getGameId(), game.getVersion());
+
+        assertNull(response.getSnapshot());
+        assertTrue(response.getEvents().isEmpty());
+        assertEquals(game.getVersion(), response.getVersion());
+    }
+
+    @Test
+    void testResume_SnapshotWhenGapExceedsBuffer() throws InvalidParamException, InvalidGameException {
+        Game game = startedGame();
+        long lastSeen = game.getVersion();
+        playMove(game.getGameId(), player1, 0);
+        playMove(game.getGameId(), player2, 1);
+        playMove(game.getGameId(), player1, 3);
+        playMove(game.getGameId(), player2, 4);
+        playMove(game.getGameId(), player1, 8);
+
+        ResumeResponse response = gameService.resume(game.getGameId(), lastSeen);
+
+        assertNotNull(response.getSnapshot());
+        assertTrue(response.getEvents().isEmpty());
+        assertEquals(lastSeen + 5, response.getVersion());
+    }
+
+    @Test
+    void testResume_SnapshotWhenMissedStateChange() throws InvalidParamException, InvalidGameException {
+        Game game = playMove(startedGame().getGameId(), player1, 0);
+        long lastSeen = game.getVersion();
+        gameService.requestSurrender(game.getGameId(), player2.getLogin());
+
+        ResumeResponse response = gameService.resume(game.getGameId(), lastSeen);
+
+        assertNotNull(response.getSnapshot());
+        assertEquals(player2.getLogin(), response.getSnapshot().getSurrenderRequesterLogin());
+    }
+
+    @Test
+    void testResume_GameNotFound() {
+        assertThrows(InvalidParamException.class, () -> gameService.resume("non-existent", 0));
+    }
+
     @Test
     void testGameplay_WinCondition_HorizontalRow() throws InvalidParamException, InvalidGameException {
         Game createdGame = gameService.createGame(player1);
@@ -373,6 +776,21 @@ class GameServiceTest {
         });
     }
 
+    @Test
+    void testRespondToSurrender_GameAlreadyWon() throws InvalidParamException, InvalidGameException {
+        Game game = startedGame();
+        gameService.requestSurrender(game.getGameId(), player2.getLogin());
+        int[] xWins = {0, 3, 1, 4, 2};
+        for (int i = 0; i < xWins.length; i++) {
+            gameService.gameplay(sequencedMove(game.getGameId(), i % 2 == 0 ? player1 : player2, xWins[i], i / 2 + 1), game.getGameId());
+        }
+
+        assertThrows(InvalidGameException.class, () -> {
+            gameService.respondToSurrender(game.getGameId(), player1.getLogin(), true);
+        });
+        assertEquals(TicToe.X, gameService.getGame(game.getGameId()).getWinner());
+    }
+
     @Test
     void testRespondToJoinRequest_Accepted() throws InvalidParamException, InvalidGameException {
         Game createdGame = gameService.createGame(player1);
@@ -381,8 +799,8 @@ class GameServiceTest {
         Game game = gameService.respondToJoinRequest(createdGame.getGameId(), player1.getLogin(), player2.getLogin(), true);
 
         assertNotNull(game);
-        assertEquals(player1, game.getPlayer1());
-        assertEquals(player2, game.getPlayer2());
+        assertEquals(player1.getLogin(), game.getPlayer1().getLogin());
+        assertEquals(player2.getLogin(), game.getPlayer2().getLogin());
         assertEquals(GameStatus.IN_PROGRESS, game.getStatus());
         assertEquals(player1.getLogin(), game.getCurrentPlayerLogin());
         assertNull(game.getPendingJoinPlayer());
@@ -396,7 +814,7 @@ class GameServiceTest {
         Game game = gameService.respondToJoinRequest(createdGame.getGameId(), player1.getLogin(), player2.getLogin(), false);
 
         assertNotNull(game);
-        assertEquals(player1, game.getPlayer1());
+        assertEquals(player1.getLogin(), game.getPlayer1().getLogin());
         assertNull(game.getPlayer2());
         assertEquals(GameStatus.NEW, game.getStatus());
         assertNull(game.getPendingJoinPlayer());
@@ -569,6 +987,21 @@ class GameServiceTest {
         });
     }
 
+    private Game startedGame() throws InvalidParamException, InvalidGameException {
+        Game createdGame = gameService.createGame(player1);
+        gameService.connectToGame(player2, createdGame.getGameId());
+        return gameService.respondToJoinRequest(createdGame.getGameId(), player1.getLogin(), player2.getLogin(), true);
+    }
+
+    private Move sequencedMove(String gameId, Player player, int squareIndex, long sequence) {
+        Move move = new Move();
+        move.setPlayerLogin(player.getLogin());
+        move.setSquareIndex(squareIndex);
+        move.setGameId(gameId);
+        move.setSequence(sequence);
+        return move;
+    }
+
     // Helper method to make moves
     private Game playMove(String gameId, Player player, int squareIndex) throws InvalidParamException, InvalidGameException {
         Move move = new Move();
@@ -577,5 +1010,10 @@ class GameServiceTest {
         move.setGameId(gameId);
         return gameService.gameplay(move, gameId);
     }
-}
 
+    @SuppressWarnings("unchecked")
+    private void verifyGameWrites(int count) {
+        verify(redisTemplate, times(count)).execute(any(RedisScript.class), any(RedisSerializer.class),
+                any(RedisSerializer.class), anyList(), any(Object[].class));
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.tictactoe.service;
+
+import com.example.tictactoe.exception.InvalidGameException;
+import com.example.tictactoe.exception.InvalidParamException;
+import com.example.tictactoe.id.SnowflakeGameIdGenerator;
+import com.example.tictactoe.matchmaking.LocalMatchmakingQueue;
+import com.example.tictactoe.matchmaking.MatchmakingService;
+import com.example.tictactoe.model.Game;
+import com.example.tictactoe.model.GameStatus;
+import com.example.tictactoe.model.Move;
+import com.example.tictactoe.model.Player;
+import com.example.tictactoe.storage.GameStorage;
+import com.example.tictactoe.storage.InMemoryGameStorage;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Allocation budgets for {@link GameService#gameplay}, measured with the JVM's per-thread allocation
+ * counter against the in-memory storage engine. Budgets are bytes per move, set in the pom as
+ * {@code allocation.budget.*} properties and overridable with {@code -D} when a change legitimately
+ * moves them.
+ */
+class GameplayAllocationTest {
+
+    private static final String GAME_ID = "allocation";
+    private static final int[] X_WINS = {0, 3, 1, 4, 2};
+    private static final int WARMUP_GAMES = 5_000;
+    private static final int MEASURED_GAMES = 500;
+    private static final int SAMPLES = 5;
+
+    private static com.sun.management.ThreadMXBean threads;
+
+    @BeforeAll
+    static void enableAllocationCounters() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean,
+                "Per-thread allocation counters are not available on this JVM");
+        threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported(), "Per-thread allocation counters are not supported");
+        threads.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    @Test
+    void testGameplay_StaysWithinAllocationBudget() throws Exception {
+        long bytesPerMove = measureBytesPerMove(ObservationRegistry.NOOP);
+
+        assertWithinBudget("allocation.budget.gameplay", bytesPerMove);
+    }
+
+    @Test
+    void testObservedGameplay_StaysWithinAllocationBudget() throws Exception {
+        ObservationRegistry registry = ObservationRegistry.create();
+        // No long task timers, as with management.observations.long-task-timer.enabled=false
+        registry.observationConfig().observationHandler(new DefaultMeterObservationHandler(new SimpleMeterRegistry(),
+                DefaultMeterObservationHandler.IgnoredMeters.LONG_TASK_TIMER));
+
+        long bytesPerMove = measureBytesPerMove(registry);
+
+        assertWithinBudget("allocation.budget.gameplay-observed", bytesPerMove);
+    }
+
+    /**
+     * Plays whole games on the calling thread and returns the lowest average of several samples, so a
+     * stray allocation from JIT or class loading in one sample does not fail the build.
+     */
+    private static long measureBytesPerMove(ObservationRegistry registry) throws InvalidParamException, InvalidGameException {
+        GameStorage gameStorage = new InMemoryGameStorage();
+        GameService gameService = new GameService(gameStorage, new GameEventLog(32),
+                new MatchmakingService(new LocalMatchmakingQueue(), gameStorage, null),
+                event -> { }, new SnowflakeGameIdGenerator(1), registry);
+        Game startingGame = startingGame();
+        Move[] moves = moves();
+
+        playGames(gameService, gameStorage, startingGame, moves, WARMUP_GAMES);
+
+        long threadId = Thread.currentThread().getId();
+        long lowest = Long.MAX_VALUE;
+        for (int sample = 0; sample < SAMPLES; sample++) {
+            long before = threads.getThreadAllocatedBytes(threadId);
+            playGames(gameService, gameStorage, startingGame, moves, MEASURED_GAMES);
+            long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+            lowest = Math.min(lowest, allocated / ((long) MEASURED_GAMES * moves.length));
+        }
+        return lowest;
+    }
+
+    private static void playGames(GameService gameService, GameStorage gameStorage, Game startingGame, Move[] moves,
+                                  int games) throws InvalidParamException, InvalidGameException {
+        for (int i = 0; i < games; i++) {
+            gameStorage.setGame(startingGame);
+            Game game = null;
+            for (Move move : moves) {
+                game = gameService.gameplay(move, GAME_ID);
+            }
+            assertEquals(GameStatus.FINISHED, game.getStatus());
+        }
+    }
+
+    private static void assertWithinBudget(String property, long bytesPerMove) {
+        String budget = System.getProperty(property);
+        assumeTrue(budget != null && !budget.isBlank(), property + " is not configured");
+        long budgetBytes = Long.parseLong(budget.trim());
+        assertTrue(bytesPerMove <= budgetBytes, () -> String.format(
+                "gameplay() allocated %d bytes per move, over the %d byte budget in %s",
+                bytesPerMove, budgetBytes, property));
+    }
+
+    private static Game startingGame() {
+        Game game = new Game();
+        game.setGameId(GAME_ID);
+        game.setPlayer1(new Player("alice"));
+        game.setPlayer2(new Player("bob"));
+        game.setStatus(GameStatus.IN_PROGRESS);
+        game.setCurrentPlayerLogin("alice");
+        return game;
+    }
+
+    private static Move[] moves() {
+        Move[] moves = new Move[X_WINS.length];
+        for (int i = 0; i < X_WINS.length; i++) {
+            Move move = new Move();
+            move.setGameId(GAME_ID);
+            move.setPlayerLogin(i % 2 == 0 ? "alice" : "bob");
+            move.setSquareIndex(X_WINS[i]);
+            move.setSequence((long) i / 2 + 1);
+            moves[i] = move;
+        }
+        return moves;
+    }
+}
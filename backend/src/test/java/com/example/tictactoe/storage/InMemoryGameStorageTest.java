@@ -0,0 +1,113 @@
+package com.example.tictactoe.storage;
+
+import com.example.tictactoe.model.Game;
+import com.example.tictactoe.model.GameStatus;
+import com.example.tictactoe.model.Player;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryGameStorageTest {
+
+    private InMemoryGameStorage gameStorage;
+
+    @BeforeEach
+    void setUp() {
+        gameStorage = new InMemoryGameStorage();
+    }
+
+    @Test
+    void testGetGame_ReturnsSnapshotsIsolatedFromCallers() {
+        Game game = newGame("snapshot", GameStatus.NEW);
+        gameStorage.setGame(game);
+
+        // Mutating the stored instance or a read copy must not leak into storage until setGame
+        game.setStatus(GameStatus.FINISHED);
+        Game read = gameStorage.getGame("snapshot");
+        read.getBoard()[4] = "X";
+        read.getPlayer1().setLogin("changed");
+        read.recordMoveSequence("Player1", 7);
+
+        Game reread = gameStorage.getGame("snapshot");
+        assertNotSame(read, reread);
+        assertEquals(GameStatus.NEW, reread.getStatus());
+        assertNull(reread.getBoard()[4]);
+        assertEquals("Player1", reread.getPlayer1().getLogin());
+        assertEquals(0, reread.lastMoveSequence("Player1"));
+    }
+
+    @Test
+    void testSetGame_ReplacesAndRemoveGameDeletes() {
+        Game game = newGame("replaced", GameStatus.NEW);
+        gameStorage.setGame(game);
+        game.setPlayer2(new Player("Player2"));
+        game.setStatus(GameStatus.IN_PROGRESS);
+        game.incrementVersion();
+        gameStorage.setGame(game);
+
+        Game read = gameStorage.getGame("replaced");
+        assertEquals(GameStatus.IN_PROGRESS, read.getStatus());
+        assertEquals("Player2", read.getPlayer2().getLogin());
+        assertEquals(1, read.getVersion());
+
+        gameStorage.removeGame("replaced");
+        assertNull(gameStorage.getGame("replaced"));
+    }
+
+    @Test
+    void testReplaceGame_OnlyOverTheExpectedVersion() {
+        Game game = newGame("versioned", GameStatus.NEW);
+        game.incrementVersion();
+        gameStorage.setGame(game);
+
+        Game first = gameStorage.getGame("versioned");
+        Game second = gameStorage.getGame("versioned");
+        first.setPendingJoinPlayer(new Player("first"));
+        first.incrementVersion();
+        second.setPendingJoinPlayer(new Player("second"));
+        second.incrementVersion();
+
+        assertTrue(gameStorage.replaceGame(first, 1));
+        assertFalse(gameStorage.replaceGame(second, 1));
+        assertEquals("first", gameStorage.getGame("versioned").getPendingJoinPlayer().getLogin());
+        assertEquals(2, gameStorage.getGame("versioned").getVersion());
+        assertFalse(gameStorage.replaceGame(newGame("missing", GameStatus.NEW), 0));
+        assertNull(gameStorage.getGame("missing"));
+    }
+
+    @Test
+    void testCountGamesByStatus_CountsEveryStatus() {
+        gameStorage.setGame(newGame("new-1", GameStatus.NEW));
+        gameStorage.setGame(newGame("new-2", GameStatus.NEW));
+        gameStorage.setGame(newGame("playing", GameStatus.IN_PROGRESS));
+
+        Map<GameStatus, Long> counts = gameStorage.countGamesByStatus();
+
+        assertEquals(2L, counts.get(GameStatus.NEW));
+        assertEquals(1L, counts.get(GameStatus.IN_PROGRESS));
+        assertEquals(0L, counts.get(GameStatus.FINISHED));
+        assertEquals(3, gameStorage.getGames().size());
+    }
+
+    @Test
+    void testGetGamesByIds_KeepsOrderAndSkipsMissing() {
+        gameStorage.setGame(newGame("first", GameStatus.NEW));
+        gameStorage.setGame(newGame("second", GameStatus.NEW));
+
+        List<Game> games = gameStorage.getGames(List.of("second", "gone", "first"));
+
+        assertEquals(List.of("second", "first"), games.stream().map(Game::getGameId).toList());
+    }
+
+    private static Game newGame(String gameId, GameStatus status) {
+        Game game = new Game();
+        game.setGameId(gameId);
+        game.setPlayer1(new Player("Player1"));
+        game.setStatus(status);
+        return game;
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.tictactoe.storage;
+
+import com.example.tictactoe.config.RedisConfig;
+import com.example.tictactoe.model.Game;
+import com.example.tictactoe.model.GameStatus;
+import com.example.tictactoe.model.Player;
+import com.github.fppt.jedismock.RedisServer;
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.protocol.ProtocolVersion;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The set and version-checked replace scripts, run by an in-process jedis-mock server
+ */
+class RedisGameStorageScriptTest {
+
+    private static final String GAME_KEY = "tictactoe:game:g1";
+    private static final String VERSION_KEY = "tictactoe:game-version:g1";
+
+    private static RedisServer redisServer;
+    private static LettuceConnectionFactory connectionFactory;
+
+    private RedisTemplate<String, Object> redisTemplate;
+    private StringRedisTemplate stringTemplate;
+    private RedisGameStorage gameStorage;
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        redisServer = RedisServer.newRedisServer().start();
+        // jedis-mock speaks RESP2 only
+        LettuceClientConfiguration clientConfiguration = LettuceClientConfiguration.builder()
+                .clientOptions(ClientOptions.builder().protocolVersion(ProtocolVersion.RESP2).build())
+                .build();
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(redisServer.getHost(), redisServer.getBindPort()), clientConfiguration);
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        connectionFactory.destroy();
+        redisServer.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = new RedisConfig().redisTemplate(connectionFactory, new SimpleMeterRegistry());
+        stringTemplate = new StringRedisTemplate(connectionFactory);
+        stringTemplate.delete(List.of(GAME_KEY, VERSION_KEY));
+        gameStorage = new RedisGameStorage(redisTemplate);
+        ReflectionTestUtils.setField(gameStorage, "keyPrefix", "tictactoe:game:");
+        ReflectionTestUtils.setField(gameStorage, "ttlHours", 24L);
+    }
+
+    @Test
+    void testSetGame_StoresGameAndVersionWithTheSameTtl() {
+        gameStorage.setGame(game(1));
+
+        Game stored = gameStorage.getGame("g1");
+        assertEquals(GameStatus.IN_PROGRESS, stored.getStatus());
+        assertEquals("alice", stored.getPlayer1().getLogin());
+        assertEquals("1", stringTemplate.opsForValue().get(VERSION_KEY));
+        long gameTtl = stringTemplate.getExpire(GAME_KEY, TimeUnit.SECONDS);
+        assertTrue(gameTtl > TimeUnit.HOURS.toSeconds(23), "TTL " + gameTtl);
+        assertEquals(gameTtl, stringTemplate.getExpire(VERSION_KEY, TimeUnit.SECONDS), 1);
+    }
+
+    @Test
+    void testReplaceGame_WritesOnlyOverTheExpectedVersion() {
+        gameStorage.setGame(game(3));
+        Game update = game(4);
+        update.getBoard()[4] = "X";
+
+        assertFalse(gameStorage.replaceGame(update, 2));
+        assertEquals(3, gameStorage.getGame("g1").getVersion());
+        assertEquals("3", stringTemplate.opsForValue().get(VERSION_KEY));
+
+        assertTrue(gameStorage.replaceGame(update, 3));
+        assertEquals(4, gameStorage.getGame("g1").getVersion());
+        assertEquals("X", gameStorage.getGame("g1").getBoard()[4]);
+        assertEquals("4", stringTemplate.opsForValue().get(VERSION_KEY));
+
+        assertFalse(gameStorage.replaceGame(update, 3), "a second write over the same version is stale");
+    }
+
+    @Test
+    void testReplaceGame_FalseOnceTheGameIsRemoved() {
+        gameStorage.setGame(game(1));
+        gameStorage.removeGame("g1");
+
+        assertFalse(gameStorage.replaceGame(game(2), 1));
+        assertFalse(stringTemplate.hasKey(GAME_KEY));
+        assertFalse(stringTemplate.hasKey(VERSION_KEY));
+    }
+
+    @Test
+    void testReplaceGame_FalseWhenOnlyTheVersionIsLeft() {
+        gameStorage.setGame(game(1));
+        stringTemplate.delete(GAME_KEY);
+
+        assertFalse(gameStorage.replaceGame(game(2), 1));
+        assertFalse(stringTemplate.hasKey(GAME_KEY));
+    }
+
+    @Test
+    void testReplaceGame_GameWithoutVersionKeyIsComparedByItsStoredVersion() {
+        // As written before versions were kept, or by an import
+        Game legacy = game(5);
+        legacy.setMoveSequences(new HashMap<>(Map.of("version", 9L)));
+        redisTemplate.opsForValue().set(GAME_KEY, legacy, 1, TimeUnit.HOURS);
+
+        assertFalse(gameStorage.replaceGame(game(10), 9), "only the game's own version counts");
+        assertFalse(gameStorage.replaceGame(game(5), 4));
+        assertTrue(gameStorage.replaceGame(game(6), 5));
+        assertEquals("6", stringTemplate.opsForValue().get(VERSION_KEY));
+    }
+
+    private static Game game(long version) {
+        Game game = new Game();
+        game.setGameId("g1");
+        game.setPlayer1(new Player("alice"));
+        game.setPlayer2(new Player("bob"));
+        game.setStatus(GameStatus.IN_PROGRESS);
+        game.setBoard(new String[9]);
+        game.setVersion(version);
+        return game;
+    }
+}
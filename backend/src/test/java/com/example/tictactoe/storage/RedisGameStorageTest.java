@@ -8,12 +8,17 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.Cursor;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
 import org.springframework.data.redis.core.ValueOperations;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -22,9 +27,9 @@ import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
-class GameStorageTest {
+class RedisGameStorageTest {
 
-    private GameStorage gameStorage;
+    private RedisGameStorage gameStorage;
     
     @Mock
     private RedisTemplate<String, Object> redisTemplate;
@@ -43,13 +48,6 @@ class GameStorageTest {
         inMemoryGames = new HashMap<>();
         
         // Mock Redis operations to use in-memory storage
-        lenient().doAnswer(invocation -> {
-            String key = invocation.getArgument(0);
-            Game game = invocation.getArgument(1);
-            inMemoryGames.put(key, game);
-            return null;
-        }).when(valueOperations).set(anyString(), any(Game.class), anyLong(), any());
-        
         lenient().when(valueOperations.get(anyString())).thenAnswer(invocation -> {
             String key = invocation.getArgument(0);
             return inMemoryGames.get(key);
@@ -66,8 +64,8 @@ class GameStorageTest {
             return true;
         }).when(redisTemplate).delete(anyString());
         
-        // Create GameStorage with mocked Redis
-        gameStorage = new GameStorage(redisTemplate);
+        // Create RedisGameStorage with mocked Redis
+        gameStorage = new RedisGameStorage(redisTemplate);
         ReflectionTestUtils.setField(gameStorage, "keyPrefix", "tictactoe:game:");
         ReflectionTestUtils.setField(gameStorage, "ttlHours", 24L);
         
@@ -75,39 +73,6 @@ class GameStorageTest {
         inMemoryGames.clear();
     }
 
-    @Test
-    void testSetGame_AddsGameToStorage() {
-        Game game = new Game();
-        game.setGameId("test-game-id");
-        game.setPlayer1(new Player("Player1"));
-        game.setStatus(GameStatus.NEW);
-
-        gameStorage.setGame(game);
-
-        assertTrue(gameStorage.getGames().containsKey("test-game-id"));
-        assertEquals(game, gameStorage.getGames().get("test-game-id"));
-    }
-
-    @Test
-    void testSetGame_UpdatesExistingGame() {
-        Game game = new Game();
-        game.setGameId("test-game-id");
-        game.setPlayer1(new Player("Player1"));
-        game.setStatus(GameStatus.NEW);
-
-        gameStorage.setGame(game);
-
-        // Update the game
-        game.setPlayer2(new Player("Player2"));
-        game.setStatus(GameStatus.IN_PROGRESS);
-        gameStorage.setGame(game);
-
-        Game retrievedGame = gameStorage.getGames().get("test-game-id");
-        assertEquals(GameStatus.IN_PROGRESS, retrievedGame.getStatus());
-        assertNotNull(retrievedGame.getPlayer2());
-        assertEquals("Player2", retrievedGame.getPlayer2().getLogin());
-    }
-
     @Test
     void testGetGames_ReturnsAllGames() {
         Game game1 = new Game();
@@ -118,8 +83,8 @@ class GameStorageTest {
         game2.setGameId("game-2");
         game2.setPlayer1(new Player("Player2"));
 
-        gameStorage.setGame(game1);
-        gameStorage.setGame(game2);
+        store(game1);
+        store(game2);
 
         assertEquals(2, gameStorage.getGames().size());
         assertTrue(gameStorage.getGames().containsKey("game-1"));
@@ -130,5 +95,57 @@ class GameStorageTest {
     void testGetGames_EmptyStorage() {
         assertTrue(gameStorage.getGames().isEmpty());
     }
-}
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void testCountGamesByStatus_ScansInsteadOfKeys() {
+        for (GameStatus status : new GameStatus[]{GameStatus.NEW, GameStatus.NEW, GameStatus.FINISHED}) {
+            Game game = new Game();
+            game.setGameId("g" + inMemoryGames.size());
+            game.setStatus(status);
+            store(game);
+        }
+        Iterator<String> keys = new ArrayList<>(inMemoryGames.keySet()).iterator();
+        Cursor<String> cursor = mock(Cursor.class);
+        when(cursor.hasNext()).thenAnswer(invocation -> keys.hasNext());
+        when(cursor.next()).thenAnswer(invocation -> keys.next());
+        when(redisTemplate.scan(any(ScanOptions.class))).thenReturn(cursor);
+        when(valueOperations.multiGet(anyCollection())).thenAnswer(invocation ->
+                invocation.<List<String>>getArgument(0).stream().map(inMemoryGames::get).toList());
+
+        Map<GameStatus, Long> counts = gameStorage.countGamesByStatus();
+
+        assertEquals(2L, counts.get(GameStatus.NEW));
+        assertEquals(0L, counts.get(GameStatus.IN_PROGRESS));
+        assertEquals(1L, counts.get(GameStatus.FINISHED));
+        verify(redisTemplate, never()).keys(anyString());
+        verify(cursor).close();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testGetGamesByIds_MultiGetsInBatchesAndSkipsMissing() {
+        List<String> gameIds = new ArrayList<>();
+        for (int i = 0; i < 501; i++) {
+            Game game = new Game();
+            game.setGameId("g" + i);
+            store(game);
+            gameIds.add(game.getGameId());
+        }
+        gameIds.add(1, "gone");
+        when(valueOperations.multiGet(anyCollection())).thenAnswer(invocation ->
+                invocation.<List<String>>getArgument(0).stream().map(inMemoryGames::get).toList());
+
+        List<Game> games = gameStorage.getGames(gameIds);
+
+        assertEquals(501, games.size());
+        assertEquals("g0", games.get(0).getGameId());
+        assertEquals("g1", games.get(1).getGameId());
+        verify(valueOperations, times(2)).multiGet(anyCollection());
+        verify(redisTemplate, never()).keys(anyString());
+    }
+
+    private void store(Game game) {
+        inMemoryGames.put("tictactoe:game:" + game.getGameId(), game);
+    }
+}
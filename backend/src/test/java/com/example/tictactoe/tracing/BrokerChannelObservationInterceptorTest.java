@@ -0,0 +1,143 @@
+package com.example.tictactoe.tracing;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.transport.SenderContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.messaging.support.NativeMessageHeaderAccessor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BrokerChannelObservationInterceptorTest {
+
+    private SimpleMeterRegistry registry;
+    private ExecutorSubscribableChannel brokerChannel;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        brokerChannel = new ExecutorSubscribableChannel();
+        ObservationRegistry observationRegistry = ObservationRegistry.create();
+        observationRegistry.observationConfig()
+                .observationHandler(new DefaultMeterObservationHandler(registry))
+                .observationHandler(new TraceparentWriter());
+        brokerChannel.addInterceptor(new BrokerChannelObservationInterceptor(observationRegistry));
+    }
+
+    @Test
+    void testSends_AreCountedByDestinationKind() {
+        brokerChannel.subscribe(message -> { });
+
+        brokerChannel.send(message("/topic/game.abc"));
+        brokerChannel.send(message("/topic/spectate.abc"));
+        brokerChannel.send(message("/topic/game.def"));
+        brokerChannel.send(message("/topic/somewhere"));
+
+        assertEquals(2, sends("game"));
+        assertEquals(1, sends("spectate"));
+        assertEquals(1, sends("other"));
+        assertNull(registry.find(BrokerChannelObservationInterceptor.SENDS_OBSERVATION).tag("destination", "lobby").timer());
+    }
+
+    @Test
+    void testNestedSend_IsTimedSeparately() {
+        // Resolving a user destination re-sends on the same channel from within the first send
+        brokerChannel.subscribe(message -> {
+            String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+            if (destination.startsWith("/user/")) {
+                brokerChannel.send(message("/queue/errors-user1"));
+            }
+        });
+
+        brokerChannel.send(message("/user/alice/queue/errors"));
+
+        assertEquals(1, sends("user"));
+        assertEquals(1, sends("queue"));
+        assertTrue(timer("user").totalTime(TimeUnit.NANOSECONDS) >= timer("queue").totalTime(TimeUnit.NANOSECONDS),
+                "outer send includes the nested one");
+    }
+
+    @Test
+    void testSend_CarriesTraceContextInStompHeaders() {
+        List<Message<?>> delivered = new ArrayList<>();
+        brokerChannel.subscribe(delivered::add);
+
+        brokerChannel.send(message("/topic/game.abc"));
+
+        assertEquals("00-trace-span-01", NativeMessageHeaderAccessor.getFirstNativeHeader("traceparent", delivered.get(0).getHeaders()));
+        assertEquals("/topic/game.abc", SimpMessageHeaderAccessor.getDestination(delivered.get(0).getHeaders()));
+    }
+
+    @Test
+    void testSpectatorSend_IsObservedWithoutTraceContext() {
+        List<Message<?>> delivered = new ArrayList<>();
+        brokerChannel.subscribe(delivered::add);
+        Message<byte[]> message = message("/topic/spectate.abc");
+
+        brokerChannel.send(message);
+
+        assertSame(message, delivered.get(0));
+        assertNull(NativeMessageHeaderAccessor.getFirstNativeHeader("traceparent", delivered.get(0).getHeaders()));
+        assertEquals(1, sends("spectate"));
+    }
+
+    @Test
+    void testSend_WithoutTraceContextKeepsTheMessage() {
+        ObservationRegistry metricsOnly = ObservationRegistry.create();
+        metricsOnly.observationConfig().observationHandler(new DefaultMeterObservationHandler(registry));
+        ExecutorSubscribableChannel channel = new ExecutorSubscribableChannel();
+        channel.addInterceptor(new BrokerChannelObservationInterceptor(metricsOnly));
+        List<Message<?>> delivered = new ArrayList<>();
+        channel.subscribe(delivered::add);
+        Message<byte[]> message = message("/topic/game.abc");
+
+        channel.send(message);
+
+        assertSame(message, delivered.get(0));
+        assertEquals(1, sends("game"));
+    }
+
+    private long sends(String kind) {
+        return timer(kind).count();
+    }
+
+    private Timer timer(String kind) {
+        return registry.get(BrokerChannelObservationInterceptor.SENDS_OBSERVATION).tag("destination", kind).timer();
+    }
+
+    private static Message<byte[]> message(String destination) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create();
+        accessor.setDestination(destination);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    /**
+     * Stands in for the tracer's propagating handler, which writes through the same setter
+     */
+    private static class TraceparentWriter implements ObservationHandler<SenderContext<?>> {
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void onStart(SenderContext<?> context) {
+            ((SenderContext<Object>) context).getSetter().set(context.getCarrier(), "traceparent", "00-trace-span-01");
+        }
+
+        @Override
+        public boolean supportsContext(Observation.Context context) {
+            return context instanceof SenderContext;
+        }
+    }
+}
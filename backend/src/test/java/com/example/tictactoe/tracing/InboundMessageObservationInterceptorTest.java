@@ -0,0 +1,109 @@
+package com.example.tictactoe.tracing;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.transport.ReceiverContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.annotation.support.SimpAnnotationMethodMessageHandler;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class InboundMessageObservationInterceptorTest {
+
+    private final List<Observation.Context> stopped = new ArrayList<>();
+    private final List<String> extractedTraceparents = new ArrayList<>();
+    private ObservationRegistry observationRegistry;
+    private ExecutorSubscribableChannel inboundChannel;
+
+    @BeforeEach
+    void setUp() {
+        observationRegistry = ObservationRegistry.create();
+        observationRegistry.observationConfig().observationHandler(new ObservationHandler<>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public void onStart(Observation.Context context) {
+                if (context instanceof ReceiverContext<?> receiver) {
+                    extractedTraceparents.add(((ReceiverContext<Object>) receiver).getGetter().get(receiver.getCarrier(), "traceparent"));
+                }
+            }
+
+            @Override
+            public void onStop(Observation.Context context) {
+                stopped.add(context);
+            }
+
+            @Override
+            public boolean supportsContext(Observation.Context context) {
+                return true;
+            }
+        });
+        // Handling runs on the executor, which is where the interceptor's callbacks fire
+        inboundChannel = new ExecutorSubscribableChannel(Runnable::run);
+        inboundChannel.addInterceptor(new InboundMessageObservationInterceptor(observationRegistry));
+    }
+
+    @Test
+    void testMessageMapping_IsParentOfNestedObservations() throws Exception {
+        SimpAnnotationMethodMessageHandler handler = mock(SimpAnnotationMethodMessageHandler.class);
+        doAnswer(invocation -> {
+            Observation.createNotStarted("tictactoe.game.stages", observationRegistry).observe(() -> { });
+            return null;
+        }).when(handler).handleMessage(any());
+        inboundChannel.subscribe(handler);
+
+        inboundChannel.send(send("/app/game.gameplay", "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01"));
+
+        assertEquals(List.of("00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01"), extractedTraceparents);
+        assertEquals(2, stopped.size());
+        Observation.Context stage = stopped.get(0);
+        Observation.Context inbound = stopped.get(1);
+        assertEquals(InboundMessageObservationInterceptor.INBOUND_OBSERVATION, inbound.getName());
+        assertEquals("/app/game.gameplay", inbound.getLowCardinalityKeyValue("destination").getValue());
+        assertSame(inbound, stage.getParentObservation().getContextView());
+        assertNull(observationRegistry.getCurrentObservation());
+    }
+
+    @Test
+    void testFailedHandling_RecordsError() {
+        SimpAnnotationMethodMessageHandler handler = mock(SimpAnnotationMethodMessageHandler.class);
+        doThrow(new IllegalStateException("boom")).when(handler).handleMessage(any());
+        inboundChannel.subscribe(handler);
+
+        assertThrows(Exception.class, () -> inboundChannel.send(send("/app/game.gameplay", null)));
+
+        assertEquals(1, stopped.size());
+        assertInstanceOf(IllegalStateException.class, stopped.get(0).getError());
+    }
+
+    @Test
+    void testBrokerHandler_IsNotObserved() {
+        MessageHandler broker = mock(MessageHandler.class);
+        inboundChannel.subscribe(broker);
+
+        inboundChannel.send(send("/app/game.gameplay", null));
+
+        assertTrue(stopped.isEmpty());
+    }
+
+    private static Message<byte[]> send(String destination, String traceparent) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setDestination(destination);
+        if (traceparent != null) {
+            accessor.setNativeHeader("traceparent", traceparent);
+        }
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.tictactoe.transfer;
+
+import com.example.tictactoe.model.Game;
+import com.example.tictactoe.model.GameStatus;
+import com.example.tictactoe.model.Player;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GameTransferServiceTest {
+
+    private static final String PREFIX = "tictactoe:game:";
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private ValueOperations<String, Object> valueOperations;
+
+    private final Map<String, Object> store = new ConcurrentHashMap<>();
+    private final AtomicInteger pipelines = new AtomicInteger();
+    private GameTransferService transferService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        lenient().when(redisTemplate.scan(any(ScanOptions.class))).thenAnswer(invocation -> cursor(new ArrayList<>(store.keySet()).iterator()));
+        lenient().when(valueOperations.multiGet(anyCollection())).thenAnswer(invocation ->
+                invocation.<List<String>>getArgument(0).stream().map(store::get).toList());
+        lenient().doAnswer(invocation -> {
+            store.put(invocation.getArgument(0), invocation.getArgument(1));
+            return null;
+        }).when(valueOperations).set(anyString(), any(), anyLong(), any(TimeUnit.class));
+        lenient().when(redisTemplate.executePipelined(any(SessionCallback.class))).thenAnswer(invocation -> {
+            pipelines.incrementAndGet();
+            invocation.<SessionCallback<Object>>getArgument(0).execute((RedisOperations<Object, Object>) (Object) redisTemplate);
+            return List.of();
+        });
+        transferService = new GameTransferService(redisTemplate);
+    }
+
+    @Test
+    void testExportThenImport_RoundTripsGames() throws Exception {
+        Game game = game("g1");
+        game.getBoard()[4] = "X";
+        game.recordMoveSequence("alice", 7);
+        game.incrementVersion();
+        store.put(PREFIX + "g1", game);
+        store.put(PREFIX + "g2", game("g2"));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(2, transferService.exportGames(out));
+        String ndjson = out.toString(StandardCharsets.UTF_8);
+        assertEquals(2, ndjson.lines().count());
+        assertFalse(ndjson.contains("com.example"), "dump must not embed class names");
+
+        store.clear();
+        ImportResult result = transferService.importGames(new ByteArrayInputStream(out.toByteArray()), 1, 2);
+
+        assertEquals(new ImportResult(2, 2, 0, result.elapsedMillis()), result);
+        Game restored = (Game) store.get(PREFIX + "g1");
+        assertEquals("X", restored.getBoard()[4]);
+        assertEquals(7, restored.lastMoveSequence("alice"));
+        assertEquals(1, restored.getVersion());
+        assertEquals(game.getCreatedAt(), restored.getCreatedAt());
+    }
+
+    @Test
+    void testExport_SkipsKeysThatExpiredDuringScan() throws Exception {
+        store.put(PREFIX + "g1", game("g1"));
+        when(redisTemplate.scan(any(ScanOptions.class))).thenAnswer(invocation ->
+                cursor(List.of(PREFIX + "g1", PREFIX + "gone").iterator()));
+
+        assertEquals(1, transferService.exportGames(new ByteArrayOutputStream()));
+    }
+
+    @Test
+    void testImport_CountsMalformedLinesAndKeepsGoing() throws Exception {
+        String ndjson = "{\"gameId\":\"g1\",\"status\":\"NEW\"}\nnot json\n\n{\"status\":\"NEW\"}\n{\"gameId\":\"g2\",\"status\":\"NEW\"}\n";
+
+        ImportResult result = transferService.importGames(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), 10, 1);
+
+        assertEquals(4, result.lines());
+        assertEquals(2, result.imported());
+        assertEquals(2, result.failed());
+        assertTrue(store.containsKey(PREFIX + "g2"));
+    }
+
+    @Test
+    void testImport_WritesPipelinedBatches() throws Exception {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 25; i++) {
+            ndjson.append("{\"gameId\":\"g").append(i).append("\",\"status\":\"FINISHED\"}\n");
+        }
+
+        transferService.importGames(new ByteArrayInputStream(ndjson.toString().getBytes(StandardCharsets.UTF_8)), 10, 3);
+
+        assertEquals(25, store.size());
+        assertEquals(3, pipelines.get());
+    }
+
+    @Test
+    void testExportThenImport_TwentyThousandGamesInBatches() throws Exception {
+        for (int i = 0; i < 20_000; i++) {
+            store.put(PREFIX + "g" + i, game("g" + i));
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(20_000, transferService.exportGames(out));
+
+        store.clear();
+        ImportResult result = transferService.importGames(new ByteArrayInputStream(out.toByteArray()), 500, 4);
+
+        assertEquals(20_000, result.imported());
+        assertEquals(0, result.failed());
+        assertEquals(40, pipelines.get());
+        for (int i = 0; i < 20_000; i++) {
+            assertEquals("g" + i, ((Game) store.get(PREFIX + "g" + i)).getGameId());
+        }
+    }
+
+    private static Game game(String gameId) {
+        Game game = new Game();
+        game.setGameId(gameId);
+        game.setPlayer1(new Player("alice"));
+        game.setPlayer2(new Player("bob"));
+        game.setStatus(GameStatus.IN_PROGRESS);
+        game.setCurrentPlayerLogin("alice");
+        return game;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Cursor<String> cursor(Iterator<String> keys) {
+        Cursor<String> cursor = mock(Cursor.class);
+        when(cursor.hasNext()).thenAnswer(invocation -> keys.hasNext());
+        when(cursor.next()).thenAnswer(invocation -> keys.next());
+        return cursor;
+    }
+}
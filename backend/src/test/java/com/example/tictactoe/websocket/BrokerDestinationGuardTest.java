@@ -0,0 +1,42 @@
+package com.example.tictactoe.websocket;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BrokerDestinationGuardTest {
+
+    private final BrokerDestinationGuard guard = new BrokerDestinationGuard();
+
+    @Test
+    void testSendToApplicationDestination_PassesThrough() {
+        Message<byte[]> message = message(SimpMessageType.MESSAGE, "/app/game.gameplay");
+
+        assertSame(message, guard.preSend(message, null));
+    }
+
+    @Test
+    void testSendToBrokerDestination_IsDropped() {
+        assertNull(guard.preSend(message(SimpMessageType.MESSAGE, "/topic/spectate.game-1"), null));
+        assertNull(guard.preSend(message(SimpMessageType.MESSAGE, "/topic/game.game-1"), null));
+        assertNull(guard.preSend(message(SimpMessageType.MESSAGE, "/queue/errors"), null));
+    }
+
+    @Test
+    void testSubscribeToSpectatorDestination_PassesThrough() {
+        Message<byte[]> message = message(SimpMessageType.SUBSCRIBE, "/topic/spectate.game-1");
+
+        assertSame(message, guard.preSend(message, null));
+    }
+
+    private static Message<byte[]> message(SimpMessageType type, String destination) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(type);
+        accessor.setSessionId("session-1");
+        accessor.setDestination(destination);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
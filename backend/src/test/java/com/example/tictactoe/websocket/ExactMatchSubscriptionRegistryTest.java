@@ -0,0 +1,132 @@
+package com.example.tictactoe.websocket;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MultiValueMap;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExactMatchSubscriptionRegistryTest {
+
+    private ExactMatchSubscriptionRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new ExactMatchSubscriptionRegistry();
+    }
+
+    @Test
+    void testFindSubscriptions_ExactDestination() {
+        registry.registerSubscription(subscribe("session-1", "sub-1", "/topic/game.abc"));
+        registry.registerSubscription(subscribe("session-2", "sub-7", "/topic/game.abc"));
+        registry.registerSubscription(subscribe("session-3", "sub-1", "/topic/game.other"));
+
+        MultiValueMap<String, String> result = registry.findSubscriptions(message("/topic/game.abc"));
+
+        assertEquals(2, result.size());
+        assertEquals(List.of("sub-1"), result.get("session-1"));
+        assertEquals(List.of("sub-7"), result.get("session-2"));
+    }
+
+    @Test
+    void testFindSubscriptions_NoSubscribers() {
+        assertTrue(registry.findSubscriptions(message("/topic/game.abc")).isEmpty());
+    }
+
+    @Test
+    void testFindSubscriptions_SameSessionSubscribedTwice() {
+        registry.registerSubscription(subscribe("session-1", "sub-1", "/topic/game.abc"));
+        registry.registerSubscription(subscribe("session-1", "sub-2", "/topic/game.abc"));
+
+        MultiValueMap<String, String> result = registry.findSubscriptions(message("/topic/game.abc"));
+
+        assertEquals(List.of("sub-1", "sub-2"), result.get("session-1"));
+    }
+
+    @Test
+    void testUnregisterSubscription() {
+        registry.registerSubscription(subscribe("session-1", "sub-1", "/topic/game.abc"));
+        registry.registerSubscription(subscribe("session-2", "sub-1", "/topic/game.abc"));
+
+        registry.unregisterSubscription(unsubscribe("session-1", "sub-1"));
+
+        MultiValueMap<String, String> result = registry.findSubscriptions(message("/topic/game.abc"));
+        assertEquals(1, result.size());
+        assertTrue(result.containsKey("session-2"));
+    }
+
+    @Test
+    void testUnregisterAllSubscriptions_DropsEmptyDestinations() {
+        registry.registerSubscription(subscribe("session-1", "sub-1", "/topic/game.created/Player1"));
+        registry.registerSubscription(subscribe("session-1", "sub-2", "/topic/game.abc"));
+        registry.registerSubscription(subscribe("session-2", "sub-1", "/topic/game.abc"));
+
+        registry.unregisterAllSubscriptions("session-1");
+
+        assertTrue(registry.findSubscriptions(message("/topic/game.created/Player1")).isEmpty());
+        assertEquals(1, registry.findSubscriptions(message("/topic/game.abc")).size());
+        assertEquals(1, registry.getDestinationCount());
+        assertEquals(1, registry.getSessionCount());
+    }
+
+    @Test
+    void testPatternSubscription_DelegatedToPatternRegistry() {
+        registry.registerSubscription(subscribe("session-1", "sub-1", "/topic/game.*"));
+        registry.registerSubscription(subscribe("session-2", "sub-1", "/topic/game.abc"));
+
+        MultiValueMap<String, String> result = registry.findSubscriptions(message("/topic/game.abc"));
+
+        assertEquals(2, result.size());
+        assertTrue(result.containsKey("session-1"));
+        assertTrue(result.containsKey("session-2"));
+    }
+
+    @Test
+    void testHundredThousandSubscriptions_LookupAndDisconnect() {
+        int sessionCount = 50_000;
+        for (int i = 0; i < sessionCount; i++) {
+            String sessionId = "session-" + i;
+            registry.registerSubscription(subscribe(sessionId, "sub-0", "/topic/game.created/player" + i));
+            registry.registerSubscription(subscribe(sessionId, "sub-1", "/topic/game." + (i / 2)));
+        }
+
+        assertEquals(sessionCount + sessionCount / 2, registry.getDestinationCount());
+        for (int i = 0; i < sessionCount; i += 2) {
+            assertEquals(2, registry.findSubscriptions(message("/topic/game." + (i / 2))).size());
+        }
+
+        for (int i = 0; i < sessionCount; i++) {
+            registry.unregisterAllSubscriptions("session-" + i);
+        }
+
+        assertEquals(0, registry.getDestinationCount());
+        assertEquals(0, registry.getSessionCount());
+    }
+
+    private static Message<byte[]> subscribe(String sessionId, String subscriptionId, String destination) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.SUBSCRIBE);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId(subscriptionId);
+        accessor.setDestination(destination);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private static Message<byte[]> unsubscribe(String sessionId, String subscriptionId) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.UNSUBSCRIBE);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId(subscriptionId);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private static Message<byte[]> message(String destination) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setDestination(destination);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.tictactoe.websocket;
+
+import com.example.tictactoe.model.Game;
+import com.example.tictactoe.model.GameStatus;
+import com.example.tictactoe.model.Player;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the broadcaster against a real simple broker with the exact-match registry,
+ * delivering synchronously to a capturing outbound channel
+ */
+class GameBroadcasterTest {
+
+    private static final int SPECTATORS = 10_000;
+
+    private final List<Message<?>> delivered = new ArrayList<>();
+    private SimpleBrokerMessageHandler broker;
+    private GameBroadcaster broadcaster;
+    private Game game;
+
+    @BeforeEach
+    void setUp() {
+        ExecutorSubscribableChannel clientInbound = new ExecutorSubscribableChannel();
+        ExecutorSubscribableChannel clientOutbound = new ExecutorSubscribableChannel();
+        ExecutorSubscribableChannel brokerChannel = new ExecutorSubscribableChannel();
+        clientOutbound.subscribe(delivered::add);
+
+        broker = new SimpleBrokerMessageHandler(clientInbound, clientOutbound, brokerChannel, List.of("/topic", "/queue"));
+        broker.setSubscriptionRegistry(new ExactMatchSubscriptionRegistry());
+        broker.start();
+
+        MappingJackson2MessageConverter converter = new MappingJackson2MessageConverter();
+        converter.setObjectMapper(new ObjectMapper().registerModule(new JavaTimeModule()));
+        SimpMessagingTemplate template = new SimpMessagingTemplate(brokerChannel);
+        template.setMessageConverter(converter);
+        broadcaster = new GameBroadcaster(template);
+
+        game = new Game();
+        game.setGameId("popular");
+        game.setBoard(new String[9]);
+        game.setPlayer1(new Player("alice"));
+        game.setPlayer2(new Player("bob"));
+        game.setStatus(GameStatus.IN_PROGRESS);
+        game.setCurrentPlayerLogin("alice");
+    }
+
+    @AfterEach
+    void tearDown() {
+        broker.stop();
+    }
+
+    @Test
+    void testBroadcast_ReachesPlayersAndSpectators() {
+        subscribe("player-1", "/topic/game.popular");
+        subscribe("spectator-1", "/topic/spectate.popular");
+        subscribe("spectator-2", "/topic/spectate.other");
+        delivered.clear();
+
+        broadcaster.broadcast(game);
+
+        assertEquals(2, delivered.size());
+        assertEquals(List.of("player-1", "spectator-1"), delivered.stream()
+                .map(message -> SimpMessageHeaderAccessor.getSessionId(message.getHeaders()))
+                .toList());
+        String json = new String((byte[]) delivered.get(0).getPayload());
+        assertTrue(json.contains("\"gameId\":\"popular\""));
+    }
+
+    @Test
+    void testBroadcast_TenThousandSpectatorsShareOnePayload() {
+        subscribe("player-1", "/topic/game.popular");
+        for (int i = 0; i < SPECTATORS; i++) {
+            subscribe("spectator-" + i, "/topic/spectate.popular");
+        }
+
+        delivered.clear();
+
+        broadcaster.broadcast(game);
+
+        assertEquals(SPECTATORS + 1, delivered.size());
+        Object payload = delivered.get(0).getPayload();
+        assertTrue(delivered.stream().allMatch(message -> message.getPayload() == payload),
+                "every subscriber should get the same encoded payload instance");
+    }
+
+    @Test
+    void testBroadcast_RecordsJfrEventWithPayloadSize() throws Exception {
+        subscribe("player-1", "/topic/game.popular");
+        delivered.clear();
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable("com.example.tictactoe.BroadcastSent");
+            recording.start();
+            broadcaster.broadcast(game);
+            recording.stop();
+            Path dump = Files.createTempFile("broadcast", ".jfr");
+            try {
+                recording.dump(dump);
+                // The recording is JVM-wide, other test classes may still be broadcasting
+                events = RecordingFile.readAllEvents(dump).stream()
+                        .filter(event -> event.getThread().getJavaThreadId() == Thread.currentThread().getId())
+                        .toList();
+            } finally {
+                Files.deleteIfExists(dump);
+            }
+        }
+
+        assertEquals(1, events.size());
+        assertEquals("popular", events.get(0).getString("gameId"));
+        assertEquals(((byte[]) delivered.get(0).getPayload()).length, events.get(0).getLong("bytes"));
+        assertEquals(2, events.get(0).getInt("destinations"));
+    }
+
+    private void subscribe(String sessionId, String destination) {
+        // The broker only delivers to sessions it saw connect
+        SimpMessageHeaderAccessor connect = SimpMessageHeaderAccessor.create(SimpMessageType.CONNECT);
+        connect.setSessionId(sessionId);
+        broker.handleMessage(MessageBuilder.createMessage(new byte[0], connect.getMessageHeaders()));
+
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.SUBSCRIBE);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId("sub-0");
+        accessor.setDestination(destination);
+        broker.handleMessage(MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders()));
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.tictactoe.websocket;
+
+import jakarta.websocket.ContainerProvider;
+import jakarta.websocket.WebSocketContainer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A client that stops reading, through the real STOMP pipeline: once the socket is backed up,
+ * snapshots for its game topic must be coalesced in the session's queue rather than buffered
+ * until the session is closed.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "websocket.outbound.overflow-policy=COALESCE",
+        "websocket.outbound.send-buffer-size-limit=65536",
+        "websocket.outbound.send-time-limit-ms=60000"
+})
+class OutboundQueueIntegrationTest {
+
+    private static final String DESTINATION = "/topic/game.stalled";
+    private static final String PADDING = "x".repeat(16 * 1024);
+    private static final int MAX_MESSAGES = 20_000;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private OutboundSessionRegistry outboundSessionRegistry;
+
+    @Autowired
+    @Qualifier("clientOutboundChannelExecutor")
+    private ThreadPoolTaskExecutor clientOutboundChannelExecutor;
+
+    private final CountDownLatch resumeReading = new CountDownLatch(1);
+    private final BlockingQueue<Integer> received = new LinkedBlockingQueue<>();
+    private StompSession session;
+    private long coalesced;
+
+    @AfterEach
+    void tearDown() {
+        resumeReading.countDown();
+        if (session != null && session.isConnected()) {
+            session.disconnect();
+        }
+    }
+
+    @Test
+    void testStalledClient_SnapshotsAreCoalescedAndSessionStaysOpen() throws Exception {
+        WebSocketContainer container = ContainerProvider.getWebSocketContainer();
+        container.setDefaultMaxTextMessageBufferSize(64 * 1024);
+        WebSocketStompClient stompClient = new WebSocketStompClient(new StandardWebSocketClient(container));
+        stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+        session = stompClient.connectAsync("ws://localhost:" + port + "/ws-native", new StompSessionHandlerAdapter() {})
+                .get(10, TimeUnit.SECONDS);
+        session.subscribe(DESTINATION, new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return Map.class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                received.add(((Number) ((Map<?, ?>) payload).get("sequence")).intValue());
+                try {
+                    // Blocks the client's reading thread, so the server's socket writes back up
+                    resumeReading.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        messagingTemplate.convertAndSend(DESTINATION, Map.of("sequence", 0, "padding", ""));
+        assertEquals(0, received.poll(10, TimeUnit.SECONDS));
+
+        int sent = 0;
+        while (coalescedCount() < 100 && sent < MAX_MESSAGES) {
+            sent++;
+            messagingTemplate.convertAndSend(DESTINATION, Map.of("sequence", sent, "padding", PADDING));
+        }
+        assertTrue(coalescedCount() >= 100, "no snapshot was coalesced after " + sent + " sends");
+        List<OutboundSessionRegistry.SessionQueueStats> lagging = awaitLaggingSessions();
+        assertEquals(1, lagging.size());
+        assertTrue(lagging.get(0).queueDepth() <= 1, "one game topic queues at most one snapshot");
+        assertTrue(session.isConnected());
+
+        // Fan-out runs on several outbound threads, so only a snapshot sent once they are idle is known to be the latest
+        ThreadPoolExecutor outboundExecutor = clientOutboundChannelExecutor.getThreadPoolExecutor();
+        while (!outboundExecutor.getQueue().isEmpty() || outboundExecutor.getActiveCount() > 1) {
+            Thread.sleep(10);
+        }
+        int latest = sent + 1;
+        messagingTemplate.convertAndSend(DESTINATION, Map.of("sequence", latest, "padding", PADDING));
+
+        resumeReading.countDown();
+        int deliveries = 0;
+        Integer next;
+        do {
+            next = received.poll(30, TimeUnit.SECONDS);
+            assertNotNull(next, "latest snapshot not delivered after " + deliveries + " others");
+            deliveries++;
+        } while (next != latest);
+        // Those accepted by the socket before it backed up are delivered, the coalesced ones never are
+        assertTrue(deliveries <= latest - 100, deliveries + " of " + latest + " snapshots delivered");
+        assertTrue(session.isConnected());
+    }
+
+    // A session is only listed while it has a backlog, which briefly empties between two socket writes
+    private long coalescedCount() {
+        for (OutboundSessionRegistry.SessionQueueStats stats : outboundSessionRegistry.getLaggingSessions(10)) {
+            coalesced = Math.max(coalesced, stats.coalesced());
+        }
+        return coalesced;
+    }
+
+    private List<OutboundSessionRegistry.SessionQueueStats> awaitLaggingSessions() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        List<OutboundSessionRegistry.SessionQueueStats> lagging = outboundSessionRegistry.getLaggingSessions(10);
+        while (lagging.isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+            lagging = outboundSessionRegistry.getLaggingSessions(10);
+        }
+        return lagging;
+    }
+}
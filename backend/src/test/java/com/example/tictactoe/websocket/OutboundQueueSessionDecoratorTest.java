@@ -0,0 +1,111 @@
+package com.example.tictactoe.websocket;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.SessionLimitExceededException;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class OutboundQueueSessionDecoratorTest {
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final CountDownLatch firstSendStarted = new CountDownLatch(1);
+    private final CountDownLatch releaseFirstSend = new CountDownLatch(1);
+    private final List<String> delivered = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        releaseFirstSend.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testCoalesce_KeepsLatestSnapshotPerDestination() throws Exception {
+        OutboundQueueSessionDecorator session = decorate(1024, OverflowPolicy.COALESCE);
+        Future<?> blockedSend = sendInBackground(session, frame("/topic/game.abc", "v1"));
+
+        session.sendMessage(frame("/topic/game.abc", "v2"));
+        session.sendMessage(frame("/topic/game.abc", "v3"));
+        session.sendMessage(frame("/topic/lobby", "lobby-event"));
+
+        assertEquals(2, session.getQueueDepth());
+        assertEquals(1, session.getCoalescedCount());
+
+        releaseFirstSend.countDown();
+        blockedSend.get(5, TimeUnit.SECONDS);
+
+        assertEquals(List.of("v1", "v3", "lobby-event"), delivered);
+        assertEquals(0, session.getQueueDepth());
+        assertEquals(0, session.getBufferedBytes());
+    }
+
+    @Test
+    void testDrop_DiscardsMessagesOverBufferLimit() throws Exception {
+        OutboundQueueSessionDecorator session = decorate(120, OverflowPolicy.DROP);
+        Future<?> blockedSend = sendInBackground(session, frame("/topic/game.abc", "v1"));
+
+        session.sendMessage(frame("/topic/game.abc", "v2"));
+        session.sendMessage(frame("/topic/game.abc", "v3"));
+
+        assertEquals(1, session.getQueueDepth());
+        assertEquals(1, session.getDroppedCount());
+
+        releaseFirstSend.countDown();
+        blockedSend.get(5, TimeUnit.SECONDS);
+
+        assertEquals(List.of("v1", "v2"), delivered);
+    }
+
+    @Test
+    void testDisconnect_ThrowsSessionLimitExceeded() throws Exception {
+        OutboundQueueSessionDecorator session = decorate(120, OverflowPolicy.DISCONNECT);
+        sendInBackground(session, frame("/topic/game.abc", "v1"));
+
+        session.sendMessage(frame("/topic/game.abc", "v2"));
+
+        assertThrows(SessionLimitExceededException.class, () -> session.sendMessage(frame("/topic/game.abc", "v3")));
+        assertEquals(0, session.getQueueDepth());
+    }
+
+    private OutboundQueueSessionDecorator decorate(int bufferLimit, OverflowPolicy policy) throws Exception {
+        WebSocketSession delegate = mock(WebSocketSession.class);
+        when(delegate.getId()).thenReturn("session-1");
+        doAnswer(invocation -> {
+            WebSocketMessage<?> message = invocation.getArgument(0);
+            String payload = (String) message.getPayload();
+            if (firstSendStarted.getCount() > 0) {
+                firstSendStarted.countDown();
+                releaseFirstSend.await(5, TimeUnit.SECONDS);
+            }
+            delivered.add(payload.substring(payload.indexOf("\n\n") + 2, payload.length() - 1));
+            return null;
+        }).when(delegate).sendMessage(any());
+        return new OutboundQueueSessionDecorator(delegate, bufferLimit, 10_000, policy, List.of("/topic/game."));
+    }
+
+    private Future<?> sendInBackground(OutboundQueueSessionDecorator session, TextMessage message) throws Exception {
+        Future<?> future = executor.submit(() -> {
+            session.sendMessage(message);
+            return null;
+        });
+        assertTrue(firstSendStarted.await(5, TimeUnit.SECONDS));
+        return future;
+    }
+
+    private static TextMessage frame(String destination, String body) {
+        return new TextMessage("MESSAGE\ndestination:" + destination + "\nsubscription:sub-0\nmessage-id:1\n\n" + body + "\0");
+    }
+}
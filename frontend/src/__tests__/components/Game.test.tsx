@@ -26,6 +26,7 @@ describe('Game Component', () => {
     surrenderRequesterLogin: null,
     pendingJoinPlayer: null,
     rematchRequesterLogin: null,
+    version: 1,
   };
 
   const mockUseGame = {
@@ -189,6 +189,7 @@ describe('GameContext', () => {
       playerLogin: 'TestPlayer',
       squareIndex: 4,
       gameId: 'test-game-id',
+      sequence: expect.any(Number),
     });
   });
 
@@ -1,41 +1,92 @@
-import React, { useState, useEffect } from 'react';
+import React, { useState, useEffect, useCallback, useRef } from 'react';
+import { IMessage, StompSubscription } from '@stomp/stompjs';
 import { useGame } from '../contexts/GameContext';
-import config from '../config/environment';
+import socketService from '../services/socketService';
 
-interface AvailableGame {
+interface LobbyGame {
     gameId: string;
-    player1: { login: string };
-    status: string;
+    creatorLogin: string;
     createdAt: string;
 }
 
+interface LobbyEvent {
+    type: 'ADDED' | 'CLAIMED' | 'EXPIRED';
+    sequence: number;
+    gameId: string;
+    game: LobbyGame | null;
+}
+
+interface LobbySnapshot {
+    sequence: number;
+    games: LobbyGame[];
+}
+
 interface AvailableGamesProps {
     onBack: () => void;
 }
 
 const AvailableGames: React.FC<AvailableGamesProps> = ({ onBack }) => {
-    const { connectToGameById } = useGame();
-    const [games, setGames] = useState<AvailableGame[]>([]);
+    const { connectToGameById, isConnected } = useGame();
+    const [games, setGames] = useState<LobbyGame[]>([]);
     const [loading, setLoading] = useState(true);
     const [error, setError] = useState<string | null>(null);
+    // Deltas received before the snapshot are buffered, then those the snapshot already covers are dropped
+    const snapshotSequence = useRef<number | null>(null);
+    const pendingEvents = useRef<LobbyEvent[]>([]);
+
+    const applyEvent = (current: LobbyGame[], event: LobbyEvent): LobbyGame[] => {
+        const others = current.filter((game) => game.gameId !== event.gameId);
+        return event.type === 'ADDED' && event.game ? [event.game, ...others] : others;
+    };
+
+    const handleLobbyEvent = useCallback((message: IMessage) => {
+        const event: LobbyEvent = JSON.parse(message.body);
+        if (snapshotSequence.current === null) {
+            pendingEvents.current.push(event);
+        } else if (event.sequence > snapshotSequence.current) {
+            setGames((current) => applyEvent(current, event));
+        }
+    }, []);
 
-    const fetchAvailableGames = async () => {
+    const requestSnapshot = useCallback(() => {
         setLoading(true);
         setError(null);
+        snapshotSequence.current = null;
         try {
-            const response = await fetch(`${config.apiUrl}/api/games/available`);
-            if (!response.ok) {
-                throw new Error('Failed to fetch games');
-            }
-            const data = await response.json();
-            setGames(data);
+            const subscription = socketService.subscribe('/app/lobby', (message: IMessage) => {
+                const snapshot: LobbySnapshot = JSON.parse(message.body);
+                const newer = pendingEvents.current.filter((event) => event.sequence > snapshot.sequence);
+                pendingEvents.current = [];
+                snapshotSequence.current = snapshot.sequence;
+                setGames(newer.reduce(applyEvent, snapshot.games));
+                setLoading(false);
+                subscription?.unsubscribe();
+            });
         } catch (err) {
             setError('Error loading available games');
-            console.error('Error fetching games:', err);
-        } finally {
             setLoading(false);
+            console.error('Error loading lobby snapshot:', err);
         }
-    };
+    }, []);
+
+    useEffect(() => {
+        if (!isConnected) {
+            return;
+        }
+        let lobbySubscription: StompSubscription | undefined;
+        try {
+            // Subscribe to deltas first so nothing is missed between them and the snapshot
+            lobbySubscription = socketService.subscribe('/topic/lobby', handleLobbyEvent);
+            requestSnapshot();
+        } catch (err) {
+            setError('Error loading available games');
+            setLoading(false);
+            console.error('Error subscribing to lobby:', err);
+        }
+        return () => {
+            lobbySubscription?.unsubscribe();
+        };
+    }, [isConnected, handleLobbyEvent, requestSnapshot]);
 
     const getTimeAgo = (createdAt: string) => {
         if (!createdAt) return '';
@@ -53,10 +104,6 @@ const AvailableGames: React.FC<AvailableGamesProps> = ({ onBack }) => {
         return `${diffHours} hours ago`;
     };
 
-    useEffect(() => {
-        fetchAvailableGames();
-    }, []);
-
     const handleJoinGame = (gameId: string) => {
         connectToGameById(gameId);
     };
@@ -103,7 +150,7 @@ const AvailableGames: React.FC<AvailableGamesProps> = ({ onBack }) => {
                             >
                                 <div className="flex-1">
                                     <p className="text-lg font-semibold text-teal-400">
-                                        {game.player1.login}'s Game
+                                        {game.creatorLogin}'s Game
                                     </p>
                                     <p className="text-sm text-gray-400">
                                         Game ID: <span className="font-mono">{game.gameId.substring(0, 8)}...</span>
@@ -127,7 +174,7 @@ const AvailableGames: React.FC<AvailableGamesProps> = ({ onBack }) => {
 
                 <div className="mt-4 text-center">
                     <button
-                        onClick={fetchAvailableGames}
+                        onClick={requestSnapshot}
                         disabled={loading}
                         className="text-teal-400 hover:text-teal-300 underline disabled:text-gray-500 disabled:no-underline"
                     >
@@ -1,6 +1,12 @@
+const wsUrl = import.meta.env.VITE_WS_URL || 'http://localhost:8080/ws';
+
+// Raw WebSocket endpoint served next to the SockJS one (e.g. http://host/ws -> ws://host/ws-native)
+const toNativeWsUrl = (url: string) => url.replace(/^http/, 'ws').replace(/\/ws\/?$/, '/ws-native');
+
 const config = {
   apiUrl: import.meta.env.VITE_API_URL || 'http://localhost:8080',
-  wsUrl: import.meta.env.VITE_WS_URL || 'http://localhost:8080/ws',
+  wsUrl,
+  nativeWsUrl: import.meta.env.VITE_NATIVE_WS_URL || toNativeWsUrl(wsUrl),
   environment: import.meta.env.VITE_ENV || 'development',
   isDevelopment: import.meta.env.VITE_ENV === 'development',
   isProduction: import.meta.env.VITE_ENV === 'production',
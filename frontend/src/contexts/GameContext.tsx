@@ -1,4 +1,4 @@
-import React, { createContext, useContext, useState, ReactNode, useEffect, useCallback } from 'react';
+import React, { createContext, useContext, useState, ReactNode, useEffect, useCallback, useRef } from 'react';
 import socketService from '../services/socketService';
 import { IMessage } from '@stomp/stompjs';
 
@@ -14,8 +14,51 @@ interface GameState {
     surrenderRequesterLogin: string | null;
     pendingJoinPlayer: { login: string } | null;
     rematchRequesterLogin: string | null;
+    version: number;
 }
 
+// A game change the client missed while disconnected; only moves carry a delta
+interface GameEvent {
+    sequence: number;
+    type: 'MOVE' | 'STATE';
+    squareIndex: number | null;
+    symbol: 'X' | 'O' | null;
+    currentPlayerLogin: string | null;
+    status: GameState['status'] | null;
+    winner: 'X' | 'O' | null;
+}
+
+interface ResumeResponse {
+    gameId: string;
+    version: number;
+    events: GameEvent[];
+    snapshot: GameState | null;
+}
+
+const applyResume = (game: GameState | null, response: ResumeResponse): GameState | null => {
+    if (response.snapshot) {
+        return response.snapshot;
+    }
+    if (!game || game.gameId !== response.gameId) {
+        return game;
+    }
+    return response.events.reduce<GameState>((current, event) => {
+        if (event.sequence <= current.version || event.squareIndex === null) {
+            return current;
+        }
+        const board = [...current.board];
+        board[event.squareIndex] = event.symbol;
+        return {
+            ...current,
+            board,
+            currentPlayerLogin: event.currentPlayerLogin ?? current.currentPlayerLogin,
+            status: event.status ?? current.status,
+            winner: event.winner,
+            version: event.sequence,
+        };
+    }, game);
+};
+
 interface GameContextType {
     isConnected: boolean;
     game: GameState | null;
@@ -41,6 +84,14 @@ export const GameProvider = ({ children }: { children: ReactNode }) => {
     const [game, setGame] = useState<GameState | null>(null);
     const [playerLogin, setPlayerLogin] = useState('');
     const [joinPending, setJoinPending] = useState(false);
+    // Increasing per move so the server can recognise a resent move; seeded from the clock to survive reloads
+    const moveSequence = useRef(0);
+    // Latest game for the (re)connect callback, which outlives renders
+    const gameRef = useRef<GameState | null>(null);
+
+    useEffect(() => {
+        gameRef.current = game;
+    }, [game]);
 
     const handleGameUpdate = useCallback((message: IMessage) => {
         const gameData = JSON.parse(message.body);
@@ -96,7 +147,27 @@ export const GameProvider = ({ children }: { children: ReactNode }) => {
                     setGame(gameData);
                     subscribeToGameTopic(gameData.gameId);
                 });
-            });
+                // Subscribe to replays of events missed while disconnected
+                socketService.subscribe('/user/queue/game.resume', (message) => {
+                    const response: ResumeResponse = JSON.parse(message.body);
+                    setGame((current) => applyResume(current, response));
+                });
+                // Reconnected during a game: follow it again and catch up from the last version seen
+                const currentGame = gameRef.current;
+                if (currentGame) {
+                    subscribeToGameTopic(currentGame.gameId);
+                    socketService.sendMessage('/app/game.resume', {
+                        playerLogin,
+                        gameId: currentGame.gameId,
+                        lastSeenVersion: currentGame.version ?? 0,
+                    });
+                }
+                // Subscribe to errors for this connection (rate limits, invalid moves)
+                socketService.subscribe('/user/queue/errors', (message) => {
+                    const error = JSON.parse(message.body);
+                    console.warn(`Server error ${error.code}: ${error.message}`);
+                });
+            }, undefined, playerLogin);
 
             return () => {
                 socketService.disconnect();
@@ -119,10 +190,12 @@ export const GameProvider = ({ children }: { children: ReactNode }) => {
 
     const makeMove = (squareIndex: number) => {
         if (game) {
+            moveSequence.current = Math.max(moveSequence.current + 1, Date.now());
             socketService.sendMessage('/app/game.gameplay', { 
                 playerLogin,
                 squareIndex,
-                gameId: game.gameId 
+                gameId: game.gameId,
+                sequence: moveSequence.current
             });
         }
     };
@@ -1,4 +1,4 @@
-import { Client, IMessage } from '@stomp/stompjs';
+import { Client, IMessage, StompSubscription } from '@stomp/stompjs';
 import SockJS from 'sockjs-client';
 import config from '../config/environment';
 
@@ -6,10 +6,13 @@ class SocketService {
     private client: Client;
     private connectionAttempts: number = 0;
     private maxReconnectAttempts: number = 10;
+    private useSockJS: boolean = false;
+    private hasConnected: boolean = false;
 
     constructor() {
         this.client = new Client({
-            webSocketFactory: () => new SockJS(config.wsUrl),
+            // Prefer the raw WebSocket endpoint; SockJS is only used as a fallback
+            webSocketFactory: () => this.useSockJS ? new SockJS(config.wsUrl) : new WebSocket(config.nativeWsUrl),
             reconnectDelay: 5000,
             debug: (str) => {
                 if (config.isDevelopment) {
@@ -19,10 +22,14 @@ class SocketService {
         });
     }
 
-    public connect(onConnectCallback: () => void, onErrorCallback?: (error: string) => void): void {
+    public connect(onConnectCallback: () => void, onErrorCallback?: (error: string) => void, login?: string): void {
+        // The server tracks presence by the STOMP login header
+        this.client.connectHeaders = login ? { login } : {};
+
         this.client.onConnect = () => {
             console.log('Connected to WebSocket');
             this.connectionAttempts = 0;
+            this.hasConnected = true;
             onConnectCallback();
         };
 
@@ -39,6 +46,12 @@ class SocketService {
         this.client.onWebSocketError = (error) => {
             this.connectionAttempts++;
             console.error('WebSocket error:', error);
+
+            // Raw WebSocket never came up (proxy, firewall...): fall back to SockJS on the next attempt
+            if (!this.useSockJS && !this.hasConnected) {
+                console.warn('Native WebSocket unavailable, falling back to SockJS');
+                this.useSockJS = true;
+            }
             
             if (this.connectionAttempts >= this.maxReconnectAttempts && onErrorCallback) {
                 onErrorCallback('Failed to connect after multiple attempts. Please refresh the page.');
@@ -53,8 +66,8 @@ class SocketService {
         console.log('Disconnected from WebSocket');
     }
 
-    public subscribe(topic: string, callback: (message: IMessage) => void): void {
-        this.client.subscribe(topic, callback);
+    public subscribe(topic: string, callback: (message: IMessage) => void): StompSubscription {
+        return this.client.subscribe(topic, callback);
     }
 
     public sendMessage(destination: string, body: object): void {
@@ -0,0 +1,69 @@
+#!/bin/bash
+
+###############################################################################
+# Backend image comparison
+# Builds the JVM and native backend images, starts each against a throwaway
+# Redis and reports time until /api/health answers and resident memory.
+#
+# Usage: scripts/compare-backend-images.sh [runs]   (run from the repo root)
+###############################################################################
+
+set -e
+
+RUNS="${1:-3}"
+NETWORK="tictactoe-compare"
+REDIS="tictactoe-compare-redis"
+BACKEND="tictactoe-compare-backend"
+PORT=18080
+
+GREEN='\033[0;32m'
+YELLOW='\033[1;33m'
+NC='\033[0m'
+
+print_info() {
+    echo -e "${YELLOW}ℹ️  $1${NC}"
+}
+
+print_success() {
+    echo -e "${GREEN}✅ $1${NC}"
+}
+
+cleanup() {
+    docker rm -f "$BACKEND" "$REDIS" > /dev/null 2>&1 || true
+    docker network rm "$NETWORK" > /dev/null 2>&1 || true
+}
+trap cleanup EXIT
+
+print_info "Building tictactoe-backend:jvm and tictactoe-backend:native (the native build takes several minutes)..."
+docker build -q --target jvm -t tictactoe-backend:jvm backend > /dev/null
+docker build -q --target native -t tictactoe-backend:native backend > /dev/null
+print_success "Images built"
+
+cleanup
+docker network create "$NETWORK" > /dev/null
+docker run -d --name "$REDIS" --network "$NETWORK" redis:7-alpine > /dev/null
+
+# Prints "<ms until healthy> <RSS in MiB after one game round trip>" for one container start
+measure() {
+    local image="$1"
+    local start end rss
+    start=$(date +%s%N)
+    docker run -d --name "$BACKEND" --network "$NETWORK" -p "$PORT:8080" \
+        -e REDIS_HOST="$REDIS" -e SPRING_PROFILES_ACTIVE=prod "$image" > /dev/null
+    until curl -sf "http://localhost:$PORT/api/health" > /dev/null; do
+        sleep 0.05
+    done
+    end=$(date +%s%N)
+    curl -sf "http://localhost:$PORT/api/v2/games/available" > /dev/null || true
+    rss=$(docker exec "$BACKEND" sh -c "grep VmRSS /proc/1/status" | awk '{printf "%.0f", $2 / 1024}')
+    docker rm -f "$BACKEND" > /dev/null
+    echo "$(( (end - start) / 1000000 )) $rss"
+}
+
+printf "\n%-8s %4s %16s %10s\n" "image" "run" "time to healthy" "RSS"
+for image in jvm native; do
+    for run in $(seq 1 "$RUNS"); do
+        read -r millis rss < <(measure "tictactoe-backend:$image")
+        printf "%-8s %4s %13s ms %6s MiB\n" "$image" "$run" "$millis" "$rss"
+    done
+done
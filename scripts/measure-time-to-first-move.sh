@@ -0,0 +1,86 @@
+#!/bin/bash
+
+###############################################################################
+# Time to first move of the JVM backend image
+# Builds the image, then starts it repeatedly against a throwaway Redis, with
+# its AppCDS archive (the image's entrypoint) and without it. For each start,
+# FirstMoveProbe connects as soon as the container accepts STOMP, plays one
+# match up to the first move and writes the result as JSON.
+#
+# Usage: scripts/measure-time-to-first-move.sh [runs] [output dir]   (run from the repo root)
+###############################################################################
+
+set -e
+
+RUNS="${1:-3}"
+OUTPUT="$(mkdir -p "${2:-backend/target/first-move}" && cd "${2:-backend/target/first-move}" && pwd)"
+IMAGE="tictactoe-backend:jvm"
+NETWORK="tictactoe-first-move"
+REDIS="tictactoe-first-move-redis"
+BACKEND="tictactoe-first-move-backend"
+PORT=18080
+
+GREEN='\033[0;32m'
+YELLOW='\033[1;33m'
+NC='\033[0m'
+
+print_info() {
+    echo -e "${YELLOW}ℹ️  $1${NC}"
+}
+
+print_success() {
+    echo -e "${GREEN}✅ $1${NC}"
+}
+
+cleanup() {
+    docker rm -f "$BACKEND" "$REDIS" > /dev/null 2>&1 || true
+    docker network rm "$NETWORK" > /dev/null 2>&1 || true
+}
+trap cleanup EXIT
+
+print_info "Building $IMAGE (includes the CDS training run)..."
+docker build -q --target jvm -t "$IMAGE" backend > /dev/null
+print_success "Image built"
+
+print_info "Compiling the probe..."
+(cd backend && ./mvnw -B -q test-compile dependency:build-classpath \
+    -Dmdep.includeScope=test -Dmdep.outputFile=target/probe-classpath.txt)
+PROBE_CP="backend/target/classes:backend/target/test-classes:$(cat backend/target/probe-classpath.txt)"
+
+cleanup
+docker network create "$NETWORK" > /dev/null
+docker run -d --name "$REDIS" --network "$NETWORK" redis:7-alpine > /dev/null
+
+# Starts the backend with the given docker run arguments and probes it; the result goes to $OUTPUT/<label>.json
+measure() {
+    local label="$1"
+    shift
+    local started probe status=0
+    started=$(date +%s%3N)
+    java -cp "$PROBE_CP" com.example.tictactoe.loadtest.FirstMoveProbe \
+        --url="ws://localhost:$PORT/ws-native" --started-at-ms="$started" \
+        --label="$label" --report="$OUTPUT/$label.json" > "$OUTPUT/$label.log" 2>&1 &
+    probe=$!
+    docker run -d --name "$BACKEND" --network "$NETWORK" -p "$PORT:8080" \
+        -e REDIS_HOST="$REDIS" -e SPRING_PROFILES_ACTIVE=prod "$@" > /dev/null
+    wait "$probe" || status=$?
+    docker rm -f "$BACKEND" > /dev/null
+    return $status
+}
+
+failed=0
+for run in $(seq 1 "$RUNS"); do
+    measure "cds-$run" "$IMAGE" || failed=1
+    measure "no-cds-$run" --entrypoint java "$IMAGE" -jar app.jar || failed=1
+done
+
+printf "\n%-10s %20s %16s\n" "run" "first connection" "first move"
+for result in "$OUTPUT"/*.json; do
+    label=$(basename "$result" .json)
+    connect=$(grep -o '"firstConnectMs" : [0-9]*' "$result" | grep -o '[0-9]*$' || echo "-")
+    move=$(grep -o '"firstMoveMs" : [0-9]*' "$result" | grep -o '[0-9]*$' || echo "-")
+    printf "%-10s %17s ms %13s ms\n" "$label" "$connect" "$move"
+done
+print_success "Results written to $OUTPUT"
+
+exit $failed